@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2011 - 2012 Adrian Vielsack, Christof Urbaczek, Florian Rosenthal, Michael Hoff, Moritz Lüdecke, Philip Flohr.
+ * 
+ * This file is part of Sudowars.
+ * 
+ * Sudowars is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Sudowars is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Sudowars.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * 
+ * 
+ * Diese Datei ist Teil von Sudowars.
+ * 
+ * Sudowars ist Freie Software: Sie können es unter den Bedingungen
+ * der GNU General Public License, wie von der Free Software Foundation,
+ * Version 3 der Lizenz oder (nach Ihrer Option) jeder späteren
+ * veröffentlichten Version, weiterverbreiten und/oder modifizieren.
+ * 
+ * Sudowars wird in der Hoffnung, dass es nützlich sein wird, aber
+ * OHNE JEDE GEWÄHELEISTUNG, bereitgestellt; sogar ohne die implizite
+ * Gewährleistung der MARKTFÄHIGKEIT oder EIGNUNG FÜR EINEN BESTIMMTEN ZWECK.
+ * Siehe die GNU General Public License für weitere Details.
+ * 
+ * Sie sollten eine Kopie der GNU General Public License zusammen mit diesem
+ * Programm erhalten haben. Wenn nicht, siehe <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ * initial API and implementation:
+ * Adrian Vielsack
+ * Christof Urbaczek
+ * Florian Rosenthal
+ * Michael Hoff
+ * Moritz Lüdecke
+ * Philip Flohr 
+ ******************************************************************************/
+package org.sudowars.benchmark;
+
+import org.sudowars.Model.Difficulty.Difficulty;
+import org.sudowars.Model.Difficulty.DifficultyEasy;
+import org.sudowars.Model.Difficulty.DifficultyEvaluator;
+import org.sudowars.Model.Difficulty.DifficultyHard;
+import org.sudowars.Model.Difficulty.DifficultyMedium;
+import org.sudowars.Model.Solver.RatingSolver;
+import org.sudowars.Model.Sudoku.Sudoku;
+import org.sudowars.Model.Sudoku.Field.DataCell;
+import org.sudowars.Model.Sudoku.Field.Field;
+import org.sudowars.Model.Sudoku.Field.SquareStructure;
+import org.sudowars.Model.SudokuManagement.Pool.SudokuCorpus;
+
+/**
+ * Rates every sudoku of the {@link SudokuCorpus} like the generator does and checks that the rating matches 
+ * the difficulty the sudoku is stored with. Changes of the strategies, their weights or the bounds of the 
+ * difficulties have to keep this check passing.
+ */
+public final class CorpusRatingCheck {
+	
+	private static final int[] SIZES = new int[] {9, 16};
+	
+	private CorpusRatingCheck() {
+	}
+	
+	/**
+	 * Prints the rating of every sudoku of the corpus and exits with status 1 if a sudoku is rated with
+	 * another difficulty than its stored one.
+	 * @param args not used
+	 */
+	public static void main(String[] args) {
+		
+		DifficultyEvaluator evaluator = new DifficultyEvaluator();
+		Difficulty[] difficulties = new Difficulty[] {new DifficultyEasy(), new DifficultyMedium(), new DifficultyHard()};
+		int mismatches = 0;
+		
+		for (int size : SIZES) {
+			SquareStructure structure = new SquareStructure(size);
+			for (Difficulty corpusDifficulty : difficulties) {
+				for (int position = 0; position < SudokuCorpus.getSudokuCount(structure, corpusDifficulty); position++) {
+					
+					Sudoku<DataCell> sudoku = SudokuCorpus.getSudoku(structure, corpusDifficulty, position);
+					RatingSolver solver = new RatingSolver();
+					solver.solve(getInitialField(sudoku), sudoku.getDependencyManager());
+					Difficulty rating = evaluator.evaluateDifficulty(sudoku, solver.getUsedStrategies());
+					
+					boolean matches = rating != null && rating.getClass() == corpusDifficulty.getClass();
+					if (!matches) mismatches++;
+					System.out.println(String.format("%2dx%-2d %-6s #%d: rated %s (%.2f)%s", size, size, corpusDifficulty, position, 
+							rating, (rating != null) ? rating.getValue() : 0.0, matches ? "" : "  MISMATCH"));
+					
+				}
+			}
+		}
+		
+		System.out.println(mismatches + " sudokus rated with another difficulty than their stored one");
+		if (mismatches > 0) {
+			System.exit(1);
+		}
+		
+	}
+	
+	/**
+	 * Returns the initial field of a sudoku.
+	 * @param sudoku the solved sudoku
+	 * @return a field only holding the initial cells of the sudoku
+	 */
+	private static Field<DataCell> getInitialField(Sudoku<DataCell> sudoku) {
+		
+		Field<DataCell> initialField = sudoku.getField().clone();
+		for (DataCell cell : initialField.getCells()) {
+			if (!cell.isInitial()) cell.setValue(DataCell.NOT_SET);
+		}
+		
+		return initialField;
+		
+	}
+	
+}
@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * Copyright (c) 2011 - 2012 Adrian Vielsack, Christof Urbaczek, Florian Rosenthal, Michael Hoff, Moritz Lüdecke, Philip Flohr.
+ * 
+ * This file is part of Sudowars.
+ * 
+ * Sudowars is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Sudowars is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Sudowars.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * 
+ * 
+ * Diese Datei ist Teil von Sudowars.
+ * 
+ * Sudowars ist Freie Software: Sie können es unter den Bedingungen
+ * der GNU General Public License, wie von der Free Software Foundation,
+ * Version 3 der Lizenz oder (nach Ihrer Option) jeder späteren
+ * veröffentlichten Version, weiterverbreiten und/oder modifizieren.
+ * 
+ * Sudowars wird in der Hoffnung, dass es nützlich sein wird, aber
+ * OHNE JEDE GEWÄHELEISTUNG, bereitgestellt; sogar ohne die implizite
+ * Gewährleistung der MARKTFÄHIGKEIT oder EIGNUNG FÜR EINEN BESTIMMTEN ZWECK.
+ * Siehe die GNU General Public License für weitere Details.
+ * 
+ * Sie sollten eine Kopie der GNU General Public License zusammen mit diesem
+ * Programm erhalten haben. Wenn nicht, siehe <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ * initial API and implementation:
+ * Adrian Vielsack
+ * Christof Urbaczek
+ * Florian Rosenthal
+ * Michael Hoff
+ * Moritz Lüdecke
+ * Philip Flohr 
+ ******************************************************************************/
+package org.sudowars.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.sudowars.Model.Difficulty.Difficulty;
+import org.sudowars.Model.Difficulty.DifficultyEasy;
+import org.sudowars.Model.Difficulty.DifficultyHard;
+import org.sudowars.Model.Difficulty.DifficultyMedium;
+import org.sudowars.Model.Sudoku.Sudoku;
+import org.sudowars.Model.Sudoku.Field.DataCell;
+import org.sudowars.Model.Sudoku.Field.Field;
+import org.sudowars.Model.Sudoku.Field.SquareStructure;
+import org.sudowars.Model.SudokuManagement.Pool.SudokuCorpus;
+
+/**
+ * This class provides the sudokus of the {@link SudokuCorpus} with the given size and difficulty to the benchmarks.
+ * Every invocation of a benchmark uses the next sudoku, so the results are averaged over the whole corpus.
+ */
+@State(Scope.Thread)
+public class CorpusState {
+	
+	@Param({"9", "16"})
+	public int size;
+	
+	@Param({"Easy", "Medium", "Hard"})
+	public String difficulty;
+	
+	private List<Sudoku<DataCell>> sudokus;
+	private List<Field<DataCell>> initialFields;
+	private int nextPosition;
+	
+	/**
+	 * Loads the sudokus of the corpus.
+	 */
+	@Setup(Level.Trial)
+	public void loadCorpus() {
+		
+		SquareStructure structure = new SquareStructure(this.size);
+		Difficulty corpusDifficulty = getDifficulty(this.difficulty);
+		
+		this.sudokus = new ArrayList<Sudoku<DataCell>>();
+		this.initialFields = new ArrayList<Field<DataCell>>();
+		for (int position = 0; position < SudokuCorpus.getSudokuCount(structure, corpusDifficulty); position++) {
+			Sudoku<DataCell> sudoku = SudokuCorpus.getSudoku(structure, corpusDifficulty, position);
+			this.sudokus.add(sudoku);
+			this.initialFields.add(getInitialField(sudoku));
+		}
+		
+		if (this.sudokus.isEmpty()) {
+			throw new IllegalStateException("corpus holds no sudokus of size " + this.size + " and difficulty " + this.difficulty);
+		}
+		
+	}
+	
+	/**
+	 * Returns the position of the sudoku to use by the next invocation.
+	 * @return the position of the next sudoku
+	 */
+	public int nextPosition() {
+		int position = this.nextPosition;
+		this.nextPosition = (this.nextPosition + 1) % this.sudokus.size();
+		return position;
+	}
+	
+	/**
+	 * Returns the number of loaded sudokus.
+	 * @return the number of sudokus
+	 */
+	public int getSudokuCount() {
+		return this.sudokus.size();
+	}
+	
+	/**
+	 * Returns a solved sudoku of the corpus, the initial cells are marked.
+	 * @param position the position of the sudoku
+	 * @return the solved sudoku
+	 */
+	public Sudoku<DataCell> getSudoku(int position) {
+		return this.sudokus.get(position);
+	}
+	
+	/**
+	 * Returns the initial field of a sudoku of the corpus.
+	 * @param position the position of the sudoku
+	 * @return the field only holding the initial cells
+	 */
+	public Field<DataCell> getInitialField(int position) {
+		return this.initialFields.get(position);
+	}
+	
+	/**
+	 * Returns the difficulty with the given name.
+	 * @param name the name of the difficulty
+	 * @return the difficulty
+	 * @throws IllegalArgumentException if the name is unknown
+	 */
+	public static Difficulty getDifficulty(String name) throws IllegalArgumentException {
+		
+		Difficulty[] difficulties = new Difficulty[] {new DifficultyEasy(), new DifficultyMedium(), new DifficultyHard()};
+		for (Difficulty difficulty : difficulties) {
+			if (difficulty.toString().equals(name)) {
+				return difficulty;
+			}
+		}
+		
+		throw new IllegalArgumentException("unknown difficulty " + name);
+		
+	}
+	
+	/**
+	 * Returns the initial field of a sudoku.
+	 * @param sudoku the solved sudoku
+	 * @return a field only holding the initial cells of the sudoku
+	 */
+	private static Field<DataCell> getInitialField(Sudoku<DataCell> sudoku) {
+		
+		Field<DataCell> initialField = sudoku.getField().clone();
+		for (DataCell cell : initialField.getCells()) {
+			if (!cell.isInitial()) cell.setValue(DataCell.NOT_SET);
+		}
+		
+		return initialField;
+		
+	}
+	
+}
@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * Copyright (c) 2011 - 2012 Adrian Vielsack, Christof Urbaczek, Florian Rosenthal, Michael Hoff, Moritz Lüdecke, Philip Flohr.
+ * 
+ * This file is part of Sudowars.
+ * 
+ * Sudowars is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Sudowars is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Sudowars.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * 
+ * 
+ * Diese Datei ist Teil von Sudowars.
+ * 
+ * Sudowars ist Freie Software: Sie können es unter den Bedingungen
+ * der GNU General Public License, wie von der Free Software Foundation,
+ * Version 3 der Lizenz oder (nach Ihrer Option) jeder späteren
+ * veröffentlichten Version, weiterverbreiten und/oder modifizieren.
+ * 
+ * Sudowars wird in der Hoffnung, dass es nützlich sein wird, aber
+ * OHNE JEDE GEWÄHELEISTUNG, bereitgestellt; sogar ohne die implizite
+ * Gewährleistung der MARKTFÄHIGKEIT oder EIGNUNG FÜR EINEN BESTIMMTEN ZWECK.
+ * Siehe die GNU General Public License für weitere Details.
+ * 
+ * Sie sollten eine Kopie der GNU General Public License zusammen mit diesem
+ * Programm erhalten haben. Wenn nicht, siehe <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ * initial API and implementation:
+ * Adrian Vielsack
+ * Christof Urbaczek
+ * Florian Rosenthal
+ * Michael Hoff
+ * Moritz Lüdecke
+ * Philip Flohr 
+ ******************************************************************************/
+package org.sudowars.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sudowars.Model.Difficulty.Difficulty;
+import org.sudowars.Model.Sudoku.Sudoku;
+import org.sudowars.Model.Sudoku.Field.DataCell;
+import org.sudowars.Model.Sudoku.Field.FieldStructure;
+import org.sudowars.Model.Sudoku.Field.SquareStructure;
+import org.sudowars.Model.SudokuManagement.Generator.GeneratorBase;
+import org.sudowars.Model.SudokuManagement.Pool.SudokuCorpus;
+import org.sudowars.Model.SudokuManagement.Pool.SudokuPool;
+
+/**
+ * Measures {@link GeneratorBase#run()} generating a sudoku of the given difficulty from the solved sudokus 
+ * of the corpus. The generation of a 16x16 sudoku takes long, so only 9x9 sudokus are generated by default;
+ * use <code>-p size=16</code> to generate them as well.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GeneratorBenchmark {
+	
+	@Param({"9"})
+	public int size;
+	
+	@Param({"Easy", "Medium", "Hard"})
+	public String difficulty;
+	
+	private Sudoku<DataCell>[] baseSudokus;
+	private int nextPosition;
+	private final CountingPool pool = new CountingPool();
+	
+	/**
+	 * A pool which only counts the added sudokus.
+	 */
+	private static final class CountingPool implements SudokuPool {
+		
+		private static final long serialVersionUID = 1L;
+		
+		private int addedSudokus;
+		
+		public boolean empty() {
+			return this.addedSudokus == 0;
+		}
+		
+		public boolean hasChanged() {
+			return false;
+		}
+		
+		public Sudoku<DataCell> extractSudoku(FieldStructure structure, Difficulty difficulty) {
+			return null;
+		}
+		
+		public boolean addSudoku(Sudoku<DataCell> sudoku, Difficulty difficulty, boolean transform) {
+			this.addedSudokus++;
+			return true;
+		}
+		
+	}
+	
+	/**
+	 * Loads the solved sudokus of the corpus.
+	 */
+	@SuppressWarnings("unchecked")
+	@Setup(Level.Trial)
+	public void loadCorpus() {
+		
+		SquareStructure structure = new SquareStructure(this.size);
+		Difficulty corpusDifficulty = CorpusState.getDifficulty(this.difficulty);
+		
+		this.baseSudokus = new Sudoku[SudokuCorpus.getSudokuCount(structure, corpusDifficulty)];
+		for (int position = 0; position < this.baseSudokus.length; position++) {
+			this.baseSudokus[position] = SudokuCorpus.getSudoku(structure, corpusDifficulty, position);
+		}
+		
+	}
+	
+	/**
+	 * Generates a sudoku from the next solved sudoku of the corpus.
+	 * @return the number of sudokus added to the pool so far
+	 */
+	@Benchmark
+	public int run() {
+		
+		Sudoku<DataCell> baseSudoku = this.baseSudokus[this.nextPosition];
+		this.nextPosition = (this.nextPosition + 1) % this.baseSudokus.length;
+		
+		//the generator stores the rating in the difficulty, so every run gets its own instance
+		GeneratorBase generator = new GeneratorBase(this.pool);
+		generator.setTargetSudokuProperties(CorpusState.getDifficulty(this.difficulty), baseSudoku.clone());
+		generator.run();
+		
+		return this.pool.addedSudokus;
+		
+	}
+	
+}
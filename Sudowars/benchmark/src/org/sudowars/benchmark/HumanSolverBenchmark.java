@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright (c) 2011 - 2012 Adrian Vielsack, Christof Urbaczek, Florian Rosenthal, Michael Hoff, Moritz Lüdecke, Philip Flohr.
+ * 
+ * This file is part of Sudowars.
+ * 
+ * Sudowars is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Sudowars is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Sudowars.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * 
+ * 
+ * Diese Datei ist Teil von Sudowars.
+ * 
+ * Sudowars ist Freie Software: Sie können es unter den Bedingungen
+ * der GNU General Public License, wie von der Free Software Foundation,
+ * Version 3 der Lizenz oder (nach Ihrer Option) jeder späteren
+ * veröffentlichten Version, weiterverbreiten und/oder modifizieren.
+ * 
+ * Sudowars wird in der Hoffnung, dass es nützlich sein wird, aber
+ * OHNE JEDE GEWÄHELEISTUNG, bereitgestellt; sogar ohne die implizite
+ * Gewährleistung der MARKTFÄHIGKEIT oder EIGNUNG FÜR EINEN BESTIMMTEN ZWECK.
+ * Siehe die GNU General Public License für weitere Details.
+ * 
+ * Sie sollten eine Kopie der GNU General Public License zusammen mit diesem
+ * Programm erhalten haben. Wenn nicht, siehe <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ * initial API and implementation:
+ * Adrian Vielsack
+ * Christof Urbaczek
+ * Florian Rosenthal
+ * Michael Hoff
+ * Moritz Lüdecke
+ * Philip Flohr 
+ ******************************************************************************/
+package org.sudowars.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sudowars.Model.Solver.HumanSolveStep;
+import org.sudowars.Model.Solver.HumanSolver;
+import org.sudowars.Model.Solver.SolverState;
+
+/**
+ * Measures {@link HumanSolver#getCellToSolveNext(SolverState)} on the initial states of the corpus. The 
+ * changes of every invocation are rolled back, so every invocation starts from the initial state.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HumanSolverBenchmark {
+	
+	private final HumanSolver solver = new HumanSolver();
+	private SolverState[] states;
+	
+	/**
+	 * Creates the initial states of the corpus.
+	 * @param corpus the sudokus to solve
+	 */
+	@Setup(Level.Trial)
+	public void createStates(CorpusState corpus) {
+		this.states = new SolverState[corpus.getSudokuCount()];
+		for (int position = 0; position < this.states.length; position++) {
+			this.states[position] = new SolverState(corpus.getInitialField(position).clone().convert(), 
+					corpus.getSudoku(position).getDependencyManager());
+		}
+	}
+	
+	/**
+	 * Searches the next cell to solve of the next sudoku of the corpus.
+	 * @param corpus the sudokus to solve
+	 * @return the step to solve the next cell
+	 */
+	@Benchmark
+	public HumanSolveStep getCellToSolveNext(CorpusState corpus) {
+		
+		SolverState state = this.states[corpus.nextPosition()];
+		state.mark();
+		try {
+			return this.solver.getCellToSolveNext(state);
+		} finally {
+			state.rollback();
+		}
+		
+	}
+	
+}
@@ -50,6 +50,8 @@ import org.sudowars.Controller.Local.MultiplayerSudokuSettings;
 import org.sudowars.Controller.Remote.BluetoothConnection;
 import org.sudowars.Controller.Remote.BluetoothServer;
 import org.sudowars.Model.Game.MultiplayerGame;
+import org.sudowars.Model.Sudoku.Sudoku;
+import org.sudowars.Model.Sudoku.Field.DataCell;
 import org.sudowars.Model.Sudoku.Field.SquareStructure;
 import org.sudowars.Model.SudokuManagement.IO.FileIO;
 import org.sudowars.Model.SudokuUtil.GameState;
@@ -453,11 +455,20 @@ public class MultiplayerSettings extends Settings {
 			this.connection.sendCommand((Command) command);
 		}
 		
-		int debugSize = (this.settings.getSize() == 0)?9:16;
+		int debugSize = this.getFieldSize();
 		DebugHelper.log(DebugHelper.PackageName.MultiplayerSettings, "Size: " + debugSize + "x" + debugSize
 				+ " Difficulty: " + this.connection.decodeDifficulty(this).toString());
 	}
 	
+	/**
+	 * Returns the side length of the field chosen in the settings.
+	 * 
+	 * @return the side length of the field
+	 */
+	private int getFieldSize() {
+		return Integer.parseInt(this.getResources().getStringArray(R.array.field_size_values)[this.settings.getSize()]);
+	}
+	
 	/**
 	 * Running on a click on button {@link tglLocalReady}.
 	 */
@@ -501,10 +512,20 @@ public class MultiplayerSettings extends Settings {
 				Command command;
 				
 				if (this.settings.isNewGame()) {
-					int size = (this.settings.getSize() == 0)?9:16;
+					int size = this.getFieldSize();
+					Sudoku<DataCell> sudoku = this.pool.extractSudoku(new SquareStructure(size), connection.decodeDifficulty(this));
+					
+					//the pool holds no sudoku of this type yet, it is generated in the background
+					if (sudoku == null) {
+						Toast.makeText(getApplicationContext(), R.string.text_no_sudoku_available, Toast.LENGTH_LONG).show();
+						this.tglLocalReady.setChecked(false);
+						this.tglLocalReady.setClickable(true);
+						RemoteReadyCommand readyCommand = new RemoteReadyCommand(false);
+						this.connection.sendCommandAsync((Command) readyCommand);
+						return;
+					}
 					
-					command = new CreateMultiplayerGameObjectCommand(
-							this.pool.extractSudoku(new SquareStructure(size), connection.decodeDifficulty(this)));
+					command = new CreateMultiplayerGameObjectCommand(sudoku);
 					this.game = ((CreateMultiplayerGameObjectCommand) command).getGame();					
 					savedGames.saveMultiplayerGame(new GameState(this.game, this.connection.decodeDifficulty(this)));
 				} else {
@@ -527,8 +548,7 @@ public class MultiplayerSettings extends Settings {
 		size.setOnPreferenceChangeListener(new OnPreferenceChangeListener() {
             public boolean onPreferenceChange(Preference pref, Object obj) {
             	if (obj instanceof String) {
-	            	int size = Integer.parseInt((String) obj);
-	            	size = (size == 9)?0:1;
+	            	int size = ((ListPreference) pref).findIndexOfValue((String) obj);
 	            	pref.setSummary(((ListPreference) pref).getEntries()[size]);
 					MultiplayerSettings.this.settings.setSize(size);
 					refresh();
@@ -121,7 +121,27 @@ public abstract class Play extends PoolBinder {
 			R.id.key13,
 			R.id.key14,
 			R.id.key15,
-			R.id.key16
+			R.id.key16,
+			R.id.key17,
+			R.id.key18,
+			R.id.key19,
+			R.id.key20,
+			R.id.key21,
+			R.id.key22,
+			R.id.key23,
+			R.id.key24,
+			R.id.key25,
+			R.id.key26,
+			R.id.key27,
+			R.id.key28,
+			R.id.key29,
+			R.id.key30,
+			R.id.key31,
+			R.id.key32,
+			R.id.key33,
+			R.id.key34,
+			R.id.key35,
+			R.id.key36
 	};
 	
 	/**
@@ -645,8 +665,12 @@ public abstract class Play extends PoolBinder {
 	protected void setupView() {
 		if (size == 9) {
 			setContentView(R.layout.play_9);
-		} else {
+		} else if (size == 16) {
 			setContentView(R.layout.play_16);
+		} else if (size == 25) {
+			setContentView(R.layout.play_25);
+		} else {
+			setContentView(R.layout.play_36);
 		}
 		
 		this.keypad = (TableLayout) findViewById(R.id.keypad);
@@ -62,6 +62,7 @@ import org.sudowars.Model.Game.SingleplayerGame;
 import org.sudowars.Model.SudokuManagement.IO.FileIO;
 import org.sudowars.Model.SudokuUtil.Assistant;
 import org.sudowars.Model.SudokuUtil.SingleplayerGameState;
+import org.sudowars.Model.SudokuUtil.SolvePath;
 
 /**
  * Shows a running Sudoku game.
@@ -87,6 +88,11 @@ public class SingleplayerPlay extends Play {
 		
 		this.deltaManager = ((SingleplayerGameState) this.gameState).getDeltaManager();
 		
+		//start computing hints in the background, the steps to solve the game are saved with it
+		if (((SingleplayerGameState) this.gameState).isSolveCellEnabled()) {
+			((SingleplayerGame) this.game).getHintEngine(((SingleplayerGameState) this.gameState).getSolvePath());
+		}
+		
 		//Debug output
 		int debugAssistants = ((SingleplayerGameState) this.gameState).isShowObviousMistakesEnabled()?8:0;
 		debugAssistants += ((SingleplayerGameState) this.gameState).isSolveCellEnabled()?4:0;
@@ -141,6 +147,29 @@ public class SingleplayerPlay extends Play {
 		this.localPlayer.pauseGame(this.game);
 	}
 	
+	/*
+	 * (non-Javadoc)
+	 * @see android.app.Activity#onDestroy()
+	 */
+	@Override
+	protected void onDestroy() {
+		//the hints are not needed any more, a running solver is stopped
+		((SingleplayerGame) this.game).shutdownHintEngine();
+		
+		super.onDestroy();
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see org.sudowars.Controller.Local.Play#onGameFinished(java.lang.String)
+	 */
+	@Override
+	protected void onGameFinished(String text) {
+		super.onGameFinished(text);
+		
+		((SingleplayerGame) this.game).shutdownHintEngine();
+	}
+	
 	/*
 	 * (non-Javadoc)
 	 * @see android.app.Activity#onCreateOptionsMenu(android.view.Menu)
@@ -419,6 +448,10 @@ public class SingleplayerPlay extends Play {
 		if (this.gameState.isFinished()) {
 			this.savedGames.deleteSingleplayerGame();
 		} else {
+			if (((SingleplayerGameState) this.gameState).isSolveCellEnabled()) {
+				SolvePath solvePath = ((SingleplayerGame) this.game).getHintEngine().getSolvePath();
+				((SingleplayerGameState) this.gameState).setSolvePath(solvePath);
+			}
 			this.savedGames.saveSingleplayerGame((SingleplayerGameState) this.gameState);
 		}
 	}
@@ -74,6 +74,7 @@ import android.view.Menu;
 import android.view.MenuInflater;
 import android.view.MenuItem;
 import android.widget.Button;
+import android.widget.Toast;
 
 /**
  * Shows the menu of a new Singleplayer game.
@@ -109,8 +110,7 @@ public class SingleplayerSettings extends Settings {
 		size.setOnPreferenceChangeListener(new OnPreferenceChangeListener() {
             public boolean onPreferenceChange(Preference pref, Object obj) {
             	if (obj instanceof String) {
-	            	int i = Integer.parseInt((String) obj);
-	            	i = (i == 9)?0:1;
+	            	int i = ((ListPreference) pref).findIndexOfValue((String) obj);
 	            	pref.setSummary(((ListPreference) pref).getEntries()[i]);
             	}
                 return true;
@@ -184,6 +184,14 @@ public class SingleplayerSettings extends Settings {
 		
 		Sudoku<DataCell> sudoku = this.pool.extractSudoku(new SquareStructure(size), difficulty);
 		
+		//the pool holds no sudoku of this type yet, it is generated in the background
+		if (sudoku == null) {
+			Toast.makeText(getApplicationContext(), R.string.text_no_sudoku_available, Toast.LENGTH_LONG).show();
+			if (this.btnStart != null)
+				this.btnStart.setClickable(true);
+			return;
+		}
+		
 		SingleplayerGame game = new SingleplayerGame(
 				new Sudoku<Cell>(sudoku.getField().convert(), sudoku.getDependencyManager()));
 		Player player = new Player("singleplayer");
@@ -231,7 +231,7 @@ public class BluetoothConnection implements Serializable {
     
     public void sendCommandAsync(Command cmd) {
     	this.sendQueue.sendAsync(cmd);
-    	DebugHelper.log(DebugHelper.PackageName.BluetoothConnection, "Send async, got new Command");
+    	if (DebugHelper.ENABLED) DebugHelper.log(DebugHelper.PackageName.BluetoothConnection, "Send async, got new Command");
     }
     
     /**
@@ -259,7 +259,7 @@ public class BluetoothConnection implements Serializable {
 			ptHandler.addOutgoingPacket(btPacket);
 			sentPacket.set((int)(btPacket.getPacketId() & 0xFF), btPacket);
 			swSocket.sendData(btPacket.getPacket());
-			debugHex(btPacket.getCRC(), "Bluetooth.PacketOut.Checksum");
+			if (DebugHelper.ENABLED) debugHex(btPacket.getCRC(), "Bluetooth.PacketOut.Checksum");
 		}
 	}
 	
@@ -321,18 +321,18 @@ public class BluetoothConnection implements Serializable {
 				
 				byte[] data = new byte[len];
 				swSocket.recv(data);				
-				debugHex(data, "Received");
+				if (DebugHelper.ENABLED) debugHex(data, "Received");
 				
 				if (ptHandler.checkPacket(header, data))
 					continue;
 				
 				BluetoothPacket p = new BluetoothPacket(header, data);
-				debugHex(p.getCRC(), "BluetoothPacketOut.Checksum");
+				if (DebugHelper.ENABLED) debugHex(p.getCRC(), "BluetoothPacketOut.Checksum");
 				if (p.isValid()) {
 					currentPacket.offer(p);
 					ptHandler.sendSuccessCommand(p);
 					//currentData = (Command) p.getCommand();
-					DebugHelper.log(DebugHelper.PackageName.BluetoothConnection, "Got valid Packet, invoking event");
+					if (DebugHelper.ENABLED) DebugHelper.log(DebugHelper.PackageName.BluetoothConnection, "Got valid Packet, invoking event");
 					bluetoothEventHandler.obtainMessage(MESSAGE_NEW_DATA).sendToTarget();
 				} else {
 					ptHandler.sendResendCommand(p);
@@ -492,18 +492,21 @@ public class BluetoothConnection implements Serializable {
 		}
 
 		void debugHex(byte[] data, int begin, String logd) {
-			String out = "";
+			//called for every packet, so nothing is built if the messages are not recorded
+			if (!DebugHelper.isLoggable())
+				return;
+			StringBuilder out = new StringBuilder();
 			for (int n = begin; n < data.length; n++) {
-				out += " ";
+				out.append(' ');
 				if (n % 16 == 0 && n != 0){
-					DebugHelper.log(DebugHelper.PackageName.BluetoothConnection, out);
-					out = "";
+					DebugHelper.log(DebugHelper.PackageName.BluetoothConnection, out.toString());
+					out.setLength(0);
 				}
 				if ((data[n] & 0xFF) < 16)
-					out += "0";
-				out += Integer.toHexString(data[n] & 0xFF);
+					out.append('0');
+				out.append(Integer.toHexString(data[n] & 0xFF));
 			}
-			DebugHelper.log(DebugHelper.PackageName.BluetoothConnection, out);
+			DebugHelper.log(DebugHelper.PackageName.BluetoothConnection, out.toString());
 		}
 	}
 	
@@ -586,7 +589,7 @@ public class BluetoothConnection implements Serializable {
 				while (!EXIT) {
 					toSend = btPacketsToSend.take();
 					sendCommand(toSend);
-					DebugHelper.log(DebugHelper.PackageName.BluetoothConnection, "Sent a message async");
+					if (DebugHelper.ENABLED) DebugHelper.log(DebugHelper.PackageName.BluetoothConnection, "Sent a message async");
 				}
 			} catch (InterruptedException e ) {
 				Thread.currentThread().interrupt();
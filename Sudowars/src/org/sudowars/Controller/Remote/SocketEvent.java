@@ -85,7 +85,7 @@ public abstract class SocketEvent {
 			return false;
 		try {
 			sudowarsBluetoothSocket.inp.read(data);
-			DebugHelper.log(DebugHelper.PackageName.BluetoothConnection, "Read " + data.length + " Bytes");
+			if (DebugHelper.ENABLED) DebugHelper.log(DebugHelper.PackageName.BluetoothConnection, "Read %d Bytes", data.length);
 		} catch (IOException e) {
 			if (data.length < 30)
 				sudowarsBluetoothSocket.close();
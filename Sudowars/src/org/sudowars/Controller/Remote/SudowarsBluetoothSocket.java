@@ -232,7 +232,7 @@ public class SudowarsBluetoothSocket implements SudowarsSocket, Serializable {
 			for (StackTraceElement a : stackTraceElements)
 				o += a.getClassName() + " -> ";
 			
-			DebugHelper.log(DebugHelper.PackageName.BluetoothConnection, "close called by " + o);	
+			if (DebugHelper.ENABLED) DebugHelper.log(DebugHelper.PackageName.BluetoothConnection, "close called by %s", o);	
 			if (SudowarsBluetoothSocket.btServer != null) {
 				try {
 					
@@ -293,7 +293,7 @@ public class SudowarsBluetoothSocket implements SudowarsSocket, Serializable {
 					}
 				}
 				
-				DebugHelper.log(DebugHelper.PackageName.BluetoothConnection, "Written " + data.length + " Bytes");
+				if (DebugHelper.ENABLED) DebugHelper.log(DebugHelper.PackageName.BluetoothConnection, "Written %d Bytes", data.length);
 			} catch (IOException e) {
 				DebugHelper.log(DebugHelper.PackageName.BluetoothConnection, "Could not send data!!");
 				close();
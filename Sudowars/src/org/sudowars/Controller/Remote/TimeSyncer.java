@@ -90,7 +90,7 @@ public class TimeSyncer implements Serializable {
 	public void syncTime() {
 		sentTs = getActualTimestamp();
 		sendPacket(CMD_TIMESYNC, longToByte(sentTs));
-		DebugHelper.log(DebugHelper.PackageName.TimeSyncer, "New Sync Time Command Actual time is " + this.getCorrectedTimestamp());
+		if (DebugHelper.ENABLED) DebugHelper.log(DebugHelper.PackageName.TimeSyncer, "New Sync Time Command Actual time is %d", this.getCorrectedTimestamp());
 	}
 	
 	private byte[] cutTheCrap(byte[] data) {
@@ -105,13 +105,13 @@ public class TimeSyncer implements Serializable {
 		this.timeOffset = byteToLong(cutTheCrap(data)) - timeReceived;
 		
 		sendPacket(CMD_TIMESYNC_PONG);
-		DebugHelper.log(DebugHelper.PackageName.TimeSyncer, "New Time Offset: " + this.timeOffset + " Actual Synced time is " + this.getCorrectedTimestamp());
+		if (DebugHelper.ENABLED) DebugHelper.log(DebugHelper.PackageName.TimeSyncer, "New Time Offset: %d Actual Synced time is %d", this.timeOffset, this.getCorrectedTimestamp());
 	}
 	
 	public void syncTimePongCommand() {
 		long timeReceived = getActualTimestamp();
 		this.timeOffset = ((timeReceived - sentTs) >> 1) * -1;
-		DebugHelper.log(DebugHelper.PackageName.TimeSyncer, "New Time Offset: " + this.timeOffset + " Actual Synced time is " + this.getCorrectedTimestamp());
+		if (DebugHelper.ENABLED) DebugHelper.log(DebugHelper.PackageName.TimeSyncer, "New Time Offset: %d Actual Synced time is %d", this.timeOffset, this.getCorrectedTimestamp());
 	}
 	
 	public long getCorrectedTimestamp() {
@@ -57,9 +57,24 @@ import org.sudowars.Model.SudokuUtil.NoteManager;
 // TODO: Auto-generated Javadoc
 /**
  * The Class DebugHelper.
+ * <br>
+ * Logging is switched off at compile time by {@link DebugHelper#ENABLED}. Call sites in frequently executed 
+ * code guard their calls with this constant, so the compiler removes the calls together with the building 
+ * of their messages. Messages with arguments are only formatted if they are recorded. The recorded messages 
+ * are kept in a ring buffer of {@link DebugHelper#LOG_BUFFER_SIZE} entries.
  */
 public class DebugHelper {
 	
+	/**
+	 * Enables the logging. If <code>false</code> the compiler removes all calls guarded by this constant.
+	 */
+	public static final boolean ENABLED = false;
+	
+	/**
+	 * The number of recorded messages kept, older messages are overwritten.
+	 */
+	public static final int LOG_BUFFER_SIZE = 512;
+	
 	/**
 	 * The Enum PackageName.
 	 */
@@ -78,14 +93,27 @@ public class DebugHelper {
 	}
 	
 	/** The DEBU g_ state. */
-	private static DebugState DEBUG_STATE = DebugState.PRINT_NOTHING;
+	private static volatile DebugState DEBUG_STATE = DebugState.PRINT_NOTHING;
 	
-	/** The logs. (They are not saved in this list while DEBUG_STATE is PRINT_NONE */
-	private static LinkedList<String> logs = new LinkedList<String>();
+	/** The logs as ring buffer of packages and messages. (They are not saved while DEBUG_STATE is PRINT_NONE */
+	private static final DebugHelper.PackageName[] logParts = new DebugHelper.PackageName[LOG_BUFFER_SIZE];
+	private static final String[] logMessages = new String[LOG_BUFFER_SIZE];
+	
+	/** The number of messages recorded so far, the next message is saved at this position modulo the buffer size. */
+	private static long logCount = 0;
 	
 	/** The shown packages. */
 	private static LinkedList<DebugHelper.PackageName> shownPackages= new LinkedList<DebugHelper.PackageName>(); 
 	
+	/**
+	 * Indicates whether messages are recorded. Building expensive messages should be guarded by this method.
+	 *
+	 * @return <code>true</code> if logging is enabled and the DebugState is not PRINT_NOTHING
+	 */
+	public static boolean isLoggable() {
+		return ENABLED && DEBUG_STATE != DebugState.PRINT_NOTHING;
+	}
+	
 	/**
 	 * Prints the sudoku field.
 	 *
@@ -94,7 +122,7 @@ public class DebugHelper {
 	 */
 	public static void printSudokuField(Field<Cell> sudokuField, boolean justInitial) {
 		
-		if (DEBUG_STATE != DebugState.PRINT_ALL)
+		if (!ENABLED || DEBUG_STATE != DebugState.PRINT_ALL)
 			return;
 		
 		String out;
@@ -136,8 +164,13 @@ public class DebugHelper {
 	 * @param message the message
 	 */
 	public static void log(DebugHelper.PackageName part, String message) {
-		if (!(DEBUG_STATE == DebugState.PRINT_NOTHING)) {
-			logs.addLast("Sudowars" + part + ": " + message);
+		if (isLoggable()) {
+			synchronized (logMessages) {
+				int position = (int) (logCount % LOG_BUFFER_SIZE);
+				logParts[position] = part;
+				logMessages[position] = message;
+				logCount++;
+			}
 			if (DEBUG_STATE == DebugState.PRINT_ALL) {
 				Log.d("Sudowars", part + ": " + message);
 			} else {
@@ -149,16 +182,33 @@ public class DebugHelper {
 	}
 	
 	/**
-	 * Gets all logs for package.
+	 * Log. The message is only formatted if it is recorded.
+	 *
+	 * @param part the PackageName
+	 * @param format the format of the message
+	 * @param args the arguments of the message
+	 * @see String#format(String, Object...)
+	 */
+	public static void log(DebugHelper.PackageName part, String format, Object... args) {
+		if (isLoggable()) {
+			log(part, String.format(format, args));
+		}
+	}
+	
+	/**
+	 * Gets all logs for package which are still kept in the ring buffer, from the oldest to the newest.
 	 *
 	 * @param packageName the package name
 	 * @return the all logs for package
 	 */
 	public static LinkedList<String> getAllLogsForPackage(DebugHelper.PackageName packageName) {
 		LinkedList<String> returnList = new LinkedList<String>();
-		for (String s : logs) {
-			if (s.contains(packageName.toString())) {
-				returnList.addLast(s);
+		synchronized (logMessages) {
+			for (long i = Math.max(0, logCount - LOG_BUFFER_SIZE); i < logCount; i++) {
+				int position = (int) (i % LOG_BUFFER_SIZE);
+				if (logParts[position] == packageName) {
+					returnList.addLast("Sudowars" + packageName + ": " + logMessages[position]);
+				}
 			}
 		}
 		return returnList;
@@ -240,33 +290,15 @@ public class DebugHelper {
 		String emptyLine = repeat(" ", totalLines);
 		//TODO: Use resource...
 		//String[] symbols = Resources.getStringArray(R.array.symbols);
-		String[] symbols = {
-				" ",
-				"1",
-				"2",
-				"3",
-				"4",
-				"5",
-				"6",
-				"7",
-				"8",
-				"9",
-				"0",
-				"a",
-				"b",
-				"c",
-				"d",
-				"e",
-				"f"
-		};
+		String symbols = " 1234567890abcdefghijklmnopqrstuvwxyz";
 		
 		if (cell.isInitial() || cell.isSet()) {
 			String mark = (cell.isInitial()) ? "*" : "=";
-			result = (lineNumber == 2) ? mark + symbols[cell.getValue()] + mark + ((totalLines == 4) ? " " : "") : emptyLine;			
+			result = (lineNumber == 2) ? mark + symbols.charAt(cell.getValue()) + mark + repeat(" ", totalLines - 3) : emptyLine;			
 		} else {
 			//output notes
 			for (int i = (lineNumber-1)*totalLines + 1; i <= lineNumber*totalLines; i++) {
-				result += (notes.hasNote(cell, i)) ? symbols[i] : " "; 
+				result += (notes.hasNote(cell, i)) ? symbols.charAt(i) : ' '; 
 			}
 		}
 		
@@ -286,8 +318,8 @@ public class DebugHelper {
 		
 		assert(field.getStructure() instanceof SquareStructure);		
 		int fieldWidth = field.getStructure().getWidth(); 
-		assert (fieldWidth == 16 || fieldWidth == 9);
-		int linesPerCaree = (fieldWidth == 16) ? 4 : 3;
+		int linesPerCaree = (int) Math.round(Math.sqrt(fieldWidth));
+		assert (linesPerCaree * linesPerCaree == fieldWidth && linesPerCaree >= 3);
 		
 		for (int line = 1; line <= linesPerCaree; line++) {
 			
@@ -312,16 +344,21 @@ public class DebugHelper {
 	 */
 	public static void printCompleteSudoku(DebugHelper.PackageName part, Field<Cell> field, NoteManager notes) {
 		
+		if (!isLoggable())
+			return;
+		
 		assert(field.getStructure() instanceof SquareStructure);
 				
 		int fieldWidth = field.getStructure().getWidth();
 		int fieldHeight = field.getStructure().getHeight();
 		
-		assert (fieldWidth == 16 || fieldWidth == 9);
+		int linesPerCaree = (int) Math.round(Math.sqrt(fieldWidth));
+		assert (linesPerCaree * linesPerCaree == fieldWidth && linesPerCaree >= 3);
 		
-		int linesPerCaree = (fieldWidth == 16) ? 4 : 3;
-		String borderLine = repeat("=", (fieldWidth == 16) ? 86 : 41);
-		String fineLine = repeat("-", (fieldWidth == 16) ? 86 : 41);
+		//every cell is followed by a separator, every block by a second one
+		int lineLength = 2 + fieldWidth * (linesPerCaree + 1) + linesPerCaree;
+		String borderLine = repeat("=", lineLength);
+		String fineLine = repeat("-", lineLength);
 		
 		log(part, borderLine);		
 		for (int y = 0; y < fieldHeight; y++) {
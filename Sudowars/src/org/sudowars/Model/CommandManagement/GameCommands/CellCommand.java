@@ -57,6 +57,9 @@ public abstract class CellCommand extends BaseCommand implements GameCommand {
 	/** The Constant serialVersionUID. */
 	private static final long serialVersionUID = 991268144633174614L;
 	
+	/** The highest value a command can set or note, the value of the largest supported 36x36 sudokus. */
+	public static final int MAX_CELL_VALUE = 36;
+	
 	/** The cell index on which the command is executed. */
 	protected int cellIndex;
 
@@ -62,8 +62,8 @@ public class MultiplayerGameSetCellValueCommand extends CellCommand {
 	
 	public MultiplayerGameSetCellValueCommand(GameCell cell, int cellValue, long timestamp, Player localPlayer)throws IllegalArgumentException {
 		super(cell);
-		assert (cellValue > 0 && cellValue < 17);		
-		if (cellValue > 0 && cellValue < 17) {
+		assert (cellValue > 0 && cellValue <= MAX_CELL_VALUE);		
+		if (cellValue > 0 && cellValue <= MAX_CELL_VALUE) {
 			this.cellValue = cellValue;
 		} else {
 			throw new IllegalArgumentException("cellValue is out of range");
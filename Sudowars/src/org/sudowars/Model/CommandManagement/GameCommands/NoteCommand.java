@@ -70,7 +70,7 @@ public abstract class NoteCommand extends CellCommand {
 	 */
 	protected NoteCommand(GameCell cell, int noteValue) throws IllegalArgumentException {
 		super(cell);
-		if (noteValue < 1 || noteValue > 16) {
+		if (noteValue < 1 || noteValue > MAX_CELL_VALUE) {
 			throw new IllegalArgumentException("NoteValue out of range");
 		}
 		this.noteValue = noteValue;
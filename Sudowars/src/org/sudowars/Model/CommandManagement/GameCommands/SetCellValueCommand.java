@@ -67,8 +67,8 @@ public class SetCellValueCommand extends CellCommand {
 	 */
 	public SetCellValueCommand(GameCell cell, int cellValue) throws IllegalArgumentException {
 		super(cell);
-		assert (cellValue > 0 && cellValue < 17);		
-		if (cellValue > 0 && cellValue < 17) {
+		assert (cellValue > 0 && cellValue <= MAX_CELL_VALUE);		
+		if (cellValue > 0 && cellValue <= MAX_CELL_VALUE) {
 			this.cellValue = cellValue;
 		} else {
 			throw new IllegalArgumentException("cellValue is out of range");
@@ -0,0 +1,179 @@
+/*******************************************************************************
+ * Copyright (c) 2011 - 2012 Adrian Vielsack, Christof Urbaczek, Florian Rosenthal, Michael Hoff, Moritz Lüdecke, Philip Flohr.
+ * 
+ * This file is part of Sudowars.
+ * 
+ * Sudowars is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Sudowars is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Sudowars.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * 
+ * 
+ * Diese Datei ist Teil von Sudowars.
+ * 
+ * Sudowars ist Freie Software: Sie können es unter den Bedingungen
+ * der GNU General Public License, wie von der Free Software Foundation,
+ * Version 3 der Lizenz oder (nach Ihrer Option) jeder späteren
+ * veröffentlichten Version, weiterverbreiten und/oder modifizieren.
+ * 
+ * Sudowars wird in der Hoffnung, dass es nützlich sein wird, aber
+ * OHNE JEDE GEWÄHELEISTUNG, bereitgestellt; sogar ohne die implizite
+ * Gewährleistung der MARKTFÄHIGKEIT oder EIGNUNG FÜR EINEN BESTIMMTEN ZWECK.
+ * Siehe die GNU General Public License für weitere Details.
+ * 
+ * Sie sollten eine Kopie der GNU General Public License zusammen mit diesem
+ * Programm erhalten haben. Wenn nicht, siehe <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ * initial API and implementation:
+ * Adrian Vielsack
+ * Christof Urbaczek
+ * Florian Rosenthal
+ * Michael Hoff
+ * Moritz Lüdecke
+ * Philip Flohr 
+ ******************************************************************************/
+package org.sudowars.Model.Game;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.sudowars.Model.Sudoku.Sudoku;
+import org.sudowars.Model.Sudoku.RuleManagement.DependencyIndex;
+import org.sudowars.Model.Sudoku.RuleManagement.GroupOccupancy;
+
+/**
+ * This class keeps track of the cells of a game which were set to a value that is already held by another 
+ * cell of one of their dependency groups. It counts the values of every group, so setting or removing a value 
+ * only has to look at the peers of the changed cell instead of evaluating the rules of the whole field.
+ * <br>
+ * A cell is flagged when its value is set while another cell of its groups holds the same value. The flag is 
+ * cleared when the value of the cell is removed, or when the last other cell holding the value is cleared. 
+ * The tracker only supports standard rulesets.
+ */
+class ConflictTracker {
+	
+	private final Sudoku<GameCell> sudoku;
+	private final DependencyIndex index;
+	private final GroupOccupancy occupancy;
+	private final boolean[] flagged;
+	private int flaggedCount;
+	private volatile List<GameCell> snapshot;
+	
+	/**
+	 * Initializes a new instance of the {@link ConflictTracker} class.
+	 *
+	 * @param sudoku The {@link Sudoku} of the game, which has to use a standard ruleset.
+	 * @param flaggedCells The cells which are already flagged.
+	 *
+	 * @throws IllegalArgumentException if a parameter is <code>null</code> or the values of the sudoku cannot be counted
+	 */
+	ConflictTracker(Sudoku<GameCell> sudoku, Iterable<GameCell> flaggedCells) throws IllegalArgumentException {
+		if (sudoku == null || flaggedCells == null) {
+			throw new IllegalArgumentException("invalid argument given.");
+		}
+		
+		this.sudoku = sudoku;
+		this.index = sudoku.getDependencyManager().getDependencyIndex();
+		this.occupancy = new GroupOccupancy(this.index, sudoku.getField());
+		this.flagged = new boolean[sudoku.getField().getCells().size()];
+		for (GameCell cell : flaggedCells) {
+			this.flag(cell.getIndex());
+		}
+	}
+	
+	/**
+	 * Updates the tracker after the given cell was set to the given value. The cell is flagged if another cell 
+	 * of its dependency groups holds the same value.
+	 *
+	 * @param cell The cell whose value was set.
+	 * @param value The new value of the cell.
+	 *
+	 * @return <code>true</code> if the cell was flagged, otherwise <code>false</code>
+	 */
+	boolean onValueSet(GameCell cell, int value) {
+		assert cell != null;
+		
+		// the occupancy still holds the previous value of the cell, so only the other cells are compared
+		boolean conflicting = !this.occupancy.isValidValue(cell.getIndex(), value);
+		this.occupancy.setValue(cell.getIndex(), value);
+		if (conflicting) {
+			this.flag(cell.getIndex());
+		}
+		return conflicting;
+	}
+	
+	/**
+	 * Updates the tracker after the value of the given cell was removed. The flag of the cell is cleared, as 
+	 * well as the flags of the peers which held the removed value and are not conflicting anymore.
+	 *
+	 * @param cell The cell whose value was removed.
+	 * @param oldValue The value the cell held before.
+	 */
+	void onValueRemoved(GameCell cell, int oldValue) {
+		assert cell != null;
+		
+		int cellIndex = cell.getIndex();
+		this.occupancy.setValue(cellIndex, 0);
+		this.unflag(cellIndex);
+		
+		// only peers holding the removed value can have been in conflict with the cell
+		if (this.flaggedCount > 0) {
+			for (int position = 0; position < this.index.getPeerCount(cellIndex); position++) {
+				int peer = this.index.getPeer(cellIndex, position);
+				if (this.flagged[peer] && this.occupancy.getValue(peer) == oldValue 
+						&& this.occupancy.isValidValue(peer, oldValue)) {
+					this.unflag(peer);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Gets the flagged cells. The returned list is a read-only snapshot which is not changed by later updates, 
+	 * so it can be iterated while the game goes on.
+	 *
+	 * @return A read-only {@link List} of the flagged cells, ordered by their index.
+	 */
+	List<GameCell> getFlaggedCells() {
+		List<GameCell> result = this.snapshot;
+		if (result == null) {
+			List<GameCell> cells = new ArrayList<GameCell>(this.flaggedCount);
+			for (int cellIndex = 0; cellIndex < this.flagged.length && cells.size() < this.flaggedCount; cellIndex++) {
+				if (this.flagged[cellIndex]) {
+					cells.add(this.sudoku.getField().getCell(cellIndex));
+				}
+			}
+			result = Collections.unmodifiableList(cells);
+			this.snapshot = result;
+		}
+		return result;
+	}
+	
+	private void flag(int cellIndex) {
+		if (!this.flagged[cellIndex]) {
+			this.flagged[cellIndex] = true;
+			this.flaggedCount++;
+			this.snapshot = null;
+		}
+	}
+	
+	private void unflag(int cellIndex) {
+		if (this.flagged[cellIndex]) {
+			this.flagged[cellIndex] = false;
+			this.flaggedCount--;
+			this.snapshot = null;
+		}
+	}
+	
+}
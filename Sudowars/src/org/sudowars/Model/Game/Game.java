@@ -79,6 +79,7 @@ public abstract class Game implements Serializable {
 	transient List<GameAbortedEventListener> registeredOnGameAbortObservers;
 	
 	protected final Sudoku<GameCell> sudoku;
+	transient private GameCellCounter cellCounter;
 	protected List<PlayerSlot> participatingPlayers;
 	
 	final StopWatch stopwatch;
@@ -99,7 +100,9 @@ public abstract class Game implements Serializable {
 		if (sudoku == null) {
 			throw new IllegalArgumentException("given sudoku cannot be null.");
 		}
-		this.sudoku = createGameSudoku(sudoku.getField(), sudoku.getDependencyManager());
+		GameCellBuilder gameCellBuilder = new GameCellBuilder(sudoku.getField());
+		this.sudoku = createGameSudoku(gameCellBuilder, sudoku.getField(), sudoku.getDependencyManager());
+		this.cellCounter = gameCellBuilder.getCounter();
 		this.stopwatch = new GameStopWatch(this);
 		initializeObserverLists();
 	}
@@ -114,12 +117,17 @@ public abstract class Game implements Serializable {
 	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
 		in.defaultReadObject();
 		initializeObserverLists();
+		
+		//the counter is not serialized, so the cells are counted again
+		this.cellCounter = new GameCellCounter();
+		for (GameCell cell : this.sudoku.getField().getCells()) {
+			cell.setCounter(this.cellCounter);
+		}
 	}
 	
-	private static Sudoku<GameCell> createGameSudoku(Field<Cell> field, DependencyManager dependencies) {
-		assert field != null && dependencies != null;
+	private static Sudoku<GameCell> createGameSudoku(GameCellBuilder gameCellBuilder, Field<Cell> field, DependencyManager dependencies) {
+		assert gameCellBuilder != null && field != null && dependencies != null;
 		
-		GameCellBuilder gameCellBuilder = new GameCellBuilder(field);
 		Field<GameCell> sudokuField = new FieldBuilder<GameCell>().build(field.getStructure(), gameCellBuilder);
 		return new Sudoku<GameCell>(sudokuField, dependencies);
 	}
@@ -415,21 +423,12 @@ public abstract class Game implements Serializable {
 		return field.getCell(index);
 	}
 	
-	protected static boolean successfullySolved(Sudoku<GameCell> sudoku) {
-		assert sudoku != null;
-		
-		boolean result = false;
-		Field<GameCell> field = sudoku.getField();
-		if (field.isFilled()) {
-			result = true;
-			for (GameCell cell : field.getCells()) {
-				if (cell.getValue() != cell.getSolution()) {
-					result = false;
-					break;
-				}
-			}
-		}
-		return result;
+	/**
+	 * Indicates whether all cells of the game's sudoku are set to their solution.
+	 * @return <code>true</code> if the sudoku is solved, otherwise <code>false</code>
+	 */
+	protected boolean successfullySolved() {
+		return this.isFilled() && this.cellCounter.getIncorrectCellCount() == 0;
 	}
 	
 	/**
@@ -493,16 +492,25 @@ public abstract class Game implements Serializable {
 	 * @return number of incorrect filled cells
 	 */
 	public int getIncorrectCellsSize() {
-		int mistakes = 0;
-		List<GameCell> cells = this.sudoku.getField().getCells();
-		
-		for (GameCell c : cells) {
-			if (c.isSet() && c.getValue() != c.getSolution()) {
-				mistakes++;
-			}
-		}
-		
-		return mistakes;
+		return this.cellCounter.getIncorrectCellCount();
+	}
+	
+	/**
+	 * Returns number of set cells, including the initial ones
+	 * 
+	 * @return number of set cells
+	 */
+	public int getSetCellsSize() {
+		return this.cellCounter.getSetCellCount();
+	}
+	
+	/**
+	 * Returns <code>true</code> if all cells of the sudoku are set, otherwise <code>false</code>
+	 * 
+	 * @return <code>true</code> if all cells of the sudoku are set, otherwise <code>false</code>
+	 */
+	public boolean isFilled() {
+		return this.cellCounter.getSetCellCount() == this.cellCounter.getCellCount();
 	}
 	
 	/**
@@ -511,15 +519,7 @@ public abstract class Game implements Serializable {
 	 * @return <code>true</code> if the sudoku has incorrect filled cells, otherwise <code>false</code>
 	 */
 	public boolean hasIncorrectCells() {
-		List<GameCell> cells = this.sudoku.getField().getCells();
-		
-		for (GameCell c : cells) {
-			if (c.isSet() && c.getValue() != c.getSolution()) {
-				return true;
-			}
-		}
-		
-		return false;
+		return this.cellCounter.getIncorrectCellCount() > 0;
 	}
 
 	/**
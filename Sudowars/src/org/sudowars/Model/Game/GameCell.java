@@ -68,6 +68,8 @@ public class GameCell implements Cell {
 	private static final long TIMESTAMP_UNSET = Long.MIN_VALUE;
 	
 	private long timestamp;
+	
+	transient private GameCellCounter counter;
 		
 	/**
 	 * Initializes a new instance of the {@link GameCell} class.
@@ -182,7 +184,12 @@ public class GameCell implements Cell {
 		if (value <= DataCell.NOT_SET) {
 			throw new IllegalArgumentException("illegal cell value passed.");
 		}
+		boolean wasSet = this.isSet();
+		boolean wasIncorrect = this.isIncorrect();
 		this.currentValue = value;
+		if (this.counter != null) {
+			this.counter.onCellChanged(wasSet, wasIncorrect, this.isSet(), this.isIncorrect());
+		}
 	}
 	
 	/**
@@ -196,11 +203,38 @@ public class GameCell implements Cell {
 	 */
 	void removeValue() {
 		if (!this.isInitial()) {
+			boolean wasSet = this.isSet();
+			boolean wasIncorrect = this.isIncorrect();
 			this.currentValue = DataCell.NOT_SET;
 			this.timestamp = TIMESTAMP_UNSET;
+			if (this.counter != null) {
+				this.counter.onCellChanged(wasSet, wasIncorrect, false, false);
+			}
 		}
 	}
 	
+	/**
+	 * Indicates whether the cell holds a value differing from its solution.
+	 *
+	 * @return <code>true</code> if the cell is set to an incorrect value, otherwise <code>false</code>
+	 */
+	public boolean isIncorrect() {
+		return this.isSet() && this.getValue() != this.getSolution();
+	}
+	
+	/**
+	 * Attaches the cell to the counter of its game. The current state of the cell is added to the counts and 
+	 * every later change of the value is reported to the counter.
+	 *
+	 * @param counter The {@link GameCellCounter} shared by the cells of the game.
+	 */
+	void setCounter(GameCellCounter counter) {
+		assert counter != null;
+		
+		this.counter = counter;
+		counter.addCell(this.isSet(), this.isIncorrect());
+	}
+	
 	/**
 	 * Attaches the cell to a player.
 	 *
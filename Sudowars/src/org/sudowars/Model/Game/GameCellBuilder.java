@@ -54,6 +54,7 @@ import org.sudowars.Model.Sudoku.Field.Field;
 public class GameCellBuilder implements CellBuilder<GameCell> {
 	
 	private final Field<Cell> field;
+	private final GameCellCounter counter;
 		
 	/**
 	 * Initializes a new instance of the {@link GameCellBuilder} class with to decorate the cells<br>
@@ -67,6 +68,16 @@ public class GameCellBuilder implements CellBuilder<GameCell> {
 			throw new IllegalArgumentException("given field cannot be null.");
 		}
 		this.field = field;
+		this.counter = new GameCellCounter();
+	}
+	
+	/**
+	 * Gets the counter shared by all {@link GameCell}s built by this instance.
+	 *
+	 * @return reference to the {@link GameCellCounter} of the built cells
+	 */
+	GameCellCounter getCounter() {
+		return this.counter;
 	}
 	
 	/**
@@ -87,6 +98,7 @@ public class GameCellBuilder implements CellBuilder<GameCell> {
 		Cell core = this.field.getCell(index);
 		if (core != null) {
 			result = new GameCell(core);
+			result.setCounter(this.counter);
 		}
 		return result;
 	}
@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2011 - 2012 Adrian Vielsack, Christof Urbaczek, Florian Rosenthal, Michael Hoff, Moritz Lüdecke, Philip Flohr.
+ * 
+ * This file is part of Sudowars.
+ * 
+ * Sudowars is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Sudowars is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Sudowars.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * 
+ * 
+ * Diese Datei ist Teil von Sudowars.
+ * 
+ * Sudowars ist Freie Software: Sie können es unter den Bedingungen
+ * der GNU General Public License, wie von der Free Software Foundation,
+ * Version 3 der Lizenz oder (nach Ihrer Option) jeder späteren
+ * veröffentlichten Version, weiterverbreiten und/oder modifizieren.
+ * 
+ * Sudowars wird in der Hoffnung, dass es nützlich sein wird, aber
+ * OHNE JEDE GEWÄHELEISTUNG, bereitgestellt; sogar ohne die implizite
+ * Gewährleistung der MARKTFÄHIGKEIT oder EIGNUNG FÜR EINEN BESTIMMTEN ZWECK.
+ * Siehe die GNU General Public License für weitere Details.
+ * 
+ * Sie sollten eine Kopie der GNU General Public License zusammen mit diesem
+ * Programm erhalten haben. Wenn nicht, siehe <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ * initial API and implementation:
+ * Adrian Vielsack
+ * Christof Urbaczek
+ * Florian Rosenthal
+ * Michael Hoff
+ * Moritz Lüdecke
+ * Philip Flohr 
+ ******************************************************************************/
+package org.sudowars.Model.Game;
+
+/**
+ * This class counts the set and the incorrect {@link GameCell}s of a game. The cells of a game share one 
+ * instance and report every change of their value, so the counts are always up to date and can be read 
+ * in constant time.
+ */
+class GameCellCounter {
+	
+	private int cellCount = 0;
+	private int setCellCount = 0;
+	private int incorrectCellCount = 0;
+	
+	/**
+	 * Adds a cell with the given state to the counts.
+	 *
+	 * @param set <code>true</code> if the cell is set
+	 * @param incorrect <code>true</code> if the cell holds a value differing from its solution
+	 */
+	void addCell(boolean set, boolean incorrect) {
+		this.cellCount++;
+		this.onCellChanged(false, false, set, incorrect);
+	}
+	
+	/**
+	 * Updates the counts after the state of a cell changed.
+	 *
+	 * @param wasSet <code>true</code> if the cell was set before
+	 * @param wasIncorrect <code>true</code> if the cell held an incorrect value before
+	 * @param set <code>true</code> if the cell is set now
+	 * @param incorrect <code>true</code> if the cell holds an incorrect value now
+	 */
+	void onCellChanged(boolean wasSet, boolean wasIncorrect, boolean set, boolean incorrect) {
+		if (wasSet != set) {
+			this.setCellCount += set ? 1 : -1;
+		}
+		if (wasIncorrect != incorrect) {
+			this.incorrectCellCount += incorrect ? 1 : -1;
+		}
+	}
+	
+	/**
+	 * Gets the number of counted cells.
+	 *
+	 * @return the number of counted cells
+	 */
+	int getCellCount() {
+		return this.cellCount;
+	}
+	
+	/**
+	 * Gets the number of set cells, including the initial ones.
+	 *
+	 * @return the number of set cells
+	 */
+	int getSetCellCount() {
+		return this.setCellCount;
+	}
+	
+	/**
+	 * Gets the number of cells holding a value differing from their solution.
+	 *
+	 * @return the number of incorrect cells
+	 */
+	int getIncorrectCellCount() {
+		return this.incorrectCellCount;
+	}
+	
+}
@@ -153,7 +153,7 @@ public class MultiplayerGame extends Game {
 				result = gameCell.attachToPlayer(involvedPlayer);
 				involvedPlayer.getScore().increment(POSITIVE_INCREMENT);
 				onChange(gameCell);
-				if (successfullySolved(this.sudoku)) {
+				if (successfullySolved()) {
 					player.onSuccessfullyFinish(this);
 				}
 			}
@@ -44,6 +44,8 @@
  ******************************************************************************/
 package org.sudowars.Model.Game;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.LinkedList;
@@ -55,6 +57,10 @@ import org.sudowars.Model.Sudoku.Field.DataCell;
 import org.sudowars.Model.Sudoku.Field.Field;
 import org.sudowars.Model.Sudoku.RuleManagement.DependencyGroup;
 import org.sudowars.Model.Sudoku.RuleManagement.DependencyManager;
+import org.sudowars.Model.Sudoku.RuleManagement.GroupOccupancy;
+import org.sudowars.Model.Sudoku.RuleManagement.RuleApplier.StandardRulesetFactory;
+import org.sudowars.Model.SudokuUtil.HintEngine;
+import org.sudowars.Model.SudokuUtil.SolvePath;
 
 /**
  * This class represents a single player game.
@@ -65,6 +71,10 @@ public class SingleplayerGame extends Game {
 	private static final int PLAYER_COUNT = 1;
 	
 	private final List<GameCell> cellsContainingInvalidValues; 
+	
+	transient private HintEngine hintEngine;
+	transient private ConflictTracker conflictTracker;
+	
 	/**
 	 * Initializes a new instance of the {@link SingleplayerGame} class with a given sudoku.
 	 *
@@ -89,11 +99,64 @@ public class SingleplayerGame extends Game {
 		return new PlayerSlot();
 	}
 	
+	/**
+	 * Gets the {@link HintEngine} of the game. The engine is created on the first call and computes hints 
+	 * in the background from then on.
+	 * @return Reference to the {@link HintEngine} of the game.
+	 */
+	public HintEngine getHintEngine() {
+		return this.getHintEngine(null);
+	}
+	
+	/**
+	 * Gets the {@link HintEngine} of the game. The engine is created on the first call and computes hints 
+	 * in the background from then on.
+	 * @param solvePath The {@link SolvePath} of the game computed before, or <code>null</code> if it is not known.
+	 * 				The path is only used if the engine is created by this call.
+	 * @return Reference to the {@link HintEngine} of the game.
+	 */
+	public synchronized HintEngine getHintEngine(SolvePath solvePath) {
+		if (this.hintEngine == null) {
+			this.hintEngine = new HintEngine(this, solvePath);
+		}
+		return this.hintEngine;
+	}
+	
+	/**
+	 * Shuts the {@link HintEngine} of the game down if it was created, its background solver is stopped. 
+	 * A later call of {@link SingleplayerGame#getHintEngine()} creates a new engine.
+	 */
+	public synchronized void shutdownHintEngine() {
+		if (this.hintEngine != null) {
+			this.hintEngine.shutdown();
+			this.hintEngine = null;
+		}
+	}
+	
+	/**
+	 * Gets the {@link ConflictTracker} of the game. The tracker is created on the first call and takes over 
+	 * the cells flagged so far.
+	 * @return Reference to the {@link ConflictTracker}, or <code>null</code> if the sudoku does not use a standard ruleset.
+	 */
+	private ConflictTracker getConflictTracker() {
+		if (this.conflictTracker == null 
+				&& StandardRulesetFactory.getInstance().isStandardRuleset(this.sudoku.getDependencyManager())
+				&& this.sudoku.getField().getStructure().getWidth() <= GroupOccupancy.MAX_VALUE) {
+			this.conflictTracker = new ConflictTracker(this.sudoku, this.cellsContainingInvalidValues);
+		}
+		return this.conflictTracker;
+	}
+	
 	/**
 	 * Gets all GameCells which contain an invalid value, i.e. a value to be contrary to the dependency groups of the cell.
-	 * @return An {@link Iterable} containing cells with invalid values.
+	 * @return An {@link Iterable} containing cells with invalid values. For standard rulesets this is a read-only snapshot, 
+	 * 			which is not changed by later moves.
 	 */
 	public Iterable<GameCell> getCellsContainingInvalidValues() {
+		ConflictTracker tracker = this.getConflictTracker();
+		if (tracker != null) {
+			return tracker.getFlaggedCells();
+		}
 		return this.cellsContainingInvalidValues;
 	}
 	
@@ -129,10 +192,16 @@ public class SingleplayerGame extends Game {
 			if (result) {
 				//check if value if invalid, i.e. breaks a rule of one of the cell's dependency groups
 				//if so, store that cell but set the value at any case
-				updateInvalidCellList(value, gameCell);
+				ConflictTracker tracker = this.getConflictTracker();
+				if (tracker == null) {
+					updateInvalidCellList(value, gameCell);
+				}
 				gameCell.setValue(value, timestamp);
+				if (tracker != null) {
+					tracker.onValueSet(gameCell, value);
+				}
 				onChange(gameCell);
-				if (successfullySolved(this.sudoku)) {
+				if (successfullySolved()) {
 					player.onSuccessfullyFinish(this);
 				}
 			}
@@ -180,7 +249,12 @@ public class SingleplayerGame extends Game {
 				int oldValue = gameCell.getValue();
 				gameCell.removeValue();
 				gameCell.detachFromPlayer();
-				fixUpInvalidCellList(gameCell, oldValue);
+				ConflictTracker tracker = this.getConflictTracker();
+				if (tracker != null) {
+					tracker.onValueRemoved(gameCell, oldValue);
+				} else {
+					fixUpInvalidCellList(gameCell, oldValue);
+				}
 				
 				result = true;
 				onChange(gameCell);
@@ -250,9 +324,20 @@ public class SingleplayerGame extends Game {
 				//expose all cells first, but do not disperse points for that
 				exposeAllCells(this.sudoku, playerSlot, timestamp);
 				this.cellsContainingInvalidValues.clear();
+				//the exposed cells bypass the tracker, so it is rebuilt when needed
+				this.conflictTracker = null;
 				onChange(null);
 				playerSlot.onGameAborted(this);
 			}
 		}
 	}
+	
+	private void writeObject(ObjectOutputStream out) throws IOException {
+		//the tracker holds the current flags, the list only persists them
+		if (this.conflictTracker != null) {
+			this.cellsContainingInvalidValues.clear();
+			this.cellsContainingInvalidValues.addAll(this.conflictTracker.getFlaggedCells());
+		}
+		out.defaultWriteObject();
+	}
 }
@@ -47,6 +47,7 @@ package org.sudowars.Model.Solver;
 import java.util.LinkedList;
 
 import org.sudowars.DebugHelper;
+import org.sudowars.Model.Sudoku.Field.CompactField;
 import org.sudowars.Model.Sudoku.Field.DataCell;
 import org.sudowars.Model.Sudoku.Field.Field;
 import org.sudowars.Model.Sudoku.RuleManagement.DependencyManager;
@@ -61,6 +62,9 @@ public class BacktrackingSolver extends StrategyExecutor implements Solver {
 	private static final long serialVersionUID = 8829931849869387289L;
 	
 	private StrategyExecutor.ExecuteResult result;
+	
+	//exact cover solver used to count the solutions of standard sudokus
+	private final DancingLinksSolver exactCoverSolver = new DancingLinksSolver();
 
 	/**
 	 * Initialises the used strategies and adds them to the list by there priority.
@@ -75,12 +79,12 @@ public class BacktrackingSolver extends StrategyExecutor implements Solver {
 		this.solveStrategies.add(new LockedCandidateStrategy(6));
 		this.solveStrategies.add(new NakedNCliqueStrategy(8));
 		this.solveStrategies.add(new HiddenNCliqueStrategy(15));
-		
-		//Tests showed that the n-Fish-strategy works and reduces the lists
-		//of candidates but it did not increase the performance of the solver.
-		//In many situations the additional work to check all possible n-Fishs
-		//result in a longer runtime than without the strategy.
-		//this.solveStrategies.add(new NFishStrategy(20));
+		//the following strategies save backtracking steps, they have no weight since the difficulty 
+		//is rated by the strategies of the RatingSolver
+		this.solveStrategies.add(new NFishStrategy());
+		this.solveStrategies.add(new XYWingStrategy());
+		this.solveStrategies.add(new SimpleColouringStrategy());
+		this.solveStrategies.add(new XYChainStrategy());
 		
 	}
 	
@@ -94,10 +98,9 @@ public class BacktrackingSolver extends StrategyExecutor implements Solver {
 	@Override
 	protected boolean saveCell(SolverState currentState, int solvedCellIndex, int solution){
 		//set value in the current state
-		DataCell solvedCell = (DataCell) currentState.getField().getCell(solvedCellIndex);
-		solvedCell.setValue(solution);
+		currentState.setCellValue(solvedCellIndex, solution);
 		//remove notes
-		currentState.getNoteManager().removeAllNotes(solvedCell);
+		currentState.getCandidates().removeAllCandidates(solvedCellIndex);
 		return true;
 	}
 	
@@ -107,13 +110,36 @@ public class BacktrackingSolver extends StrategyExecutor implements Solver {
 	 * @param initialField The initial field to solve
 	 * @param dependencyManager The dependency manager of the field
 	 *
-	 * @return the fully filled solution-{@link Field}, <code>null</code> if given field is not solvable
+	 * @return the fully filled solution-{@link Field}, <code>null</code> if given field is not solvable or the 
+	 * 				solving process was stopped by its context, see {@link BacktrackingSolver#getResult()}
 	 *
 	 * @throws IllegalArgumentException if no field or no dependencyManager was given
 	 */
 	public Field<DataCell> solve(Field<DataCell> initialField, DependencyManager dependencyManager) throws IllegalArgumentException {
+		
+		if (initialField == null) {
+			throw new IllegalArgumentException("given initialfield cannot be null.");
+		}
+		
+		CompactField solutionField = this.solve(new CompactField(initialField), dependencyManager);
+		return (solutionField != null) ? solutionField.toField() : null;
+		
+	}
+	
+	/**
+	 * Solves a {@link CompactField} and returns the fully filled solution. The given field is not changed.
+	 *
+	 * @param initialField The initial field to solve
+	 * @param dependencyManager The dependency manager of the field
+	 *
+	 * @return the fully filled solution, <code>null</code> if given field is not solvable or the 
+	 * 				solving process was stopped by its context, see {@link BacktrackingSolver#getResult()}
+	 *
+	 * @throws IllegalArgumentException if no field or no dependencyManager was given
+	 */
+	public CompactField solve(CompactField initialField, DependencyManager dependencyManager) throws IllegalArgumentException {
 				
-		DebugHelper.log(DebugHelper.PackageName.Solver, "*** solving process startet ***");
+		if (DebugHelper.ENABLED) DebugHelper.log(DebugHelper.PackageName.Solver, "*** solving process startet ***");
 		
 		if (initialField == null) {
 			throw new IllegalArgumentException("given initialfield cannot be null.");
@@ -123,44 +149,116 @@ public class BacktrackingSolver extends StrategyExecutor implements Solver {
 			throw new IllegalArgumentException("given DependencyManager cannot be null.");
 		}
 		
-		//initiate solver state
-		SolverState currentState = new SolverState(initialField.clone().convert(), dependencyManager);
-				
-		//initiate solution field
-		Field<DataCell> solutionField = initialField.clone();
+		//initiate solver state, the state works on a copy of the field which becomes the solution
+		SolverState currentState = new SolverState(initialField, dependencyManager);
 		
 		//clear used strategies to save all strategies necessary to solve the next cells 
 		//from the current state
 		this.usedStrategies.clear();
 		
 		//solve the given field
-		if (!currentState.getField().isFilled()) {
+		if (!currentState.getCompactField().isFilled()) {
 			
 			//execute strategies to solve the field
 			result = this.executeStrategies(currentState, false);
-			DebugHelper.log(DebugHelper.PackageName.Solver, "*** solving process finished : " + result.toString() + " ***");
+			if (DebugHelper.ENABLED) DebugHelper.log(DebugHelper.PackageName.Solver, "*** solving process finished : %s ***", result);
 			
-			//save result
-			if (result == StrategyExecutor.ExecuteResult.UNIQUESOLUTION) {
-				
-				//fill all empty cells of the solution field with the solved field of the current state
-				for (DataCell cell : solutionField.getCells()) {
-					if (!cell.isSet()) {
-						int cellValue = currentState.getField().getCell(cell.getIndex()).getValue();
-						cell.setValue(cellValue);
-					}
-				}
-				
-			} else {
-				
-				//field could not be solved
-				solutionField = null;
-				
+			//field could not be solved
+			if (result != StrategyExecutor.ExecuteResult.UNIQUESOLUTION) {
+				return null;
 			}
 			
+		} else {
+			
+			//nothing left to solve
+			result = StrategyExecutor.ExecuteResult.UNIQUESOLUTION;
+			
+		}
+		
+		return currentState.getCompactField();
+		
+	}
+	
+	/**
+	 * Returns the result of the last solving process started by {@link BacktrackingSolver#solve(Field, DependencyManager)}.
+	 * @return the result of the last solving process, <code>null</code> if no field was solved yet
+	 */
+	public StrategyExecutor.ExecuteResult getResult() {
+		return this.result;
+	}
+	
+	/**
+	 * Counts the solutions of a {@link Field} of {@link DataCell}s without returning them. Standard sudokus
+	 * are counted by a {@link DancingLinksSolver}, which stops as soon as the limit is reached. For other
+	 * rulesets the strategies are executed in an adaptive order, so at most 2 solutions can be distinguished 
+	 * and the used strategies are overwritten.
+	 *
+	 * @param initialField The initial field to solve
+	 * @param dependencyManager The dependency manager of the field
+	 * @param limit The maximum number of solutions to count
+	 *
+	 * @return the number of solutions, but at most the given limit
+	 *
+	 * @throws IllegalArgumentException if no field or no dependencyManager was given or limit is smaller than 1
+	 * @throws SolveCancelledException if the context of the solver was cancelled or its deadline passed
+	 */
+	public int countSolutions(Field<DataCell> initialField, DependencyManager dependencyManager, int limit) throws IllegalArgumentException, SolveCancelledException {
+		
+		if (initialField == null) {
+			throw new IllegalArgumentException("given initialfield cannot be null.");
 		}
 		
-		return solutionField;
+		return this.countSolutions(new CompactField(initialField), dependencyManager, limit);
+		
+	}
+	
+	/**
+	 * Counts the solutions of a {@link CompactField} without returning them, like 
+	 * {@link BacktrackingSolver#countSolutions(Field, DependencyManager, int)}.
+	 *
+	 * @param initialField The initial field to solve
+	 * @param dependencyManager The dependency manager of the field
+	 * @param limit The maximum number of solutions to count
+	 *
+	 * @return the number of solutions, but at most the given limit
+	 *
+	 * @throws IllegalArgumentException if no field or no dependencyManager was given or limit is smaller than 1
+	 * @throws SolveCancelledException if the context of the solver was cancelled or its deadline passed
+	 */
+	public int countSolutions(CompactField initialField, DependencyManager dependencyManager, int limit) throws IllegalArgumentException, SolveCancelledException {
+		
+		if (initialField == null) {
+			throw new IllegalArgumentException("given initialfield cannot be null.");
+		}
+		
+		if (dependencyManager == null) {
+			throw new IllegalArgumentException("given DependencyManager cannot be null.");
+		}
+		
+		if (limit < 1) {
+			throw new IllegalArgumentException("limit has to be at least 1.");
+		}
+		
+		if (DancingLinksSolver.isSupported(initialField, dependencyManager)) {
+			this.exactCoverSolver.setSolveContext(this.getSolveContext());
+			return this.exactCoverSolver.countSolutions(initialField, dependencyManager, limit);
+		}
+		
+		//the strategies can only distinguish between no, one and multiple solutions, the used strategies
+		//are not needed, so the strategies may be executed in an adaptive order
+		boolean adaptive = this.isAdaptiveScheduling();
+		this.setAdaptiveScheduling(true);
+		try {
+			if (this.solve(initialField, dependencyManager) != null) {
+				return 1;
+			}
+		} finally {
+			this.setAdaptiveScheduling(adaptive);
+		}
+		if (this.result == StrategyExecutor.ExecuteResult.TIMEDOUT) {
+			throw new SolveCancelledException(this.getSolveContext().isTimedOut());
+		}
+		return this.result == StrategyExecutor.ExecuteResult.MULTIPLESOLUTION ? Math.min(2, limit) : 0;
 		
 	}
 	
@@ -0,0 +1,307 @@
+/*******************************************************************************
+ * Copyright (c) 2011 - 2012 Adrian Vielsack, Christof Urbaczek, Florian Rosenthal, Michael Hoff, Moritz Lüdecke, Philip Flohr.
+ * 
+ * This file is part of Sudowars.
+ * 
+ * Sudowars is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Sudowars is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Sudowars.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * 
+ * 
+ * Diese Datei ist Teil von Sudowars.
+ * 
+ * Sudowars ist Freie Software: Sie können es unter den Bedingungen
+ * der GNU General Public License, wie von der Free Software Foundation,
+ * Version 3 der Lizenz oder (nach Ihrer Option) jeder späteren
+ * veröffentlichten Version, weiterverbreiten und/oder modifizieren.
+ * 
+ * Sudowars wird in der Hoffnung, dass es nützlich sein wird, aber
+ * OHNE JEDE GEWÄHELEISTUNG, bereitgestellt; sogar ohne die implizite
+ * Gewährleistung der MARKTFÄHIGKEIT oder EIGNUNG FÜR EINEN BESTIMMTEN ZWECK.
+ * Siehe die GNU General Public License für weitere Details.
+ * 
+ * Sie sollten eine Kopie der GNU General Public License zusammen mit diesem
+ * Programm erhalten haben. Wenn nicht, siehe <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ * initial API and implementation:
+ * Adrian Vielsack
+ * Christof Urbaczek
+ * Florian Rosenthal
+ * Michael Hoff
+ * Moritz Lüdecke
+ * Philip Flohr 
+ ******************************************************************************/
+package org.sudowars.Model.Solver;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+
+import org.sudowars.Model.Difficulty.DifficultyEvaluator;
+import org.sudowars.Model.Sudoku.Field.DataCell;
+import org.sudowars.Model.Sudoku.Field.Field;
+import org.sudowars.Model.Sudoku.RuleManagement.DependencyManager;
+
+/**
+ * This class solves many {@link Field}s sharing the same {@link DependencyManager} concurrently. 
+ * <br>
+ * The fields are solved by {@link RatingSolver}s on the given {@link Executor}, every thread of the
+ * executor uses its own solver. The used strategies of a field rate its difficulty like the generator does. The results are returned in the order the fields were solved. At most 
+ * {@link BatchSolver#getMaxPendingFields()} fields are submitted at a time, so the fields can be created 
+ * lazily while the results are read.
+ */
+public class BatchSolver {
+	
+	private final Executor executor;
+	private final DependencyManager dependencyManager;
+	private final int maxPendingFields;
+	
+	//every thread uses its own solver, because a solver keeps the state of its last solving process
+	private final ThreadLocal<RatingSolver> solvers = new ThreadLocal<RatingSolver>() {
+		@Override
+		protected RatingSolver initialValue() {
+			return new RatingSolver();
+		}
+	};
+	
+	/**
+	 * The result of a single field solved by a {@link BatchSolver}.
+	 */
+	public static final class Result {
+		
+		private final int position;
+		private final Field<DataCell> field;
+		private final StrategyExecutor.ExecuteResult status;
+		private final Field<DataCell> solution;
+		private final List<SolverStrategy> usedStrategies;
+		
+		private Result(int position, Field<DataCell> field, StrategyExecutor.ExecuteResult status, 
+				Field<DataCell> solution, List<SolverStrategy> usedStrategies) {
+			this.position = position;
+			this.field = field;
+			this.status = status;
+			this.solution = solution;
+			this.usedStrategies = usedStrategies;
+		}
+		
+		/**
+		 * Returns the position of the field within the solved fields.
+		 * @return the position of the field, starting with <code>zero</code>
+		 */
+		public int getPosition() {
+			return this.position;
+		}
+		
+		/**
+		 * Returns the solved field.
+		 * @return the field as it was given to the {@link BatchSolver}
+		 */
+		public Field<DataCell> getField() {
+			return this.field;
+		}
+		
+		/**
+		 * Returns if the field has no, one or multiple solutions.
+		 * @return the result of the solving process
+		 */
+		public StrategyExecutor.ExecuteResult getStatus() {
+			return this.status;
+		}
+		
+		/**
+		 * Returns the solution of the field.
+		 * @return the solution, <code>null</code> if the field has no unique solution
+		 */
+		public Field<DataCell> getSolution() {
+			return this.solution;
+		}
+		
+		/**
+		 * Returns the strategies used to solve the field, e.g. to evaluate its difficulty with a {@link DifficultyEvaluator}.
+		 * @return the list of used {@link SolverStrategy}
+		 */
+		public List<SolverStrategy> getUsedStrategies() {
+			return this.usedStrategies;
+		}
+		
+	}
+	
+	/**
+	 * Initialises a new instance of the {@link BatchSolver} class.
+	 * @param executor the executor to solve the fields, should use a bounded number of threads
+	 * @param dependencyManager the dependency manager shared by all fields
+	 * @param maxPendingFields the maximum number of fields submitted to the executor at a time
+	 * @throws IllegalArgumentException if no executor or no dependency manager was given or maxPendingFields is smaller than 1
+	 */
+	public BatchSolver(Executor executor, DependencyManager dependencyManager, int maxPendingFields) throws IllegalArgumentException {
+		
+		if (executor == null) {
+			throw new IllegalArgumentException("given Executor cannot be null.");
+		}
+		
+		if (dependencyManager == null) {
+			throw new IllegalArgumentException("given DependencyManager cannot be null.");
+		}
+		
+		if (maxPendingFields < 1) {
+			throw new IllegalArgumentException("maxPendingFields has to be at least 1.");
+		}
+		
+		this.executor = executor;
+		this.dependencyManager = dependencyManager;
+		this.maxPendingFields = maxPendingFields;
+		
+	}
+	
+	/**
+	 * Returns the maximum number of fields submitted to the executor at a time.
+	 * @return the maximum number of pending fields
+	 */
+	public int getMaxPendingFields() {
+		return this.maxPendingFields;
+	}
+	
+	/**
+	 * Solves the given fields. The fields are taken from the given {@link Iterable} while the results are 
+	 * read, the returned {@link Iterator} blocks until the next field is solved.
+	 * @param fields the fields to solve
+	 * @return the results in the order the fields were solved
+	 * @throws IllegalArgumentException if no fields were given
+	 */
+	public Iterator<Result> solve(Iterable<Field<DataCell>> fields) throws IllegalArgumentException {
+		
+		if (fields == null) {
+			throw new IllegalArgumentException("given fields cannot be null.");
+		}
+		
+		return new ResultIterator(fields.iterator());
+		
+	}
+	
+	/**
+	 * Solves the given fields and waits until all of them are solved.
+	 * @param fields the fields to solve
+	 * @return the results in the order the fields were solved
+	 * @throws IllegalArgumentException if no fields were given
+	 */
+	public List<Result> solveAll(Iterable<Field<DataCell>> fields) throws IllegalArgumentException {
+		
+		List<Result> results = new ArrayList<Result>();
+		Iterator<Result> iterator = this.solve(fields);
+		while (iterator.hasNext()) {
+			results.add(iterator.next());
+		}
+		
+		return results;
+		
+	}
+	
+	/**
+	 * Solves a single field with the solver of the current thread.
+	 * @param position the position of the field
+	 * @param field the field to solve
+	 * @return the result of the field
+	 */
+	private Result solveField(int position, Field<DataCell> field) {
+		
+		RatingSolver solver = this.solvers.get();
+		Field<DataCell> solution = solver.solve(field, this.dependencyManager);
+		
+		return new Result(position, field, solver.getResult(), solution, new ArrayList<SolverStrategy>(solver.getUsedStrategies()));
+		
+	}
+	
+	/**
+	 * Submits the fields to the executor and returns their results as soon as they are solved.
+	 */
+	private final class ResultIterator implements Iterator<Result> {
+		
+		private final Iterator<Field<DataCell>> fields;
+		private final CompletionService<Result> completionService;
+		private int submittedFields;
+		private int pendingFields;
+		
+		private ResultIterator(Iterator<Field<DataCell>> fields) {
+			this.fields = fields;
+			this.completionService = new ExecutorCompletionService<Result>(BatchSolver.this.executor);
+			this.submitFields();
+		}
+		
+		/**
+		 * Submits fields until the maximum number of pending fields is reached.
+		 */
+		private void submitFields() {
+			
+			while (this.pendingFields < BatchSolver.this.maxPendingFields && this.fields.hasNext()) {
+				
+				final int position = this.submittedFields;
+				final Field<DataCell> field = this.fields.next();
+				if (field == null) {
+					throw new IllegalArgumentException("given fields cannot contain null.");
+				}
+				
+				this.completionService.submit(new Callable<Result>() {
+					public Result call() {
+						return BatchSolver.this.solveField(position, field);
+					}
+				});
+				this.submittedFields++;
+				this.pendingFields++;
+				
+			}
+			
+		}
+		
+		public boolean hasNext() {
+			return this.pendingFields > 0;
+		}
+		
+		public Result next() throws NoSuchElementException, IllegalStateException {
+			
+			if (!this.hasNext()) {
+				throw new NoSuchElementException("all fields are solved.");
+			}
+			
+			Result result;
+			try {
+				result = this.completionService.take().get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("interrupted while waiting for the next result.", e);
+			} catch (ExecutionException e) {
+				this.pendingFields--;
+				throw new IllegalStateException("solving a field failed.", e.getCause());
+			}
+			this.pendingFields--;
+			
+			//replace the solved field by the next one
+			this.submitFields();
+			
+			return result;
+			
+		}
+		
+		public void remove() throws UnsupportedOperationException {
+			throw new UnsupportedOperationException("results cannot be removed.");
+		}
+		
+	}
+	
+}
@@ -0,0 +1,513 @@
+/*******************************************************************************
+ * Copyright (c) 2011 - 2012 Adrian Vielsack, Christof Urbaczek, Florian Rosenthal, Michael Hoff, Moritz Lüdecke, Philip Flohr.
+ * 
+ * This file is part of Sudowars.
+ * 
+ * Sudowars is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Sudowars is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Sudowars.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * 
+ * 
+ * Diese Datei ist Teil von Sudowars.
+ * 
+ * Sudowars ist Freie Software: Sie können es unter den Bedingungen
+ * der GNU General Public License, wie von der Free Software Foundation,
+ * Version 3 der Lizenz oder (nach Ihrer Option) jeder späteren
+ * veröffentlichten Version, weiterverbreiten und/oder modifizieren.
+ * 
+ * Sudowars wird in der Hoffnung, dass es nützlich sein wird, aber
+ * OHNE JEDE GEWÄHELEISTUNG, bereitgestellt; sogar ohne die implizite
+ * Gewährleistung der MARKTFÄHIGKEIT oder EIGNUNG FÜR EINEN BESTIMMTEN ZWECK.
+ * Siehe die GNU General Public License für weitere Details.
+ * 
+ * Sie sollten eine Kopie der GNU General Public License zusammen mit diesem
+ * Programm erhalten haben. Wenn nicht, siehe <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ * initial API and implementation:
+ * Adrian Vielsack
+ * Christof Urbaczek
+ * Florian Rosenthal
+ * Michael Hoff
+ * Moritz Lüdecke
+ * Philip Flohr 
+ ******************************************************************************/
+package org.sudowars.Model.Solver;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.sudowars.Model.Sudoku.Field.Cell;
+import org.sudowars.Model.Sudoku.Field.Field;
+import org.sudowars.Model.SudokuUtil.ZobristKeys;
+
+/**
+ * This class stores the candidates of all {@link Cell}s of a {@link Field} as bitmasks. Every cell index 
+ * owns one <code>long</code> mask in which bit <code>value - 1</code> is set if the value is a candidate 
+ * of the cell, so the grid supports values from <code>1</code> to {@link CandidateGrid#MAX_VALUE}.
+ * <br>
+ * While a mark is open all changes are recorded in a trail, so they can be rolled back in O(changes).
+ * <br>
+ * The grid also stamps every cell with the modification count of its last change, so users can find out
+ * which cells changed since a given moment. Changes which add candidates start a new epoch instead, after
+ * which all cells have to be regarded as changed.
+ * <br>
+ * A Zobrist hash of all candidates is updated with every change, so grids can be hashed and told apart in O(1).
+ * @see CandidateGrid#mark()
+ * @see ZobristKeys
+ */
+public class CandidateGrid implements Serializable, Cloneable {
+
+	private static final long serialVersionUID = 3218815527024946231L;
+	
+	/**
+	 * The highest candidate value a mask can hold.
+	 */
+	public static final int MAX_VALUE = 64;
+	
+	private final long[] masks;
+	
+	//trail of the changed cells and their previous masks, only recorded while a mark is open
+	transient private int[] trailIndices;
+	transient private long[] trailMasks;
+	transient private int trailSize;
+	transient private int openMarks;
+	
+	//modification stamps of the cells
+	transient private int[] changeStamps;
+	transient private int modificationCount;
+	transient private int epoch;
+	
+	//number of candidates removed so far, used by the solver statistics
+	transient private long removedCandidateCount;
+	
+	//Zobrist hash of all candidates
+	transient private long zobristHash;
+	
+	/**
+	 * Initialises a new instance of the {@link CandidateGrid} class without any candidates.
+	 * @param cellCount the number of cells of the field
+	 * @throws IllegalArgumentException if the given cell count is smaller than zero
+	 */
+	public CandidateGrid(int cellCount) throws IllegalArgumentException {
+		
+		if (cellCount < 0) {
+			throw new IllegalArgumentException("given cell count cannot be smaller than zero.");
+		}
+		
+		this.masks = new long[cellCount];
+		
+	}
+	
+	/**
+	 * Initialises a new instance of the {@link CandidateGrid} class holding the given masks.
+	 * @param masks the masks to take over
+	 */
+	private CandidateGrid(long[] masks) {
+		this.masks = masks;
+		this.computeHash();
+	}
+	
+	/**
+	 * Returns the bit which represents the given value within a mask.
+	 * @param value the value
+	 * @return the bit which represents the value
+	 * @throws IllegalArgumentException if the value is not between <code>1</code> and {@link CandidateGrid#MAX_VALUE}
+	 */
+	public static long getValueBit(int value) throws IllegalArgumentException {
+		
+		if (value <= 0 || value > MAX_VALUE) {
+			throw new IllegalArgumentException("value has to be between 1 and " + MAX_VALUE + ".");
+		}
+		
+		return 1L << (value - 1);
+		
+	}
+	
+	/**
+	 * Returns the mask holding all values from <code>1</code> to the given value.
+	 * @param maxValue the highest value of the mask
+	 * @return mask holding all values from <code>1</code> to the given value
+	 */
+	public static long getFullMask(int maxValue) {
+		return (maxValue >= MAX_VALUE) ? -1L : (1L << maxValue) - 1;
+	}
+	
+	/**
+	 * Returns the number of values held by the given mask.
+	 * @param mask the mask
+	 * @return the number of values held by the mask
+	 */
+	public static int bitCount(long mask) {
+		return Long.bitCount(mask);
+	}
+	
+	/**
+	 * Returns the lowest value held by the given mask.
+	 * @param mask the mask
+	 * @return the lowest value of the mask, <code>zero</code> if the mask is empty
+	 */
+	public static int getLowestValue(long mask) {
+		return (mask == 0) ? 0 : Long.numberOfTrailingZeros(mask) + 1;
+	}
+	
+	/**
+	 * Returns the given mask without its lowest value.
+	 * @param mask the mask
+	 * @return the mask without its lowest value
+	 */
+	public static long removeLowestValue(long mask) {
+		return mask & (mask - 1);
+	}
+	
+	/**
+	 * Returns the values of the given mask as an ascending list.
+	 * @param mask the mask
+	 * @return READ-ONLY list of the values held by the mask
+	 */
+	public static List<Integer> toList(long mask) {
+		
+		List<Integer> result = new ArrayList<Integer>(bitCount(mask));
+		for (long rest = mask; rest != 0; rest = removeLowestValue(rest)) {
+			result.add(getLowestValue(rest));
+		}
+		
+		return Collections.unmodifiableList(result);
+		
+	}
+	
+	/**
+	 * Returns the number of cells the grid holds candidates for.
+	 * @return the number of cells
+	 */
+	public int getCellCount() {
+		return this.masks.length;
+	}
+	
+	/**
+	 * Returns the candidate mask of a cell.
+	 * @param index index of the cell
+	 * @return the candidate mask of the cell
+	 */
+	public long getMask(int index) {
+		return this.masks[index];
+	}
+	
+	/**
+	 * Replaces the candidate mask of a cell.
+	 * @param index index of the cell
+	 * @param mask the new candidate mask
+	 * @return <code>true</code> if the candidates of the cell were changed, <code>false</code> otherwise
+	 */
+	public boolean setMask(int index, long mask) {
+		
+		if (this.masks[index] == mask) return false;
+		if (this.openMarks > 0) this.record(index);
+		if ((mask & ~this.masks[index]) != 0) this.epoch++;
+		this.removedCandidateCount += bitCount(this.masks[index] & ~mask);
+		this.zobristHash ^= ZobristKeys.getNoteMaskKey(index, this.masks[index] ^ mask);
+		this.masks[index] = mask;
+		this.touch(index);
+		return true;
+		
+	}
+	
+	/**
+	 * Indicates whether the given value is a candidate of a cell.
+	 * @param index index of the cell
+	 * @param value the value
+	 * @return <code>true</code> if the value is a candidate of the cell, <code>false</code> otherwise
+	 */
+	public boolean hasCandidate(int index, int value) {
+		return (this.masks[index] & getValueBit(value)) != 0;
+	}
+	
+	/**
+	 * Indicates whether a cell has at least one candidate.
+	 * @param index index of the cell
+	 * @return <code>true</code> if the cell has candidates, <code>false</code> otherwise
+	 */
+	public boolean hasCandidates(int index) {
+		return this.masks[index] != 0;
+	}
+	
+	/**
+	 * Adds the given value to the candidates of a cell.
+	 * @param index index of the cell
+	 * @param value the value to add
+	 * @return <code>true</code> if the value was added, <code>false</code> if it already was a candidate
+	 */
+	public boolean addCandidate(int index, int value) {
+		return this.setMask(index, this.masks[index] | getValueBit(value));
+	}
+	
+	/**
+	 * Removes the given value from the candidates of a cell.
+	 * @param index index of the cell
+	 * @param value the value to remove
+	 * @return <code>true</code> if the value was removed, <code>false</code> if it was no candidate
+	 */
+	public boolean removeCandidate(int index, int value) {
+		return this.setMask(index, this.masks[index] & ~getValueBit(value));
+	}
+	
+	/**
+	 * Removes all candidates of a cell.
+	 * @param index index of the cell
+	 * @return <code>true</code> if candidates were removed, <code>false</code> if the cell had no candidates
+	 */
+	public boolean removeAllCandidates(int index) {
+		return this.setMask(index, 0L);
+	}
+	
+	/**
+	 * Returns the number of candidates of a cell.
+	 * @param index index of the cell
+	 * @return the number of candidates of the cell
+	 */
+	public int getCandidateCount(int index) {
+		return bitCount(this.masks[index]);
+	}
+	
+	/**
+	 * Returns the lowest candidate of a cell.
+	 * @param index index of the cell
+	 * @return the lowest candidate of the cell, <code>zero</code> if the cell has no candidates
+	 */
+	public int getLowestCandidate(int index) {
+		return getLowestValue(this.masks[index]);
+	}
+	
+	/**
+	 * Returns the candidates of a cell as an ascending list.
+	 * @param index index of the cell
+	 * @return READ-ONLY list of the candidates of the cell
+	 */
+	public List<Integer> getCandidates(int index) {
+		return toList(this.masks[index]);
+	}
+	
+	/**
+	 * Replaces all candidates by the candidates of the given grid.
+	 * @param source the grid to copy the candidates from
+	 * @throws IllegalArgumentException if the given grid is <code>null</code> or has another size
+	 */
+	public void copyFrom(CandidateGrid source) throws IllegalArgumentException {
+		
+		if (source == null || source.masks.length != this.masks.length) {
+			throw new IllegalArgumentException("given grid is null or has another size.");
+		}
+		
+		if (this.openMarks > 0) {
+			//changes have to be recorded for the open marks
+			for (int index = 0; index < this.masks.length; index++) {
+				this.setMask(index, source.masks[index]);
+			}
+		} else {
+			System.arraycopy(source.masks, 0, this.masks, 0, this.masks.length);
+			this.zobristHash = source.zobristHash;
+			this.touchAll();
+		}
+		
+	}
+	
+	/**
+	 * Opens a new mark. All following changes are recorded until the mark is rolled back or committed.
+	 * Marks can be nested and have to be closed in reverse order.
+	 * @return the mark, to pass to {@link CandidateGrid#rollback(int)} or {@link CandidateGrid#commit(int)}
+	 */
+	public int mark() {
+		this.openMarks++;
+		return this.trailSize;
+	}
+	
+	/**
+	 * Restores the candidates as they were when the given mark was opened and closes the mark.
+	 * @param mark the mark returned by {@link CandidateGrid#mark()}
+	 * @throws IllegalArgumentException if the given mark is not open
+	 */
+	public void rollback(int mark) throws IllegalArgumentException {
+		
+		this.checkMark(mark);
+		
+		if (this.trailSize > mark) {
+			//restoring candidates adds them again
+			this.epoch++;
+		}
+		while (this.trailSize > mark) {
+			this.trailSize--;
+			int index = this.trailIndices[this.trailSize];
+			this.zobristHash ^= ZobristKeys.getNoteMaskKey(index, this.masks[index] ^ this.trailMasks[this.trailSize]);
+			this.masks[index] = this.trailMasks[this.trailSize];
+			this.touch(index);
+		}
+		this.openMarks--;
+		
+	}
+	
+	/**
+	 * Closes the given mark and keeps all changes made since it was opened.
+	 * @param mark the mark returned by {@link CandidateGrid#mark()}
+	 * @throws IllegalArgumentException if the given mark is not open
+	 */
+	public void commit(int mark) throws IllegalArgumentException {
+		
+		this.checkMark(mark);
+		
+		//the changes are still needed by enclosing marks
+		this.openMarks--;
+		if (this.openMarks == 0) {
+			this.trailSize = 0;
+		}
+		
+	}
+	
+	/**
+	 * Marks a cell as changed without changing its candidates, e.g. because its value was set.
+	 * @param index index of the cell
+	 */
+	public void touch(int index) {
+		if (this.changeStamps == null) {
+			this.changeStamps = new int[this.masks.length];
+		}
+		this.changeStamps[index] = ++this.modificationCount;
+	}
+	
+	/**
+	 * Starts a new epoch, so all cells have to be regarded as changed.
+	 */
+	public void touchAll() {
+		this.epoch++;
+	}
+	
+	/**
+	 * Returns the number of changes made so far. The number only increases.
+	 * @return the number of changes made so far
+	 */
+	public int getModificationCount() {
+		return this.modificationCount;
+	}
+	
+	/**
+	 * Returns the number of candidates removed so far. The number only increases, candidates restored by 
+	 * {@link CandidateGrid#rollback(int)} are not subtracted.
+	 * @return the number of removed candidates
+	 */
+	public long getRemovedCandidateCount() {
+		return this.removedCandidateCount;
+	}
+	
+	/**
+	 * Returns the modification count of the last change of a cell.
+	 * @param index index of the cell
+	 * @return the modification count of the last change of the cell, <code>zero</code> if it never changed
+	 */
+	public int getChangeStamp(int index) {
+		return (this.changeStamps == null) ? 0 : this.changeStamps[index];
+	}
+	
+	/**
+	 * Returns the current epoch. A new epoch starts whenever candidates are added.
+	 * @return the current epoch
+	 */
+	public int getEpoch() {
+		return this.epoch;
+	}
+	
+	/**
+	 * Returns the Zobrist hash of all candidates. Grids holding the same candidates have the same hash.
+	 * @return the Zobrist hash of all candidates
+	 * @see ZobristKeys#getNoteKey(int, int)
+	 */
+	public long getZobristHash() {
+		return this.zobristHash;
+	}
+	
+	private void computeHash() {
+		
+		this.zobristHash = 0L;
+		for (int index = 0; index < this.masks.length; index++) {
+			this.zobristHash ^= ZobristKeys.getNoteMaskKey(index, this.masks[index]);
+		}
+		
+	}
+	
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		this.computeHash();
+	}
+	
+	private void checkMark(int mark) throws IllegalArgumentException {
+		if (this.openMarks == 0 || mark < 0 || mark > this.trailSize) {
+			throw new IllegalArgumentException("given mark is not open.");
+		}
+	}
+	
+	private void record(int index) {
+		
+		if (this.trailIndices == null) {
+			this.trailIndices = new int[Math.max(16, this.masks.length)];
+			this.trailMasks = new long[this.trailIndices.length];
+		} else if (this.trailSize == this.trailIndices.length) {
+			this.trailIndices = Arrays.copyOf(this.trailIndices, this.trailSize * 2);
+			this.trailMasks = Arrays.copyOf(this.trailMasks, this.trailSize * 2);
+		}
+		
+		this.trailIndices[this.trailSize] = index;
+		this.trailMasks[this.trailSize] = this.masks[index];
+		this.trailSize++;
+		
+	}
+	
+	/**
+	 * Returns a copy of the grid without open marks
+	 * @return a copy of the grid
+	 */
+	@Override
+	public CandidateGrid clone() {
+		return new CandidateGrid(this.masks.clone());
+	}
+	
+	/**
+	 * Returns the hash code of the grid.
+	 * @return the hash code of the grid
+	 */
+	@Override
+	public int hashCode() {
+		return ZobristKeys.toHashCode(this.zobristHash);
+	}
+	
+	/**
+	 * Compares this instance with the specified object and indicates if they are equal.
+	 * @param obj the object to compare this instance with.
+	 * @return <code>true</code> if the specified object is equal to this object, <code>false</code> otherwise.
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (!(obj instanceof CandidateGrid))
+			return false;
+		CandidateGrid other = (CandidateGrid) obj;
+		//different hashes cannot belong to equal grids, equal hashes have to be confirmed
+		if (this.zobristHash != other.zobristHash)
+			return false;
+		return Arrays.equals(this.masks, other.masks);
+	}
+	
+}
@@ -0,0 +1,205 @@
+/*******************************************************************************
+ * Copyright (c) 2011 - 2012 Adrian Vielsack, Christof Urbaczek, Florian Rosenthal, Michael Hoff, Moritz Lüdecke, Philip Flohr.
+ * 
+ * This file is part of Sudowars.
+ * 
+ * Sudowars is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Sudowars is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Sudowars.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * 
+ * 
+ * Diese Datei ist Teil von Sudowars.
+ * 
+ * Sudowars ist Freie Software: Sie können es unter den Bedingungen
+ * der GNU General Public License, wie von der Free Software Foundation,
+ * Version 3 der Lizenz oder (nach Ihrer Option) jeder späteren
+ * veröffentlichten Version, weiterverbreiten und/oder modifizieren.
+ * 
+ * Sudowars wird in der Hoffnung, dass es nützlich sein wird, aber
+ * OHNE JEDE GEWÄHELEISTUNG, bereitgestellt; sogar ohne die implizite
+ * Gewährleistung der MARKTFÄHIGKEIT oder EIGNUNG FÜR EINEN BESTIMMTEN ZWECK.
+ * Siehe die GNU General Public License für weitere Details.
+ * 
+ * Sie sollten eine Kopie der GNU General Public License zusammen mit diesem
+ * Programm erhalten haben. Wenn nicht, siehe <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ * initial API and implementation:
+ * Adrian Vielsack
+ * Christof Urbaczek
+ * Florian Rosenthal
+ * Michael Hoff
+ * Moritz Lüdecke
+ * Philip Flohr 
+ ******************************************************************************/
+package org.sudowars.Model.Solver;
+
+import java.util.List;
+
+import org.sudowars.Model.Sudoku.Field.Cell;
+import org.sudowars.Model.Sudoku.Field.DataCell;
+import org.sudowars.Model.SudokuUtil.NoteManager;
+
+/**
+ * This class provides a {@link NoteManager} view of a {@link CandidateGrid}. All changes made through the view
+ * are written to the grid, so code working with {@link NoteManager}s can be used on a {@link SolverState}.
+ * The view identifies {@link Cell}s by their index and does not fire change events.
+ */
+class CandidateNoteManager extends NoteManager {
+
+	private static final long serialVersionUID = -6029716339178870218L;
+	
+	private final CandidateGrid candidates;
+	
+	/**
+	 * Initialises a new instance of the {@link CandidateNoteManager} class.
+	 * @param candidates the grid holding the notes
+	 */
+	CandidateNoteManager(CandidateGrid candidates) {
+		super();
+		this.candidates = candidates;
+	}
+	
+	/**
+	 * Returns the grid holding the notes.
+	 * @return the grid holding the notes
+	 */
+	CandidateGrid getCandidates() {
+		return this.candidates;
+	}
+	
+	/**
+	 * Gets the notes attached to a given cell.
+	 *
+	 * @param c Reference to a {@link Cell}.
+	 *
+	 * @return A READ-ONLY list of notes attached to the given cell, or an empty list if cell doesn't contain any notes.
+	 *
+	 * @throws IllegalArgumentException if given cell is <code>null</code>
+	 */
+	@Override
+	public List<Integer> getNotes(Cell c) throws IllegalArgumentException {
+		if (c == null) {
+			throw new IllegalArgumentException("given cell cannot be null.");
+		}
+		return this.candidates.getCandidates(c.getIndex());
+	}
+	
+	/**
+	 * Adds a given value to a cell as a note.
+	 *
+	 * @param c Reference to a {@link Cell} to which to note shall be attached.
+	 * @param value The value of the note to be set.
+	 *
+	 * @return <code>true</code> if note was successfully attached, <code>false</code> if given cell already contained the given value
+	 *
+	 * @throws IllegalArgumentException if given cell was <code>null</code> or value <= {@link DataCell.NOT_SET}
+	 */
+	@Override
+	public boolean addNote(Cell c, int value) throws IllegalArgumentException {
+		if (c == null || value <= DataCell.NOT_SET) {
+			throw new IllegalArgumentException("cell was null or value invalid.");
+		}
+		return this.candidates.addCandidate(c.getIndex(), value);
+	}
+	
+	/**
+	 * Removes the note represented by the given value from the given cell.
+	 *
+	 * @param c Reference to a {@link Cell}.
+	 * @param value The value of the note to be removed.
+	 *
+	 * @return <code>true</code> if note was successfully removed, <code>false</code> if given cell did not contain the given value.
+	 * 
+	 * @throws IllegalArgumentException if given cell was <code>null</code> or value <= {@link DataCell.NOT_SET}
+	 */
+	@Override
+	public boolean removeNote(Cell c, int value) throws IllegalArgumentException {
+		if (c == null || value <= DataCell.NOT_SET) {
+			throw new IllegalArgumentException("cell was null or value invalid.");
+		}
+		return this.candidates.removeCandidate(c.getIndex(), value);
+	}
+	
+	/**
+	 * Removes all notes from the given cell.
+	 *
+	 * @param cell Reference to a {@link Cell}.
+	 * 
+	 * @return <code>true</code> if all notes were successfully removed, <code>false</code> if given cell did not contain any notes.
+	 *
+	 * @throws IllegalArgumentException if given cell was <code>null</code>
+	 */
+	@Override
+	public boolean removeAllNotes(Cell cell) throws IllegalArgumentException {
+		if (cell == null) {
+			throw new IllegalArgumentException("given cell cannot be null.");
+		}
+		return this.candidates.removeAllCandidates(cell.getIndex());
+	}
+	
+	/**
+	 * Indicates whether a note represented by the given value is attached to the given cell.
+	 *
+	 * @param c Reference to a {@link Cell}.
+	 * @param value The value of the note.
+	 *
+	 * @return <code>true</code> if given note is attached to the cell, otherwise <code>false</code>
+	 *
+	 * @throws IllegalArgumentException if given cell was <code>null</code> or value <= {@link DataCell.NOT_SET}
+	 */
+	@Override
+	public boolean hasNote(Cell c, int value) throws IllegalArgumentException {
+		if (c == null || value <= DataCell.NOT_SET) {
+			throw new IllegalArgumentException("cell was null or value invalid.");
+		}
+		return this.candidates.hasCandidate(c.getIndex(), value);
+	}
+	
+	/**
+	 * Indicates whether one or more notes are attached to the given cell.
+	 *
+	 * @param cell Reference to a {@link Cell}.
+	 * 
+	 * @return <code>true</code> if given cell contains notes, otherwise <code>false</code>
+	 *
+	 * @throws IllegalArgumentException if given cell was <code>null</code>
+	 */
+	@Override
+	public boolean hasNotes(Cell cell) throws IllegalArgumentException {
+		if (cell == null) {
+			throw new IllegalArgumentException("given cell was null.");
+		}
+		return this.candidates.hasCandidates(cell.getIndex());
+	}
+	
+	@Override
+	public long getZobristHash() {
+		return this.candidates.getZobristHash();
+	}
+	
+	@Override
+	public int hashCode() {
+		return this.candidates.hashCode();
+	}
+	
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (!(obj instanceof CandidateNoteManager))
+			return false;
+		return this.candidates.equals(((CandidateNoteManager) obj).candidates);
+	}
+	
+}
@@ -0,0 +1,559 @@
+/*******************************************************************************
+ * Copyright (c) 2011 - 2012 Adrian Vielsack, Christof Urbaczek, Florian Rosenthal, Michael Hoff, Moritz Lüdecke, Philip Flohr.
+ * 
+ * This file is part of Sudowars.
+ * 
+ * Sudowars is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Sudowars is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Sudowars.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * 
+ * 
+ * Diese Datei ist Teil von Sudowars.
+ * 
+ * Sudowars ist Freie Software: Sie können es unter den Bedingungen
+ * der GNU General Public License, wie von der Free Software Foundation,
+ * Version 3 der Lizenz oder (nach Ihrer Option) jeder späteren
+ * veröffentlichten Version, weiterverbreiten und/oder modifizieren.
+ * 
+ * Sudowars wird in der Hoffnung, dass es nützlich sein wird, aber
+ * OHNE JEDE GEWÄHELEISTUNG, bereitgestellt; sogar ohne die implizite
+ * Gewährleistung der MARKTFÄHIGKEIT oder EIGNUNG FÜR EINEN BESTIMMTEN ZWECK.
+ * Siehe die GNU General Public License für weitere Details.
+ * 
+ * Sie sollten eine Kopie der GNU General Public License zusammen mit diesem
+ * Programm erhalten haben. Wenn nicht, siehe <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ * initial API and implementation:
+ * Adrian Vielsack
+ * Christof Urbaczek
+ * Florian Rosenthal
+ * Michael Hoff
+ * Moritz Lüdecke
+ * Philip Flohr 
+ ******************************************************************************/
+package org.sudowars.Model.Solver;
+
+import org.sudowars.Model.Sudoku.Field.CompactField;
+import org.sudowars.Model.Sudoku.Field.DataCell;
+import org.sudowars.Model.Sudoku.Field.Field;
+import org.sudowars.Model.Sudoku.Field.FieldStructure;
+import org.sudowars.Model.Sudoku.RuleManagement.DependencyIndex;
+import org.sudowars.Model.Sudoku.RuleManagement.DependencyManager;
+import org.sudowars.Model.Sudoku.RuleManagement.RuleApplier.StandardRulesetFactory;
+
+/**
+ * The class defines the functionality to solve a {@link Sudoku} by reducing it to an exact cover
+ * problem which is solved with the dancing links algorithm. Every unset cell and every value of every
+ * {@link DependencyGroup} has to be covered exactly once.
+ * <br>
+ * The solver supports finding one solution, counting solutions up to a limit and enumerating all
+ * solutions. It needs a standard ruleset, other rulesets are passed to a {@link BacktrackingSolver}
+ * by {@link #solve(Field, DependencyManager)} and {@link #countSolutions(Field, DependencyManager, int)}.
+ */
+public class DancingLinksSolver implements Solver {
+
+	private static final long serialVersionUID = 4186290334612903872L;
+	
+	//number of search steps between two checks of the context
+	private static final int CONTEXT_CHECK_INTERVAL = 1024;
+	
+	//context which stops the search if it is cancelled or its deadline passes, null if it cannot be stopped
+	transient private volatile SolveContext solveContext;
+	
+	/**
+	 * The interface defines the callback used to enumerate the solutions of a {@link Field}.
+	 */
+	public interface SolutionListener {
+		
+		/**
+		 * Called for every found solution.
+		 * @param solution the fully filled solution-{@link Field}, a new instance for every call
+		 * @return <code>true</code> to continue the search, <code>false</code> to stop it
+		 */
+		public boolean onSolution(Field<DataCell> solution);
+		
+	}
+	
+	/**
+	 * Sets the context which stops the search if it is cancelled or its deadline passes. A stopped search 
+	 * throws a {@link SolveCancelledException}.
+	 * @param solveContext the context to use, <code>null</code> if the search cannot be stopped
+	 */
+	public void setSolveContext(SolveContext solveContext) {
+		this.solveContext = solveContext;
+	}
+	
+	/**
+	 * Returns the context which stops the search.
+	 * @return the context, <code>null</code> if the search cannot be stopped
+	 */
+	public SolveContext getSolveContext() {
+		return this.solveContext;
+	}
+	
+	/**
+	 * Solves a {@link Field} of {@link DataCell}s and returns the fully filled solution-{@link Field}
+	 *
+	 * @param initialField The initial field to solve
+	 * @param dependencyManager The dependency manager of the field
+	 *
+	 * @return the fully filled solution-{@link Field}, <code>null</code> if given field is not unique solvable
+	 *
+	 * @throws IllegalArgumentException if no field or no dependencyManager was given
+	 * @throws SolveCancelledException if the context of the solver was cancelled or its deadline passed
+	 */
+	public Field<DataCell> solve(Field<DataCell> initialField, DependencyManager dependencyManager) throws IllegalArgumentException, SolveCancelledException {
+		
+		checkArguments(initialField, dependencyManager);
+		
+		if (!isSupported(initialField, dependencyManager)) {
+			BacktrackingSolver solver = new BacktrackingSolver();
+			solver.setSolveContext(this.solveContext);
+			Field<DataCell> solution = solver.solve(initialField, dependencyManager);
+			if (solver.getResult() == StrategyExecutor.ExecuteResult.TIMEDOUT) {
+				throw new SolveCancelledException(this.solveContext.isTimedOut());
+			}
+			return solution;
+		}
+		
+		//a second solution proves that the field is not unique solvable
+		ExactCover exactCover = new ExactCover(new CompactField(initialField), dependencyManager, 2, null, this.solveContext);
+		return exactCover.search() == 1 ? exactCover.getFirstSolution() : null;
+		
+	}
+	
+	/**
+	 * Searches one solution of a {@link Field} of {@link DataCell}s without checking if it is unique.
+	 *
+	 * @param initialField The initial field to solve
+	 * @param dependencyManager The dependency manager of the field
+	 *
+	 * @return a fully filled solution-{@link Field}, <code>null</code> if given field is not solvable
+	 *
+	 * @throws IllegalArgumentException if no field or no dependencyManager was given,
+	 * 				or the dependencyManager is no standard ruleset
+	 * @throws SolveCancelledException if the context of the solver was cancelled or its deadline passed
+	 */
+	public Field<DataCell> findSolution(Field<DataCell> initialField, DependencyManager dependencyManager) throws IllegalArgumentException, SolveCancelledException {
+		
+		checkArguments(initialField, dependencyManager);
+		checkSupported(initialField, dependencyManager);
+		
+		ExactCover exactCover = new ExactCover(new CompactField(initialField), dependencyManager, 1, null, this.solveContext);
+		return exactCover.search() == 1 ? exactCover.getFirstSolution() : null;
+		
+	}
+	
+	/**
+	 * Counts the solutions of a {@link Field} of {@link DataCell}s. The search stops as soon as the 
+	 * given limit is reached, a limit of 2 is enough to check if a field is unique solvable.
+	 *
+	 * @param initialField The initial field to solve
+	 * @param dependencyManager The dependency manager of the field
+	 * @param limit The maximum number of solutions to count
+	 *
+	 * @return the number of solutions, but at most the given limit
+	 *
+	 * @throws IllegalArgumentException if no field or no dependencyManager was given or limit is smaller than 1
+	 * @throws SolveCancelledException if the context of the solver was cancelled or its deadline passed
+	 */
+	public int countSolutions(Field<DataCell> initialField, DependencyManager dependencyManager, int limit) throws IllegalArgumentException, SolveCancelledException {
+		
+		checkArguments(initialField, dependencyManager);
+		
+		return this.countSolutions(new CompactField(initialField), dependencyManager, limit);
+		
+	}
+	
+	/**
+	 * Counts the solutions of a {@link CompactField}. The search stops as soon as the given limit is 
+	 * reached, a limit of 2 is enough to check if a field is unique solvable.
+	 *
+	 * @param initialField The initial field to solve
+	 * @param dependencyManager The dependency manager of the field
+	 * @param limit The maximum number of solutions to count
+	 *
+	 * @return the number of solutions, but at most the given limit
+	 *
+	 * @throws IllegalArgumentException if no field or no dependencyManager was given or limit is smaller than 1
+	 * @throws SolveCancelledException if the context of the solver was cancelled or its deadline passed
+	 */
+	public int countSolutions(CompactField initialField, DependencyManager dependencyManager, int limit) throws IllegalArgumentException, SolveCancelledException {
+		
+		if (initialField == null) {
+			throw new IllegalArgumentException("given initialfield cannot be null.");
+		}
+		
+		if (dependencyManager == null) {
+			throw new IllegalArgumentException("given DependencyManager cannot be null.");
+		}
+		
+		if (limit < 1) {
+			throw new IllegalArgumentException("limit has to be at least 1.");
+		}
+		
+		if (!isSupported(initialField, dependencyManager)) {
+			BacktrackingSolver solver = new BacktrackingSolver();
+			solver.setSolveContext(this.solveContext);
+			return solver.countSolutions(initialField, dependencyManager, limit);
+		}
+		
+		return new ExactCover(initialField, dependencyManager, limit, null, this.solveContext).search();
+		
+	}
+	
+	/**
+	 * Enumerates the solutions of a {@link Field} of {@link DataCell}s and passes them to the listener
+	 * until the listener stops the search or all solutions were found.
+	 *
+	 * @param initialField The initial field to solve
+	 * @param dependencyManager The dependency manager of the field
+	 * @param listener The listener which receives the solutions
+	 *
+	 * @return the number of solutions passed to the listener
+	 *
+	 * @throws IllegalArgumentException if no field, no dependencyManager or no listener was given,
+	 * 				or the dependencyManager is no standard ruleset
+	 * @throws SolveCancelledException if the context of the solver was cancelled or its deadline passed
+	 */
+	public int enumerateSolutions(Field<DataCell> initialField, DependencyManager dependencyManager, SolutionListener listener) throws IllegalArgumentException, SolveCancelledException {
+		
+		checkArguments(initialField, dependencyManager);
+		checkSupported(initialField, dependencyManager);
+		
+		if (listener == null) {
+			throw new IllegalArgumentException("given listener cannot be null.");
+		}
+		
+		return new ExactCover(new CompactField(initialField), dependencyManager, Integer.MAX_VALUE, listener, this.solveContext).search();
+		
+	}
+	
+	/**
+	 * Indicates whether the given field and ruleset can be transformed into an exact cover problem.
+	 * @param field the field to solve
+	 * @param dependencyManager the dependency manager of the field
+	 * @return <code>true</code> if the field has a standard ruleset, <code>false</code> otherwise
+	 */
+	public static boolean isSupported(Field<DataCell> field, DependencyManager dependencyManager) {
+		return isSupported(field.getStructure(), dependencyManager);
+	}
+	
+	/**
+	 * Indicates whether the given field and ruleset can be transformed into an exact cover problem.
+	 * @param field the field to solve
+	 * @param dependencyManager the dependency manager of the field
+	 * @return <code>true</code> if the field has a standard ruleset, <code>false</code> otherwise
+	 */
+	public static boolean isSupported(CompactField field, DependencyManager dependencyManager) {
+		return isSupported(field.getStructure(), dependencyManager);
+	}
+	
+	private static boolean isSupported(FieldStructure structure, DependencyManager dependencyManager) {
+		return StandardRulesetFactory.getInstance().isStandardRuleset(dependencyManager)
+				&& structure.getWidth() == structure.getHeight()
+				&& structure.getWidth() <= CandidateGrid.MAX_VALUE;
+	}
+	
+	private static void checkArguments(Field<DataCell> initialField, DependencyManager dependencyManager) throws IllegalArgumentException {
+		if (initialField == null) {
+			throw new IllegalArgumentException("given initialfield cannot be null.");
+		}
+		if (dependencyManager == null) {
+			throw new IllegalArgumentException("given DependencyManager cannot be null.");
+		}
+	}
+	
+	private static void checkSupported(Field<DataCell> initialField, DependencyManager dependencyManager) throws IllegalArgumentException {
+		if (!isSupported(initialField, dependencyManager)) {
+			throw new IllegalArgumentException("given DependencyManager is no standard ruleset.");
+		}
+	}
+	
+	/**
+	 * The exact cover matrix of a field, stored as arrays of node links. Column headers use the 
+	 * nodes 1 to columnCount, node 0 is the root. An instance is used for one search only.
+	 */
+	private static final class ExactCover {
+		
+		private final CompactField initialField;
+		private final SolutionListener listener;
+		private final int limit;
+		private final SolveContext solveContext;
+		private int stepsUntilCheck = CONTEXT_CHECK_INTERVAL;
+		
+		private int[] left;
+		private int[] right;
+		private int[] up;
+		private int[] down;
+		private int[] column;
+		private int[] size;
+		private int[] rowCell;
+		private int[] rowValue;
+		
+		private int[] selectedNodes;
+		private boolean infeasible;
+		private int solutionCount;
+		private CompactField firstSolution;
+		
+		ExactCover(CompactField initialField, DependencyManager dependencyManager, int limit, SolutionListener listener, 
+				SolveContext solveContext) {
+			
+			this.initialField = initialField;
+			this.limit = limit;
+			this.listener = listener;
+			this.solveContext = solveContext;
+			
+			this.build(dependencyManager.getDependencyIndex());
+			
+		}
+		
+		private void build(DependencyIndex index) {
+			
+			int valueCount = this.initialField.getStructure().getWidth();
+			int cellColumns = this.initialField.getStructure().getWidth() * this.initialField.getStructure().getHeight();
+			int columnCount = cellColumns + index.getGroupCount() * valueCount;
+			
+			//columns satisfied by set cells or not belonging to the field are not part of the matrix
+			boolean[] satisfied = new boolean[columnCount];
+			for (int cellColumn = 0; cellColumn < cellColumns; cellColumn++) {
+				satisfied[cellColumn] = true;
+			}
+			
+			int unsetCells = 0;
+			for (int cellIndex = 0; cellIndex < this.initialField.getCellCount(); cellIndex++) {
+				
+				if (!this.initialField.isSet(cellIndex)) {
+					satisfied[cellIndex] = false;
+					unsetCells++;
+					continue;
+				}
+				
+				//a value outside of the ruleset or a duplicate value makes the field unsolvable
+				int value = this.initialField.getValue(cellIndex);
+				if (value > valueCount) {
+					this.infeasible = true;
+					return;
+				}
+				for (int position = 0; position < index.getGroupCountOfCell(cellIndex); position++) {
+					int groupColumn = cellColumns + index.getGroupOfCell(cellIndex, position) * valueCount + value - 1;
+					if (satisfied[groupColumn]) {
+						this.infeasible = true;
+						return;
+					}
+					satisfied[groupColumn] = true;
+				}
+				
+			}
+			
+			//count the nodes of all rows to allocate the arrays at once
+			int nodeCount = columnCount + 1;
+			for (int cellIndex = 0; cellIndex < this.initialField.getCellCount(); cellIndex++) {
+				if (!this.initialField.isSet(cellIndex)) {
+					nodeCount += valueCount * (1 + index.getGroupCountOfCell(cellIndex));
+				}
+			}
+			
+			this.left = new int[nodeCount];
+			this.right = new int[nodeCount];
+			this.up = new int[nodeCount];
+			this.down = new int[nodeCount];
+			this.column = new int[nodeCount];
+			this.size = new int[columnCount + 1];
+			this.rowCell = new int[nodeCount];
+			this.rowValue = new int[nodeCount];
+			this.selectedNodes = new int[unsetCells];
+			
+			//link the headers of all columns which have to be covered
+			int lastHeader = 0;
+			for (int columnNumber = 0; columnNumber < columnCount; columnNumber++) {
+				int header = columnNumber + 1;
+				this.up[header] = header;
+				this.down[header] = header;
+				this.column[header] = header;
+				if (!satisfied[columnNumber]) {
+					this.right[lastHeader] = header;
+					this.left[header] = lastHeader;
+					lastHeader = header;
+				} else {
+					this.left[header] = header;
+					this.right[header] = header;
+				}
+			}
+			this.right[lastHeader] = 0;
+			this.left[0] = lastHeader;
+			
+			//add a row for every value every unset cell can hold
+			int nextNode = columnCount + 1;
+			for (int cellIndex = 0; cellIndex < this.initialField.getCellCount(); cellIndex++) {
+				
+				if (this.initialField.isSet(cellIndex)) continue;
+				
+				for (int value = 1; value <= valueCount; value++) {
+					
+					//values already used in a group of the cell need no row
+					boolean possible = true;
+					for (int position = 0; position < index.getGroupCountOfCell(cellIndex) && possible; position++) {
+						possible = !satisfied[cellColumns + index.getGroupOfCell(cellIndex, position) * valueCount + value - 1];
+					}
+					if (!possible) continue;
+					
+					int firstNode = nextNode;
+					this.appendNode(nextNode++, cellIndex + 1, firstNode, cellIndex, value);
+					for (int position = 0; position < index.getGroupCountOfCell(cellIndex); position++) {
+						int header = cellColumns + index.getGroupOfCell(cellIndex, position) * valueCount + value;
+						this.appendNode(nextNode++, header, firstNode, cellIndex, value);
+					}
+					
+				}
+				
+			}
+			
+		}
+		
+		private void appendNode(int node, int header, int firstNode, int cellIndex, int value) {
+			
+			//insert at the bottom of the column
+			this.column[node] = header;
+			this.up[node] = this.up[header];
+			this.down[node] = header;
+			this.down[this.up[header]] = node;
+			this.up[header] = node;
+			this.size[header]++;
+			
+			//insert at the end of the row
+			if (node == firstNode) {
+				this.left[node] = node;
+				this.right[node] = node;
+			} else {
+				this.left[node] = this.left[firstNode];
+				this.right[node] = firstNode;
+				this.right[this.left[firstNode]] = node;
+				this.left[firstNode] = node;
+			}
+			
+			this.rowCell[node] = cellIndex;
+			this.rowValue[node] = value;
+			
+		}
+		
+		private void cover(int header) {
+			this.right[this.left[header]] = this.right[header];
+			this.left[this.right[header]] = this.left[header];
+			for (int rowNode = this.down[header]; rowNode != header; rowNode = this.down[rowNode]) {
+				for (int node = this.right[rowNode]; node != rowNode; node = this.right[node]) {
+					this.down[this.up[node]] = this.down[node];
+					this.up[this.down[node]] = this.up[node];
+					this.size[this.column[node]]--;
+				}
+			}
+		}
+		
+		private void uncover(int header) {
+			for (int rowNode = this.up[header]; rowNode != header; rowNode = this.up[rowNode]) {
+				for (int node = this.left[rowNode]; node != rowNode; node = this.left[node]) {
+					this.size[this.column[node]]++;
+					this.down[this.up[node]] = node;
+					this.up[this.down[node]] = node;
+				}
+			}
+			this.right[this.left[header]] = header;
+			this.left[this.right[header]] = header;
+		}
+		
+		/**
+		 * Searches the solutions until the limit is reached or the listener stops the search.
+		 * @return the number of found solutions
+		 */
+		int search() {
+			if (!this.infeasible) {
+				this.search(0);
+			}
+			return this.solutionCount;
+		}
+		
+		/**
+		 * @return <code>true</code> if the search has to be continued, <code>false</code> otherwise
+		 */
+		private boolean search(int depth) {
+			
+			//checking the context on every step would slow down the search
+			if (this.solveContext != null && --this.stepsUntilCheck == 0) {
+				this.stepsUntilCheck = CONTEXT_CHECK_INTERVAL;
+				this.solveContext.check();
+			}
+			
+			//all columns are covered, so the selected rows are a solution
+			if (this.right[0] == 0) {
+				return this.onSolution(depth);
+			}
+			
+			//choose the column with the fewest rows
+			int header = this.right[0];
+			for (int current = this.right[header]; current != 0 && this.size[header] > 0; current = this.right[current]) {
+				if (this.size[current] < this.size[header]) {
+					header = current;
+				}
+			}
+			if (this.size[header] == 0) {
+				return true;
+			}
+			
+			boolean continueSearch = true;
+			this.cover(header);
+			for (int rowNode = this.down[header]; rowNode != header && continueSearch; rowNode = this.down[rowNode]) {
+				this.selectedNodes[depth] = rowNode;
+				for (int node = this.right[rowNode]; node != rowNode; node = this.right[node]) {
+					this.cover(this.column[node]);
+				}
+				continueSearch = this.search(depth + 1);
+				for (int node = this.left[rowNode]; node != rowNode; node = this.left[node]) {
+					this.uncover(this.column[node]);
+				}
+			}
+			this.uncover(header);
+			
+			return continueSearch;
+			
+		}
+		
+		private boolean onSolution(int depth) {
+			
+			this.solutionCount++;
+			
+			if (this.solutionCount == 1 || this.listener != null) {
+				CompactField solution = this.initialField.clone();
+				for (int position = 0; position < depth; position++) {
+					int node = this.selectedNodes[position];
+					solution.setValue(this.rowCell[node], this.rowValue[node]);
+				}
+				if (this.solutionCount == 1) {
+					this.firstSolution = solution;
+				}
+				if (this.listener != null && !this.listener.onSolution(solution.toField())) {
+					return false;
+				}
+			}
+			
+			return this.solutionCount < this.limit;
+			
+		}
+		
+		Field<DataCell> getFirstSolution() {
+			return (this.firstSolution != null) ? this.firstSolution.toField() : null;
+		}
+		
+	}
+	
+}
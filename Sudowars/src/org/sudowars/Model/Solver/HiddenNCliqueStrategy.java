@@ -44,12 +44,12 @@
  ******************************************************************************/
 package org.sudowars.Model.Solver;
 
-import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 
 import org.sudowars.Model.Sudoku.Field.Cell;
 import org.sudowars.Model.Sudoku.RuleManagement.DependencyGroup;
+import org.sudowars.Model.Sudoku.RuleManagement.DependencyIndex;
 import org.sudowars.Model.Sudoku.RuleManagement.RuleApplier.StandardRulesetFactory;
 
 /**
@@ -86,60 +86,68 @@ public class HiddenNCliqueStrategy extends SolverStrategy {
 		List<SolveStep> result = new LinkedList<SolveStep>();
 		Boolean notesChanged = false;
 		
+		CandidateGrid candidates = currentState.getCandidates();
+		
+		//only groups which changed since the last execution can lead to new results
+		DependencyIndex index = currentState.getDependencyManager().getDependencyIndex();
+		
 		//iterate through the dependency groups and find cells that hold the same group of candidates				
-		for (DependencyGroup dependencyGroup : currentState.getDependencyManager().getDependencyGroups()) {
+		for (int groupNumber = 0; groupNumber < index.getGroupCount(); groupNumber++) {
+			
+			currentState.checkSolveContext();
+			
+			if (!currentState.checkGroup(this, groupNumber)) continue;
+			DependencyGroup dependencyGroup = index.getGroup(groupNumber);
 		
 			//get all cells of the group with a candidate list
 			List<Cell> cellList = this.getUnsetCells(currentState, dependencyGroup);
+			int[] cellIndices = new int[cellList.size()];
+			for (int position = 0; position < cellIndices.length; position++) {
+				cellIndices[position] = cellList.get(position).getIndex();
+			}
 			
 			//get all used candidates within the group
-			List<Integer> usedCandidates = this.getCandidateList(dependencyGroup, currentState);
-			
-			//initiate position list for all candidates
-			HashMap<Integer, List<Integer>> candidatePositions = new HashMap<Integer, List<Integer>>();
-			for (Integer candidate : usedCandidates) candidatePositions.put(candidate, new LinkedList<Integer>());
+			long usedCandidates = 0L;
+			for (int cellIndex : cellIndices) {
+				usedCandidates |= candidates.getMask(cellIndex);
+			}
+			long[] candidateBits = getBits(usedCandidates);
 			
-			//iterate through all cells and save candidates' positions
-			for (int position = 0; position < cellList.size(); position++) {
-				for (Integer candidate : currentState.getNoteManager().getNotes(cellList.get(position))) {
-					candidatePositions.get(candidate).add(position);
+			//save the positions of every candidate as bitmask
+			long[] candidatePositions = new long[candidateBits.length];
+			for (int position = 0; position < cellIndices.length; position++) {
+				for (int candidate = 0; candidate < candidateBits.length; candidate++) {
+					if ((candidates.getMask(cellIndices[position]) & candidateBits[candidate]) != 0L) {
+						candidatePositions[candidate] |= 1L << position;
+					}
 				}
 			}
 			
-			//generate all subsets of the used positions
-			List<List<Integer>> subsets = this.getSubsets(cellList.size()-1);
-							
-			//search for n position lists that contain all n positions of the subset
-			for (List<Integer> subset : subsets) {
+			//search for n candidates that are only located at the n positions of a subset, a subset of all
+			//positions contains all candidates and cannot lead to new results
+			for (int size = 2; size < cellIndices.length; size++) {
 				
-				//just use subsets with at least 2 positions
-				if (subset.size() < 2) continue;
-				
-				//initiate the list to save the clique candidates
-				List<Integer> cliqueCandidateList = new LinkedList<Integer>();
-				
-				//find candidates which positions contains only the positions of the subset
-				for (Integer candidate : usedCandidates) {
-					if (this.isSubset(candidatePositions.get(candidate), subset)) {
-						cliqueCandidateList.add(candidate);
+				//only candidates with at most n positions can be part of a clique, so only their positions have to be combined
+				long eligiblePositions = 0L;
+				int eligibleCandidates = 0;
+				for (long positions : candidatePositions) {
+					if (CandidateGrid.bitCount(positions) <= size) {
+						eligiblePositions |= positions;
+						eligibleCandidates++;
 					}
 				}
-				
-				//if there are as much clique elements as positions in the subset the candidates are within theses positions.
-				//The other candidates at the same position can be removed.
-				if (cliqueCandidateList.size() == subset.size()) {
-					
-					for (Integer candidate : usedCandidates) {
-						if (cliqueCandidateList.contains(candidate)) continue;
-						for (Integer position : candidatePositions.get(candidate)) {
-							if (subset.contains(position)) {
-								notesChanged = currentState.getNoteManager().removeNote(cellList.get(position), candidate) ? true : notesChanged;
-							}
-						}
+				if (eligibleCandidates < size || CandidateGrid.bitCount(eligiblePositions) < size) continue;
+				int[] cliqueElements = new int[candidateBits.length];
+				int elementCount = 0;
+				for (int candidate = 0; candidate < candidateBits.length; candidate++) {
+					if (CandidateGrid.bitCount(candidatePositions[candidate]) <= size) {
+						cliqueElements[elementCount++] = candidate;
 					}
-					
 				}
-
+				
+				notesChanged = this.searchCliques(candidates, cellIndices, candidateBits, candidatePositions, cliqueElements, 
+						elementCount, size, 0, 0, 0L) ? true : notesChanged;
+				
 			}
 							
 		}
@@ -153,6 +161,63 @@ public class HiddenNCliqueStrategy extends SolverStrategy {
 		
 	}
 
+	/**
+	 * Combines the eligible candidates to cliques of n candidates and removes the other candidates from the 
+	 * positions of every clique. Candidates are only added while the clique covers at most n positions, so 
+	 * the search does not have to try every subset of positions, which is too slow for large sudokus.
+	 * @param candidates the candidates of the field
+	 * @param cellIndices the indices of the unset cells of the group
+	 * @param candidateBits the candidates used within the group
+	 * @param candidatePositions the positions of every used candidate within the cell indices
+	 * @param eligibleCandidates the candidates with at most n positions, as index of the used candidates
+	 * @param eligibleCount the number of eligible candidates
+	 * @param size the size n of the cliques
+	 * @param start the first eligible candidate which can be added to the clique
+	 * @param depth the number of candidates within the clique
+	 * @param cliquePositions the positions covered by the candidates of the clique
+	 * @return <code>true</code> if candidates were removed, <code>false</code> otherwise
+	 */
+	private boolean searchCliques(CandidateGrid candidates, int[] cellIndices, long[] candidateBits, long[] candidatePositions, 
+			int[] eligibleCandidates, int eligibleCount, int size, int start, int depth, long cliquePositions) {
+		
+		if (depth == size) {
+			
+			if (CandidateGrid.bitCount(cliquePositions) != size) return false;
+			
+			//find candidates which positions contains only the positions of the clique
+			long cliqueCandidates = 0L;
+			for (int candidate = 0; candidate < candidateBits.length; candidate++) {
+				if ((candidatePositions[candidate] & ~cliquePositions) == 0L) {
+					cliqueCandidates |= candidateBits[candidate];
+				}
+			}
+			
+			//if there are as much clique elements as positions in the subset the candidates are within theses positions.
+			//The other candidates at the same position can be removed.
+			boolean notesChanged = false;
+			if (CandidateGrid.bitCount(cliqueCandidates) == size) {
+				for (long rest = cliquePositions; rest != 0L; rest = CandidateGrid.removeLowestValue(rest)) {
+					int cellIndex = cellIndices[Long.numberOfTrailingZeros(rest)];
+					long cellMask = candidates.getMask(cellIndex);
+					notesChanged = candidates.setMask(cellIndex, cellMask & cliqueCandidates) ? true : notesChanged;
+				}
+			}
+			return notesChanged;
+			
+		}
+		
+		boolean notesChanged = false;
+		for (int next = start; next <= eligibleCount - (size - depth); next++) {
+			long combined = cliquePositions | candidatePositions[eligibleCandidates[next]];
+			if (CandidateGrid.bitCount(combined) <= size) {
+				notesChanged = this.searchCliques(candidates, cellIndices, candidateBits, candidatePositions, eligibleCandidates, 
+						eligibleCount, size, next + 1, depth + 1, combined) ? true : notesChanged;
+			}
+		}
+		return notesChanged;
+		
+	}
+	
 	/**
 	 * Initialises a new instance of the {@link HiddenNCliqueStrategy} class
 	 */
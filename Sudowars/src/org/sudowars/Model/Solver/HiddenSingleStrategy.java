@@ -49,6 +49,7 @@ import java.util.List;
 
 import org.sudowars.Model.Sudoku.Field.Cell;
 import org.sudowars.Model.Sudoku.RuleManagement.DependencyGroup;
+import org.sudowars.Model.Sudoku.RuleManagement.DependencyIndex;
 import org.sudowars.Model.Sudoku.RuleManagement.RuleApplier.StandardRulesetFactory;
 
 /**
@@ -84,8 +85,16 @@ public class HiddenSingleStrategy extends SolverStrategy {
 		List<SolveStep> result = new LinkedList<SolveStep>();
 		List<Cell> solvedCells = new LinkedList<Cell>();
 		
+		//only groups which changed since the last execution can lead to new results
+		DependencyIndex index = currentState.getDependencyManager().getDependencyIndex();
+		
 		//iterate through the dependency groups and find cells that hold a candidate which no other cell do			
-		for (DependencyGroup dependencyGroup : currentState.getDependencyManager().getDependencyGroups()) {
+		for (int groupNumber = 0; groupNumber < index.getGroupCount(); groupNumber++) {
+			
+			currentState.checkSolveContext();
+			
+			if (!currentState.checkGroup(this, groupNumber)) continue;
+			DependencyGroup dependencyGroup = index.getGroup(groupNumber);
 						
 			//get all candidates that are used within the DependencyGroup
 			List<Integer> candidateList = this.getCandidateList(dependencyGroup, currentState);
@@ -48,10 +48,7 @@ import java.util.LinkedList;
 
 import org.sudowars.DebugHelper;
 import org.sudowars.Model.Sudoku.Field.Cell;
-import org.sudowars.Model.Sudoku.Field.DataCell;
-import org.sudowars.Model.Sudoku.Field.DataCellBuilder;
-import org.sudowars.Model.Sudoku.Field.Field;
-import org.sudowars.Model.Sudoku.Field.FieldBuilder;
+import org.sudowars.Model.Sudoku.Field.CompactField;
 
 /**
  * This class defines the functionality to solve the next cell of a {@link Field}. It uses logical
@@ -74,6 +71,10 @@ public class HumanSolver extends StrategyExecutor implements ConsecutiveSolver {
 		this.solveStrategies.add(new LockedCandidateStrategy());
 		this.solveStrategies.add(new NakedNCliqueStrategy());
 		this.solveStrategies.add(new HiddenNCliqueStrategy());
+		this.solveStrategies.add(new NFishStrategy());
+		this.solveStrategies.add(new XYWingStrategy());
+		this.solveStrategies.add(new SimpleColouringStrategy());
+		this.solveStrategies.add(new XYChainStrategy());
 		
 	}
 	
@@ -112,7 +113,7 @@ public class HumanSolver extends StrategyExecutor implements ConsecutiveSolver {
 		//checks if calling of the strategies found a cell
 		HumanSolveStep humanSolveStep = null;
 		SolveStep solveStep = currentState.getLastSolveStep();
-		if (result == StrategyExecutor.ExecuteResult.UNIQUESOLUTION && solveStep.hasSolvedCell()) {
+		if (result == StrategyExecutor.ExecuteResult.UNIQUESOLUTION && solveStep != null && solveStep.hasSolvedCell()) {
 				
 			//check if the solver return a cell without a specific solution. That happens
 			//if the solver needs to use backtracking to solve the cell but can not write
@@ -120,24 +121,13 @@ public class HumanSolver extends StrategyExecutor implements ConsecutiveSolver {
 			if (solveStep.getSolution() == 0) {
 				//use backtracker to identify the solution of the cell
 				BacktrackingSolver solver = new BacktrackingSolver();
-				//build field of data cells out of the given field
-				FieldBuilder<DataCell> fb = new FieldBuilder<DataCell>();
-				Field<DataCell> solverField = fb.build(currentState.getField().getStructure(), new DataCellBuilder());
-				for (Cell cell : currentState.getField().getCells()) {
-					solverField.getCell(cell.getIndex()).setInitial(cell.isInitial());
-					solverField.getCell(cell.getIndex()).setValue(cell.getValue());
-				}
-				//iterate through the candidates and try to solve the field after setting the value of the cell
-				for (Integer candidate : currentState.getNoteManager().getNotes(solveStep.getSolvedCell())) {
-					//set candidate as cell value
-					solverField.getCell(solveStep.getSolvedCell().getIndex()).setValue(candidate);
-					//try to solve the field, as it is unique solvable the candidate is the
-					//searched solution if the field can be solved
-					if (solver.solve(solverField, currentState.getDependencyManager()) != null) {
-						solveStep = new SolveStep(solveStep.getSolvedCell(), candidate, false);
-						this.usedStrategies.clear();
-						break;
-					}
+				solver.setSolveContext(this.getSolveContext());
+				//solve the field once, if it is unique solvable the value of the cell in the solution
+				//is the only candidate which leads to a solution, the solver works on a copy of the field
+				CompactField solution = solver.solve(currentState.getCompactField(), currentState.getDependencyManager());
+				if (solution != null) {
+					solveStep = new SolveStep(solveStep.getSolvedCell(), solution.getValue(solveStep.getSolvedCell().getIndex()), false);
+					this.usedStrategies.clear();
 				}
 			}
 			
@@ -149,7 +139,7 @@ public class HumanSolver extends StrategyExecutor implements ConsecutiveSolver {
 										this.getUsedStrategies());
 			
 		} else {
-			DebugHelper.log(DebugHelper.PackageName.Solver, "executeStrategies() results no unique solution or no solved cell: " + result);
+			if (DebugHelper.ENABLED) DebugHelper.log(DebugHelper.PackageName.Solver, "executeStrategies() results no unique solution or no solved cell: %s", result);
 		}
 		
 		return humanSolveStep;
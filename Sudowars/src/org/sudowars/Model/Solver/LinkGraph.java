@@ -0,0 +1,259 @@
+/*******************************************************************************
+ * Copyright (c) 2011 - 2012 Adrian Vielsack, Christof Urbaczek, Florian Rosenthal, Michael Hoff, Moritz Lüdecke, Philip Flohr.
+ * 
+ * This file is part of Sudowars.
+ * 
+ * Sudowars is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Sudowars is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Sudowars.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * 
+ * 
+ * Diese Datei ist Teil von Sudowars.
+ * 
+ * Sudowars ist Freie Software: Sie können es unter den Bedingungen
+ * der GNU General Public License, wie von der Free Software Foundation,
+ * Version 3 der Lizenz oder (nach Ihrer Option) jeder späteren
+ * veröffentlichten Version, weiterverbreiten und/oder modifizieren.
+ * 
+ * Sudowars wird in der Hoffnung, dass es nützlich sein wird, aber
+ * OHNE JEDE GEWÄHELEISTUNG, bereitgestellt; sogar ohne die implizite
+ * Gewährleistung der MARKTFÄHIGKEIT oder EIGNUNG FÜR EINEN BESTIMMTEN ZWECK.
+ * Siehe die GNU General Public License für weitere Details.
+ * 
+ * Sie sollten eine Kopie der GNU General Public License zusammen mit diesem
+ * Programm erhalten haben. Wenn nicht, siehe <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ * initial API and implementation:
+ * Adrian Vielsack
+ * Christof Urbaczek
+ * Florian Rosenthal
+ * Michael Hoff
+ * Moritz Lüdecke
+ * Philip Flohr 
+ ******************************************************************************/
+package org.sudowars.Model.Solver;
+
+import org.sudowars.Model.Sudoku.RuleManagement.DependencyGroup;
+import org.sudowars.Model.Sudoku.RuleManagement.DependencyIndex;
+
+/**
+ * This class holds the links between the candidates of a {@link SolverState} used by chain based strategies.
+ * <br>
+ * A strong link connects the only two cells of a {@link DependencyGroup} which hold a candidate, so one of 
+ * them has to hold the value. Cells with exactly two candidates (bivalue cells) are linked with each other 
+ * if they are peers, so they cannot hold the same value.
+ * <br>
+ * The graph describes the candidates at the moment of its creation. It is shared by all strategies through 
+ * {@link SolverState#getLinkGraph()} until the candidates change.
+ */
+final class LinkGraph {
+	
+	private final CandidateGrid candidates;
+	private final int modificationCount;
+	private final int epoch;
+	
+	private final DependencyIndex index;
+	private final long usedCandidates;
+	
+	//strong links as pairs of cell indices per value
+	private final int[][] strongLinks;
+	
+	//bivalue cells, their candidates and the positions of their bivalue peers
+	private final int[] bivalueCells;
+	private final long[] bivalueMasks;
+	private final int[][] bivalueNeighbours;
+	
+	/**
+	 * Initialises a new instance of the {@link LinkGraph} class with the links of the current candidates.
+	 * @param state the state to compute the links of
+	 */
+	LinkGraph(SolverState state) {
+		
+		this.candidates = state.getCandidates();
+		this.modificationCount = this.candidates.getModificationCount();
+		this.epoch = this.candidates.getEpoch();
+		this.index = state.getDependencyManager().getDependencyIndex();
+		
+		//get all used candidates and count the bivalue cells
+		long used = 0L;
+		int bivalueCount = 0;
+		for (int cellIndex = 0; cellIndex < this.index.getCellCount(); cellIndex++) {
+			used |= this.candidates.getMask(cellIndex);
+			if (this.candidates.getCandidateCount(cellIndex) == 2) {
+				bivalueCount++;
+			}
+		}
+		this.usedCandidates = used;
+		
+		//search the strong links of every value within the groups
+		int maxValue = Long.SIZE - Long.numberOfLeadingZeros(used);
+		this.strongLinks = new int[maxValue][];
+		int[] links = new int[2 * this.index.getGroupCount()];
+		for (int value = 1; value <= maxValue; value++) {
+			int linkCount = 0;
+			if ((used & CandidateGrid.getValueBit(value)) != 0L) {
+				for (int groupNumber = 0; groupNumber < this.index.getGroupCount(); groupNumber++) {
+					int first = -1;
+					int second = -1;
+					int count = 0;
+					for (int position = 0; position < this.index.getCellCountOfGroup(groupNumber) && count <= 2; position++) {
+						int cellIndex = this.index.getCellOfGroup(groupNumber, position);
+						if (this.candidates.hasCandidate(cellIndex, value)) {
+							if (count == 0) first = cellIndex;
+							else second = cellIndex;
+							count++;
+						}
+					}
+					if (count == 2) {
+						links[linkCount++] = first;
+						links[linkCount++] = second;
+					}
+				}
+			}
+			this.strongLinks[value - 1] = new int[linkCount];
+			System.arraycopy(links, 0, this.strongLinks[value - 1], 0, linkCount);
+		}
+		
+		//save the bivalue cells
+		this.bivalueCells = new int[bivalueCount];
+		this.bivalueMasks = new long[bivalueCount];
+		int position = 0;
+		for (int cellIndex = 0; cellIndex < this.index.getCellCount(); cellIndex++) {
+			if (this.candidates.getCandidateCount(cellIndex) == 2) {
+				this.bivalueCells[position] = cellIndex;
+				this.bivalueMasks[position] = this.candidates.getMask(cellIndex);
+				position++;
+			}
+		}
+		
+		//link bivalue cells which are peers
+		this.bivalueNeighbours = new int[bivalueCount][];
+		int[] neighbours = new int[bivalueCount];
+		for (int first = 0; first < bivalueCount; first++) {
+			int neighbourCount = 0;
+			for (int second = 0; second < bivalueCount; second++) {
+				if (first != second && this.index.arePeers(this.bivalueCells[first], this.bivalueCells[second])) {
+					neighbours[neighbourCount++] = second;
+				}
+			}
+			this.bivalueNeighbours[first] = new int[neighbourCount];
+			System.arraycopy(neighbours, 0, this.bivalueNeighbours[first], 0, neighbourCount);
+		}
+		
+	}
+	
+	/**
+	 * Checks if the graph still describes the given candidates.
+	 * @param candidates the current candidates
+	 * @return <code>true</code> if the candidates did not change since the graph was created, <code>false</code> otherwise
+	 */
+	boolean isCurrent(CandidateGrid candidates) {
+		return this.candidates == candidates && this.modificationCount == candidates.getModificationCount() 
+				&& this.epoch == candidates.getEpoch();
+	}
+	
+	/**
+	 * Returns the dependency index the links were computed with.
+	 * @return the dependency index
+	 */
+	DependencyIndex getDependencyIndex() {
+		return this.index;
+	}
+	
+	/**
+	 * Returns all candidates used within the field.
+	 * @return the used candidates as bitmask
+	 */
+	long getUsedCandidates() {
+		return this.usedCandidates;
+	}
+	
+	/**
+	 * Returns the strong links of a value as pairs of cell indices. The returned array must not be changed.
+	 * @param value the value
+	 * @return the strong links of the value, element <code>2 * i</code> and <code>2 * i + 1</code> are the ends of link <code>i</code>
+	 */
+	int[] getStrongLinks(int value) {
+		return (value < 1 || value > this.strongLinks.length) ? new int[0] : this.strongLinks[value - 1];
+	}
+	
+	/**
+	 * Returns the number of bivalue cells.
+	 * @return the number of bivalue cells
+	 */
+	int getBivalueCount() {
+		return this.bivalueCells.length;
+	}
+	
+	/**
+	 * Returns the cell index of a bivalue cell.
+	 * @param position the position of the bivalue cell
+	 * @return the index of the cell
+	 */
+	int getBivalueCell(int position) {
+		return this.bivalueCells[position];
+	}
+	
+	/**
+	 * Returns the candidates of a bivalue cell at the creation of the graph.
+	 * @param position the position of the bivalue cell
+	 * @return the two candidates of the cell as bitmask
+	 */
+	long getBivalueMask(int position) {
+		return this.bivalueMasks[position];
+	}
+	
+	/**
+	 * Returns the positions of the bivalue cells which are peers of a bivalue cell. The returned array must not be changed.
+	 * @param position the position of the bivalue cell
+	 * @return the positions of the linked bivalue cells
+	 */
+	int[] getBivalueNeighbours(int position) {
+		return this.bivalueNeighbours[position];
+	}
+	
+	/**
+	 * Checks if a cell is a peer of both given cells.
+	 * @param cellIndex the cell to check
+	 * @param firstCell the first cell
+	 * @param secondCell the second cell
+	 * @return <code>true</code> if the cell shares a group with both cells, <code>false</code> otherwise
+	 */
+	boolean seesBoth(int cellIndex, int firstCell, int secondCell) {
+		return this.index.arePeers(cellIndex, firstCell) && this.index.arePeers(cellIndex, secondCell);
+	}
+	
+	/**
+	 * Removes a candidate from all cells which are peers of both given cells.
+	 * @param value the candidate to remove
+	 * @param firstCell the first cell
+	 * @param secondCell the second cell
+	 * @return <code>true</code> if a candidate was removed, <code>false</code> otherwise
+	 */
+	boolean removeFromCommonPeers(int value, int firstCell, int secondCell) {
+		
+		boolean notesChanged = false;
+		
+		for (int position = 0; position < this.index.getPeerCount(firstCell); position++) {
+			int peer = this.index.getPeer(firstCell, position);
+			if (peer != secondCell && this.index.arePeers(peer, secondCell)) {
+				notesChanged = this.candidates.removeCandidate(peer, value) ? true : notesChanged;
+			}
+		}
+		
+		return notesChanged;
+		
+	}
+	
+}
@@ -49,6 +49,7 @@ import java.util.List;
 
 import org.sudowars.Model.Sudoku.Field.Cell;
 import org.sudowars.Model.Sudoku.RuleManagement.DependencyGroup;
+import org.sudowars.Model.Sudoku.RuleManagement.DependencyIndex;
 import org.sudowars.Model.Sudoku.RuleManagement.DependencyManager;
 import org.sudowars.Model.Sudoku.RuleManagement.RuleApplier.StandardRulesetFactory;
 
@@ -109,8 +110,16 @@ public class LockedCandidateStrategy extends SolverStrategy {
 		List<SolveStep> result = new LinkedList<SolveStep>();
 		Boolean notesChanged = false;
 
+		//only groups which changed since the last execution can lead to new results
+		DependencyIndex index = currentState.getDependencyManager().getDependencyIndex();
+		
 		//iterate through the dependency groups and find cells that hold the same candidate and are located together in another group		
-		for (DependencyGroup dependencyGroup : currentState.getDependencyManager().getDependencyGroups()) {
+		for (int groupNumber = 0; groupNumber < index.getGroupCount(); groupNumber++) {
+			
+			currentState.checkSolveContext();
+			
+			if (!currentState.checkGroup(this, groupNumber)) continue;
+			DependencyGroup dependencyGroup = index.getGroup(groupNumber);
 			
 			//get all candidates that are used within the DependencyGroup
 			List<Integer> candidateList = this.getCandidateList(dependencyGroup, currentState);
@@ -126,7 +135,7 @@ public class LockedCandidateStrategy extends SolverStrategy {
 					//delete candidates from other cells in the group
 					for (Cell cell : commonGroup.getCells(currentState.getField())) {
 						if (!candidateCells.contains(cell)) {
-							notesChanged = currentState.getNoteManager().removeNote(cell, candidateValue) ? true : notesChanged;
+							notesChanged = currentState.getCandidates().removeCandidate(cell.getIndex(), candidateValue) ? true : notesChanged;
 						}
 					}					
 				}
@@ -44,7 +44,6 @@
  ******************************************************************************/
 package org.sudowars.Model.Solver;
 
-import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -61,10 +60,19 @@ import org.sudowars.Model.Sudoku.RuleManagement.RuleApplier.StandardRulesetFacto
  * This strategy reduce the candidate lists by checking if a candidate of a {@link DependencyGroup} 
  * also can be found at the same positions in a parallel {@link DependencyGroup}. If such a candidate 
  * exists the value could only be found in one of this cells.
+ * 
+ * The positions of a candidate within the columns and rows are kept as bitmasks, so only fishs up to
+ * {@link NFishStrategy#MAX_FISH_SIZE} lines (X-Wing, Swordfish and Jellyfish) are searched.
  */
 public class NFishStrategy extends SolverStrategy {
 		
 	private static final long serialVersionUID = -8655943794410835173L;
+	
+	/**
+	 * the maximum number of lines of a fish, larger fishs always have a smaller complementary fish
+	 * on standard fields and are rare enough to be left to the backtracking
+	 */
+	public static final int MAX_FISH_SIZE = 4;
 
 	/**
 	 * Executes the strategy on the current state
@@ -75,7 +83,7 @@ public class NFishStrategy extends SolverStrategy {
 	 */
 	public List<SolveStep> executeStrategy(SolverState currentState) throws IllegalArgumentException {
 				
-		DebugHelper.log(DebugHelper.PackageName.SolverStrategy, "*** Execute nFish strategy ***");
+		if (DebugHelper.ENABLED) DebugHelper.log(DebugHelper.PackageName.SolverStrategy, "*** Execute nFish strategy ***");
 		
 		if (currentState == null) {
 			throw new IllegalArgumentException("given SolverState cannot be null.");
@@ -91,167 +99,138 @@ public class NFishStrategy extends SolverStrategy {
 			return new LinkedList<SolveStep>();
 		}
 		
-		//TODO ensure that field is a "normal" sudoku field
-		
 		//initiate result
 		List<SolveStep> result = new LinkedList<SolveStep>();
 		Boolean notesChanged = false;
+		CandidateGrid candidates = currentState.getCandidates();
 		
-		//get current candidate list of the field
-		List<Integer> candidateList = this.getCandidateList(currentState);
-		DebugHelper.log(DebugHelper.PackageName.SolverStrategy, "total candidate list : " + DebugHelper.getListString(candidateList));
+		int width = currentState.getField().getStructure().getWidth();
+		int height = currentState.getField().getStructure().getHeight();
+		
+		//positions and combinations of lines are saved as bits of a long
+		if (width >= CandidateGrid.MAX_VALUE || height >= CandidateGrid.MAX_VALUE) {
+			return result;
+		}
+		
+		//save the cell indices of the field by column and row
+		int[][] cellIndices = new int[width][height];
+		long usedCandidates = 0L;
+		for (int colID = 0; colID < width; colID++) {
+			for (int rowID = 0; rowID < height; rowID++) {
+				cellIndices[colID][rowID] = currentState.getField().getCell(colID, rowID).getIndex();
+				usedCandidates |= candidates.getMask(cellIndices[colID][rowID]);
+			}
+		}
 		
 		//iterate through the candidate list and find columns/rows that hold the candidate at the same position
-		for (Integer candidate : candidateList) {
-			
-			DebugHelper.log(DebugHelper.PackageName.SolverStrategy, "check candidate " + candidate);
+		for (long rest = usedCandidates; rest != 0L; rest = CandidateGrid.removeLowestValue(rest)) {
 			
-			//initiate working variables
-			List<Integer> possiblePositions;
-			List<List<Integer>> subsets;
+			currentState.checkSolveContext();
 			
-			//--- check columns ---------------------------------------------------------------------------------------------------------
+			int candidate = CandidateGrid.getLowestValue(rest);
 			
-			//initiate position list of the candidate in the columns
-			HashMap<Integer, List<Integer>> candidateColPositions = new HashMap<Integer, List<Integer>>();
-			possiblePositions = new LinkedList<Integer>();
-			for (int colID = 0 ; colID < currentState.getField().getStructure().getWidth() ; colID++) {
-				//initiate position list
-				candidateColPositions.put(colID, new LinkedList<Integer>());
-				//iterate through all cells of the columns and save candidate's positions
-				for (int rowID = 0 ; rowID < currentState.getField().getStructure().getHeight() ; rowID++) {
-					if (currentState.getNoteManager().hasNote(currentState.getField().getCell(colID,rowID), candidate)) {
-						candidateColPositions.get(colID).add(rowID);
-						if (!possiblePositions.contains(rowID)) possiblePositions.add(rowID);
+			//check columns, the fish is located in the rows of the found columns
+			long[] colPositions = new long[width];
+			for (int colID = 0; colID < width; colID++) {
+				for (int rowID = 0; rowID < height; rowID++) {
+					if (candidates.hasCandidate(cellIndices[colID][rowID], candidate)) {
+						colPositions[colID] |= 1L << rowID;
 					}
 				}
 			}
+			notesChanged = this.findFish(colPositions, candidate, cellIndices, true, candidates) ? true : notesChanged;
 			
-			DebugHelper.log(DebugHelper.PackageName.SolverStrategy, "colPositionLists of candidate " + candidate);
-			for (int colID = 0 ; colID < currentState.getField().getStructure().getWidth() ; colID++) {
-				DebugHelper.log(DebugHelper.PackageName.SolverStrategy, "--- col " + colID + ": " + DebugHelper.getListString(candidateColPositions.get(colID)));
-			}
-			DebugHelper.log(DebugHelper.PackageName.SolverStrategy, "possible positions = " + DebugHelper.getListString(possiblePositions));
-			
-			//generate all subsets of the used positions
-			subsets = this.getSubsets(possiblePositions);
-			
-			//search for n position lists that contain all n positions of the subset
-			for (List<Integer> subset : subsets) {
-				
-				//just use subsets with at least 2 positions
-				if (subset.size() < 2 || subset.size() == possiblePositions.size()) continue;
-				
-				//initiate the list to save the columns that contains the subset
-				List<Integer> colCandidateList = new LinkedList<Integer>();
-				
-				//find position lists that only contains the positions of the subset
-				for (int colID = 0 ; colID < currentState.getField().getStructure().getWidth() ; colID++) {	
-					if (candidateColPositions.get(colID).size() > 0 && this.isSubset(candidateColPositions.get(colID), subset)) {
-						colCandidateList.add(colID);
+			//check rows with the candidates remaining after the column check
+			long[] rowPositions = new long[height];
+			for (int rowID = 0; rowID < height; rowID++) {
+				for (int colID = 0; colID < width; colID++) {
+					if (candidates.hasCandidate(cellIndices[colID][rowID], candidate)) {
+						rowPositions[rowID] |= 1L << colID;
 					}
 				}
-								
-				//if there are as much columns as positions in the subset the candidate are within theses positions.
-				//The candidates in the rows of the same position can be removed.
-				if (colCandidateList.size() == subset.size()) {
-					
-					DebugHelper.log(DebugHelper.PackageName.SolverStrategy, "nFish found in columns " + DebugHelper.getListString(colCandidateList) + " (subset = " + DebugHelper.getListString(subset) + ")");
-					
-					for (Integer rowID : subset) {
-						for (int colID = 0 ; colID < currentState.getField().getStructure().getWidth() ; colID++) {
-							if (!colCandidateList.contains(colID)) {
-								if (currentState.getNoteManager().hasNote(currentState.getField().getCell(colID, rowID), candidate))
-									DebugHelper.log(DebugHelper.PackageName.SolverStrategy, "remove candidate " + candidate + " from (" + colID + "," + rowID + ")");
-								notesChanged = currentState.getNoteManager().removeNote(currentState.getField().getCell(colID, rowID), candidate) ? true : notesChanged;
-							}
-						}
-					}
-					
-				} else {
-					
-					//DebugHelper.log(DebugHelper.PackageName.SolverStrategy, "subset did not match: " + DebugHelper.getListString(subset));
-					
-				}
-
 			}
+			notesChanged = this.findFish(rowPositions, candidate, cellIndices, false, candidates) ? true : notesChanged;
 			
-			//--- check rows ---------------------------------------------------------------------------------------------------------			
+		}
+		
+		//if notes were changed add solveStep to the result list
+		if (notesChanged) {
+			result.add(new SolveStep(notesChanged));
+		}
+		
+		if (DebugHelper.ENABLED) DebugHelper.log(DebugHelper.PackageName.SolverStrategy, "*** Finished nFish strategy (notes %schanged) ***", (result.size() == 0) ? "NOT " : "");
+		
+		return result;
+		
+	}
+	
+	/**
+	 * Searches n base lines which hold the candidate only within the same n positions and removes 
+	 * the candidate from these positions in all other lines.
+	 * @param linePositions the positions of the candidate within every base line as bitmask
+	 * @param candidate the candidate
+	 * @param cellIndices the cell indices of the field by column and row
+	 * @param columns <code>true</code> if the base lines are columns, <code>false</code> if they are rows
+	 * @param candidates the candidates of the current state
+	 * @return <code>true</code> if candidates were removed, <code>false</code> otherwise
+	 */
+	private boolean findFish(long[] linePositions, int candidate, int[][] cellIndices, boolean columns, CandidateGrid candidates) {
+		
+		boolean notesChanged = false;
+		
+		//get all positions of the candidate, a fish using all of them cannot lead to new results
+		long usedPositions = 0L;
+		for (long positions : linePositions) {
+			usedPositions |= positions;
+		}
+		int maxSize = Math.min(MAX_FISH_SIZE, CandidateGrid.bitCount(usedPositions) - 1);
+		
+		for (int size = 2; size <= maxSize; size++) {
 			
-			//initiate position list of the candidate in the rows
-			HashMap<Integer, List<Integer>> candidateRowPositions = new HashMap<Integer, List<Integer>>();
-			possiblePositions = new LinkedList<Integer>();
-			for (int rowID = 0 ; rowID < currentState.getField().getStructure().getHeight() ; rowID++) {
-				//initiate position list
-				candidateRowPositions.put(rowID, new LinkedList<Integer>());
-				//iterate through all cells of the row and save candidate's positions
-				for (int colID = 0 ; colID < currentState.getField().getStructure().getWidth() ; colID++) {
-					if (currentState.getNoteManager().hasNote(currentState.getField().getCell(colID,rowID), candidate)) {
-						candidateRowPositions.get(rowID).add(colID);
-						if (!possiblePositions.contains(colID)) possiblePositions.add(colID);
-					}
+			//only lines with at most n positions can be base lines of a fish of size n
+			int[] eligibleLines = new int[linePositions.length];
+			int eligibleCount = 0;
+			for (int line = 0; line < linePositions.length; line++) {
+				int positionCount = CandidateGrid.bitCount(linePositions[line]);
+				if (positionCount > 0 && positionCount <= size) {
+					eligibleLines[eligibleCount++] = line;
 				}
 			}
+			if (eligibleCount < size) continue;
 			
-			DebugHelper.log(DebugHelper.PackageName.SolverStrategy, "rowPositionLists of candidate " + candidate);
-			for (int rowID = 0 ; rowID < currentState.getField().getStructure().getHeight() ; rowID++) {
-				DebugHelper.log(DebugHelper.PackageName.SolverStrategy, "--- row " + rowID + ": " + DebugHelper.getListString(candidateRowPositions.get(rowID)));
-			}
-			DebugHelper.log(DebugHelper.PackageName.SolverStrategy, "possible positions = " + DebugHelper.getListString(possiblePositions));
-			
-			//generate all subsets of the used positions
-			subsets = this.getSubsets(possiblePositions);
-			
-			//search for n position lists that contain all n positions of the subset
-			for (List<Integer> subset : subsets) {
-				
-				//just use subsets with at least 2 positions
-				if (subset.size() < 2 || subset.size() == possiblePositions.size()) continue;
+			//iterate through all combinations of n base lines
+			for (long combination = getFirstSubset(size); combination < (1L << eligibleCount); combination = getNextSubset(combination)) {
 				
-				//initiate the list to save the rows that contains the subset
-				List<Integer> rowCandidateList = new LinkedList<Integer>();
-				
-				//find position lists that only contains the positions of the subset
-				for (int rowID = 0 ; rowID < currentState.getField().getStructure().getWidth() ; rowID++) {	
-					if (candidateRowPositions.get(rowID).size() > 0 && this.isSubset(candidateRowPositions.get(rowID), subset)) {
-						rowCandidateList.add(rowID);
-					}
+				long baseLines = 0L;
+				long fishPositions = 0L;
+				for (long restLines = combination; restLines != 0L; restLines = CandidateGrid.removeLowestValue(restLines)) {
+					int line = eligibleLines[Long.numberOfTrailingZeros(restLines)];
+					baseLines |= 1L << line;
+					fishPositions |= linePositions[line];
 				}
-								
-				//if there are as much rows as positions in the subset the candidate are within theses positions.
-				//The candidates in the rows of the same position can be removed.
-				if (rowCandidateList.size() == subset.size()) {
+				
+				//if the candidate of n lines is located within n positions the candidate of the other lines
+				//with the same position can be removed.
+				if (CandidateGrid.bitCount(fishPositions) == size) {
 					
-					DebugHelper.log(DebugHelper.PackageName.SolverStrategy, "nFish found in row " + DebugHelper.getListString(rowCandidateList) + " (subset = " + DebugHelper.getListString(subset) + ")");
+					if (DebugHelper.ENABLED) DebugHelper.log(DebugHelper.PackageName.SolverStrategy, "nFish of candidate %d found in %s%s", candidate, columns ? "columns " : "rows ", Long.toBinaryString(baseLines));
 					
-					for (Integer colID : subset) {
-						for (int rowID = 0 ; rowID < currentState.getField().getStructure().getHeight() ; rowID++) {
-							if (!rowCandidateList.contains(rowID)) {
-								if (currentState.getNoteManager().hasNote(currentState.getField().getCell(colID, rowID), candidate))
-									DebugHelper.log(DebugHelper.PackageName.SolverStrategy, "remove candidate " + candidate + " from (" + colID + "," + rowID + ")");
-								notesChanged = currentState.getNoteManager().removeNote(currentState.getField().getCell(colID, rowID), candidate) ? true : notesChanged;
-							}
+					for (int line = 0; line < linePositions.length; line++) {
+						if ((baseLines & (1L << line)) != 0L || (linePositions[line] & fishPositions) == 0L) continue;
+						for (long restPositions = linePositions[line] & fishPositions; restPositions != 0L; restPositions = CandidateGrid.removeLowestValue(restPositions)) {
+							int position = Long.numberOfTrailingZeros(restPositions);
+							int cellIndex = columns ? cellIndices[line][position] : cellIndices[position][line];
+							notesChanged = candidates.removeCandidate(cellIndex, candidate) ? true : notesChanged;
 						}
 					}
 					
-				} else {
-					
-					//DebugHelper.log(DebugHelper.PackageName.SolverStrategy, "subset did not match: " + DebugHelper.getListString(subset));
-					
 				}
-
+				
 			}
 			
 		}
 		
-		//if notes were changed add solveStep to the result list
-		if (notesChanged) {
-			result.add(new SolveStep(notesChanged));
-		}
-		
-		DebugHelper.log(DebugHelper.PackageName.SolverStrategy,  "*** Finished nFish strategy (notes " + ((result.size() == 0) ? "NOT " : "") + "changed) ***");
-		
-		return result;
+		return notesChanged;
 		
 	}
 	
@@ -271,5 +250,3 @@ public class NFishStrategy extends SolverStrategy {
 	}
 
 }
-
-
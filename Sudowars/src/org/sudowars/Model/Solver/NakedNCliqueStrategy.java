@@ -50,6 +50,7 @@ import java.util.List;
 import org.sudowars.Model.Sudoku.Field.Cell;
 import org.sudowars.Model.Sudoku.Field.Field;
 import org.sudowars.Model.Sudoku.RuleManagement.DependencyGroup;
+import org.sudowars.Model.Sudoku.RuleManagement.DependencyIndex;
 import org.sudowars.Model.Sudoku.RuleManagement.RuleApplier.StandardRulesetFactory;
 
 /**
@@ -63,6 +64,12 @@ import org.sudowars.Model.Sudoku.RuleManagement.RuleApplier.StandardRulesetFacto
 public class NakedNCliqueStrategy extends SolverStrategy {
 	
 	private static final long serialVersionUID = -7808464980666550386L;
+	
+	/**
+	 * The maximum number of candidates whose subsets are tried one by one. This covers the groups of 9x9 and 
+	 * 16x16 sudokus, the cliques of larger groups are searched by combining their cells.
+	 */
+	private static final int MAX_ENUMERATED_CANDIDATES = 16;
 
 	/**
 	 * Executes the strategy on the current state
@@ -86,44 +93,75 @@ public class NakedNCliqueStrategy extends SolverStrategy {
 		List<SolveStep> result = new LinkedList<SolveStep>();
 		Boolean notesChanged = false;
 		
+		CandidateGrid candidates = currentState.getCandidates();
+		
+		//only groups which changed since the last execution can lead to new results
+		DependencyIndex index = currentState.getDependencyManager().getDependencyIndex();
+		
 		//iterate through the dependency groups and find cells that hold identical candidate lists
-		for (DependencyGroup dependencyGroup : currentState.getDependencyManager().getDependencyGroups()) {
+		for (int groupNumber = 0; groupNumber < index.getGroupCount(); groupNumber++) {
+			
+			currentState.checkSolveContext();
+			
+			if (!currentState.checkGroup(this, groupNumber)) continue;
+			DependencyGroup dependencyGroup = index.getGroup(groupNumber);
 		
 			//get all cells of the group with a candidate list
 			List<Cell> cellList = this.getUnsetCells(currentState, dependencyGroup);
+			int[] cellIndices = new int[cellList.size()];
+			for (int position = 0; position < cellIndices.length; position++) {
+				cellIndices[position] = cellList.get(position).getIndex();
+			}
 			
 			//get all used candidates within the group
-			List<Integer> usedCandidates = this.getCandidateList(dependencyGroup, currentState);
-			
-			//generate all possible subsets of the used candidates
-			List<List<Integer>> subsets = this.getSubsets(usedCandidates);
+			long usedCandidates = 0L;
+			for (int cellIndex : cellIndices) {
+				usedCandidates |= candidates.getMask(cellIndex);
+			}
 			
-			//search for n cells that contain all n candidates of the subset
-			for (List<Integer> subset : subsets) {
+			//search for n cells that only contain the n candidates of a subset, a subset of all used
+			//candidates contains all cells and cannot lead to new results
+			for (int size = 2; size < CandidateGrid.bitCount(usedCandidates); size++) {
 				
-				//just use subsets with at least 2 and candidates
-				if (subset.size() < 2) continue;
-				
-				//initiate the list of cells that hold the cells of the potential clique
-				List<Cell> cliqueCellList = new LinkedList<Cell>();
-				
-				//iterate through the cells to find cells that only contain the candidates of the subset
-				for (int i = 0; i < cellList.size(); i++) {
-					Cell currentCell = cellList.get(i);
-					List<Integer> cellCandidates = currentState.getNoteManager().getNotes(currentCell);
-					if (this.isSubset(cellCandidates, subset)) {
-						cliqueCellList.add(currentCell);
+				//only cells with at most n candidates can be part of a clique, so only their candidates have to be combined
+				long eligibleCandidates = 0L;
+				int[] eligiblePositions = new int[cellIndices.length];
+				int eligibleCells = 0;
+				for (int position = 0; position < cellIndices.length; position++) {
+					if (candidates.getCandidateCount(cellIndices[position]) <= size) {
+						eligibleCandidates |= candidates.getMask(cellIndices[position]);
+						eligiblePositions[eligibleCells++] = position;
 					}
 				}
+				if (eligibleCells < size || CandidateGrid.bitCount(eligibleCandidates) < size) continue;
 				
-				//if there are as much cells as candidates the value are located within these fields.
-				//the candidates of other fields with the same value can be removed.
-				if (cliqueCellList.size() == subset.size()) {
-										
-					for (Cell cell : cellList) {
-						if (!cliqueCellList.contains(cell)) {
-							for (int candidateValue : subset) {
-								notesChanged = currentState.getNoteManager().removeNote(cell, candidateValue) ? true : notesChanged;
+				//the subsets of many candidates are too many to try them all, the cells are combined instead
+				if (CandidateGrid.bitCount(eligibleCandidates) > MAX_ENUMERATED_CANDIDATES) {
+					notesChanged = this.searchCliques(candidates, cellIndices, eligiblePositions, eligibleCells, size, 0, 0, 0L) ? true : notesChanged;
+					continue;
+				}
+				long[] candidateBits = getBits(eligibleCandidates);
+				
+				//iterate through all subsets of n candidates
+				for (long combination = getFirstSubset(size); combination < (1L << candidateBits.length); combination = getNextSubset(combination)) {
+					
+					long subset = selectBits(combination, candidateBits);
+					
+					//find cells that only contain the candidates of the subset
+					long cliqueCells = 0L;
+					for (int position = 0; position < cellIndices.length; position++) {
+						if ((candidates.getMask(cellIndices[position]) & ~subset) == 0L) {
+							cliqueCells |= 1L << position;
+						}
+					}
+					
+					//if there are as much cells as candidates the value are located within these fields.
+					//the candidates of other fields with the same value can be removed.
+					if (CandidateGrid.bitCount(cliqueCells) == size) {
+						for (int position = 0; position < cellIndices.length; position++) {
+							if ((cliqueCells & (1L << position)) == 0L) {
+								long cellMask = candidates.getMask(cellIndices[position]);
+								notesChanged = candidates.setMask(cellIndices[position], cellMask & ~subset) ? true : notesChanged;
 							}
 						}
 					}
@@ -143,6 +181,61 @@ public class NakedNCliqueStrategy extends SolverStrategy {
 		
 	}
 
+	/**
+	 * Combines the eligible cells to cliques of n cells and removes the candidates of every clique from the 
+	 * other cells of the group. Cells are only added while the clique holds at most n candidates, so the 
+	 * search skips most subsets of candidates.
+	 * @param candidates the candidates of the field
+	 * @param cellIndices the indices of the unset cells of the group
+	 * @param eligiblePositions the positions of the cells with at most n candidates within the cell indices
+	 * @param eligibleCells the number of eligible positions
+	 * @param size the size n of the cliques
+	 * @param start the first position within the eligible positions which can be added to the clique
+	 * @param depth the number of cells within the clique
+	 * @param cliqueCandidates the candidates of the cells within the clique
+	 * @return <code>true</code> if candidates were removed, <code>false</code> otherwise
+	 */
+	private boolean searchCliques(CandidateGrid candidates, int[] cellIndices, int[] eligiblePositions, int eligibleCells, 
+			int size, int start, int depth, long cliqueCandidates) {
+		
+		if (depth == size) {
+			
+			if (CandidateGrid.bitCount(cliqueCandidates) != size) return false;
+			
+			//find cells that only contain the candidates of the clique
+			long cliqueCells = 0L;
+			for (int position = 0; position < cellIndices.length; position++) {
+				if ((candidates.getMask(cellIndices[position]) & ~cliqueCandidates) == 0L) {
+					cliqueCells |= 1L << position;
+				}
+			}
+			
+			//if there are as much cells as candidates the value are located within these fields.
+			//the candidates of other fields with the same value can be removed.
+			boolean notesChanged = false;
+			if (CandidateGrid.bitCount(cliqueCells) == size) {
+				for (int position = 0; position < cellIndices.length; position++) {
+					if ((cliqueCells & (1L << position)) == 0L) {
+						long cellMask = candidates.getMask(cellIndices[position]);
+						notesChanged = candidates.setMask(cellIndices[position], cellMask & ~cliqueCandidates) ? true : notesChanged;
+					}
+				}
+			}
+			return notesChanged;
+			
+		}
+		
+		boolean notesChanged = false;
+		for (int next = start; next <= eligibleCells - (size - depth); next++) {
+			long combined = cliqueCandidates | candidates.getMask(cellIndices[eligiblePositions[next]]);
+			if (CandidateGrid.bitCount(combined) <= size) {
+				notesChanged = this.searchCliques(candidates, cellIndices, eligiblePositions, eligibleCells, size, next + 1, depth + 1, combined) ? true : notesChanged;
+			}
+		}
+		return notesChanged;
+		
+	}
+	
 	/**
 	 * Initialises a new instance of the {@link HiddenNCliqueStrategy} class
 	 */
@@ -49,6 +49,7 @@ import java.util.List;
 
 import org.sudowars.Model.Sudoku.Field.Cell;
 import org.sudowars.Model.Sudoku.RuleManagement.DependencyGroup;
+import org.sudowars.Model.Sudoku.RuleManagement.DependencyIndex;
 import org.sudowars.Model.Sudoku.RuleManagement.RuleApplier.StandardRulesetFactory;
 
 /**
@@ -83,8 +84,16 @@ public class NakedSingleStrategy extends SolverStrategy {
 		List<Cell> solvedCells = new LinkedList<Cell>();
 		List<SolveStep> result = new LinkedList<SolveStep>();
 		
+		//only groups which changed since the last execution can lead to new results
+		DependencyIndex index = currentState.getDependencyManager().getDependencyIndex();
+		
 		//iterate through the dependency groups and find cells that can hold just one value						
-		for (DependencyGroup dependencyGroup : currentState.getDependencyManager().getDependencyGroups()) {
+		for (int groupNumber = 0; groupNumber < index.getGroupCount(); groupNumber++) {
+			
+			currentState.checkSolveContext();
+			
+			if (!currentState.checkGroup(this, groupNumber)) continue;
+			DependencyGroup dependencyGroup = index.getGroup(groupNumber);
 					
 			//get all cells of the group that are not set or solved yet
 			List<Cell> unsetCells = this.getUnsetCells(currentState, dependencyGroup, solvedCells);
@@ -93,9 +102,9 @@ public class NakedSingleStrategy extends SolverStrategy {
 				
 				//get the cell and its notes
 				Cell unsetCell = unsetCells.get(0);
-				List<Integer> cellNotes = currentState.getNoteManager().getNotes(unsetCell);
-				if (cellNotes.size() != 1) throw new NotSolvableException();		
-				int cellValue = cellNotes.get(0);
+				long cellNotes = currentState.getCandidates().getMask(unsetCell.getIndex());
+				if (CandidateGrid.bitCount(cellNotes) != 1) throw new NotSolvableException();
+				int cellValue = CandidateGrid.getLowestValue(cellNotes);
 				
 				//delete solution from all DependencyGroups of the solved Cell
 				Boolean notesChanged = this.removeValueFromNeighbourNotes(unsetCell, cellValue, currentState);
@@ -103,8 +112,9 @@ public class NakedSingleStrategy extends SolverStrategy {
 				//add solution to result list
 				result.add(new SolveStep(unsetCell, cellValue, notesChanged));
 				
-				//save solved cell
+				//save solved cell, its groups have to be checked again without it
 				solvedCells.add(unsetCell);
+				currentState.getCandidates().touch(unsetCell.getIndex());
 				
 			}
 			
@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2011 - 2012 Adrian Vielsack, Christof Urbaczek, Florian Rosenthal, Michael Hoff, Moritz Lüdecke, Philip Flohr.
+ * 
+ * This file is part of Sudowars.
+ * 
+ * Sudowars is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Sudowars is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Sudowars.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * 
+ * 
+ * Diese Datei ist Teil von Sudowars.
+ * 
+ * Sudowars ist Freie Software: Sie können es unter den Bedingungen
+ * der GNU General Public License, wie von der Free Software Foundation,
+ * Version 3 der Lizenz oder (nach Ihrer Option) jeder späteren
+ * veröffentlichten Version, weiterverbreiten und/oder modifizieren.
+ * 
+ * Sudowars wird in der Hoffnung, dass es nützlich sein wird, aber
+ * OHNE JEDE GEWÄHELEISTUNG, bereitgestellt; sogar ohne die implizite
+ * Gewährleistung der MARKTFÄHIGKEIT oder EIGNUNG FÜR EINEN BESTIMMTEN ZWECK.
+ * Siehe die GNU General Public License für weitere Details.
+ * 
+ * Sie sollten eine Kopie der GNU General Public License zusammen mit diesem
+ * Programm erhalten haben. Wenn nicht, siehe <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ * initial API and implementation:
+ * Adrian Vielsack
+ * Christof Urbaczek
+ * Florian Rosenthal
+ * Michael Hoff
+ * Moritz Lüdecke
+ * Philip Flohr 
+ ******************************************************************************/
+package org.sudowars.Model.Solver;
+
+import java.util.LinkedList;
+
+import org.sudowars.Model.Difficulty.Difficulty;
+import org.sudowars.Model.Difficulty.DifficultyEvaluator;
+
+/**
+ * A {@link BacktrackingSolver} which only uses the strategies the bounds of the {@link Difficulty}s 
+ * were chosen for. Its used strategies are passed to the {@link DifficultyEvaluator}, further strategies 
+ * save backtracking steps and would lower the rating of hard sudokus.
+ */
+public class RatingSolver extends BacktrackingSolver {
+	
+	private static final long serialVersionUID = -3318905172650438857L;
+	
+	/**
+	 * Initialises the used strategies and adds them to the list by there priority.
+	 */
+	@Override
+	protected void createStrategies() {
+		
+		this.solveStrategies = new LinkedList<SolverStrategy>();
+
+		this.solveStrategies.add(new NakedSingleStrategy(1));
+		this.solveStrategies.add(new HiddenSingleStrategy(3));
+		this.solveStrategies.add(new LockedCandidateStrategy(6));
+		this.solveStrategies.add(new NakedNCliqueStrategy(8));
+		this.solveStrategies.add(new HiddenNCliqueStrategy(15));
+		
+	}
+	
+}
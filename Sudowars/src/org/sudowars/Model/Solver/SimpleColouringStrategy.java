@@ -0,0 +1,238 @@
+/*******************************************************************************
+ * Copyright (c) 2011 - 2012 Adrian Vielsack, Christof Urbaczek, Florian Rosenthal, Michael Hoff, Moritz Lüdecke, Philip Flohr.
+ * 
+ * This file is part of Sudowars.
+ * 
+ * Sudowars is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Sudowars is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Sudowars.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * 
+ * 
+ * Diese Datei ist Teil von Sudowars.
+ * 
+ * Sudowars ist Freie Software: Sie können es unter den Bedingungen
+ * der GNU General Public License, wie von der Free Software Foundation,
+ * Version 3 der Lizenz oder (nach Ihrer Option) jeder späteren
+ * veröffentlichten Version, weiterverbreiten und/oder modifizieren.
+ * 
+ * Sudowars wird in der Hoffnung, dass es nützlich sein wird, aber
+ * OHNE JEDE GEWÄHELEISTUNG, bereitgestellt; sogar ohne die implizite
+ * Gewährleistung der MARKTFÄHIGKEIT oder EIGNUNG FÜR EINEN BESTIMMTEN ZWECK.
+ * Siehe die GNU General Public License für weitere Details.
+ * 
+ * Sie sollten eine Kopie der GNU General Public License zusammen mit diesem
+ * Programm erhalten haben. Wenn nicht, siehe <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ * initial API and implementation:
+ * Adrian Vielsack
+ * Christof Urbaczek
+ * Florian Rosenthal
+ * Michael Hoff
+ * Moritz Lüdecke
+ * Philip Flohr 
+ ******************************************************************************/
+package org.sudowars.Model.Solver;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.sudowars.Model.Sudoku.Field.Cell;
+import org.sudowars.Model.Sudoku.Field.Field;
+import org.sudowars.Model.Sudoku.RuleManagement.DependencyIndex;
+import org.sudowars.Model.Sudoku.RuleManagement.RuleApplier.StandardRulesetFactory;
+
+/**
+ * This class defines the "simple colouring"-strategy to solve the next {@link Cell} of a {@link Field}.
+ * 
+ * The strong links of a candidate are coloured alternately with two colours, so all cells of one colour hold 
+ * the value. If two cells of the same colour see each other, the colour is wrong and the candidate can be 
+ * removed from all its cells. Otherwise the candidate can be removed from all cells seeing both colours.
+ * The strategy uses the strong links of the {@link LinkGraph}.
+ */
+public class SimpleColouringStrategy extends SolverStrategy {
+	
+	private static final long serialVersionUID = -3016358710983744462L;
+
+	/**
+	 * Executes the strategy on the current state
+	 * @param currentState The current solution state
+	 * @return List of SolveSteps calculated by the strategy
+	 * @throws NotSolvableException if the strategy detects that the current field is not solvable
+	 * @throws IllegalArgumentException if the given state is <code>null</code>
+	 */
+	public List<SolveStep> executeStrategy(SolverState currentState) throws IllegalArgumentException {
+		
+		if (currentState == null) {
+			throw new IllegalArgumentException("given SolverState cannot be null.");
+		}
+		
+		//strategy needs standard ruleset to solve cells or rather reduce candidates
+		if (!StandardRulesetFactory.getInstance().isStandardRuleset(currentState.getDependencyManager())) {
+			return new LinkedList<SolveStep>();
+		}
+		
+		//initiate result
+		List<SolveStep> result = new LinkedList<SolveStep>();
+		Boolean notesChanged = false;
+		LinkGraph graph = currentState.getLinkGraph();
+		
+		DependencyIndex index = graph.getDependencyIndex();
+		CandidateGrid candidates = currentState.getCandidates();
+		int[] colours = new int[index.getCellCount()];
+		
+		//iterate through the used candidates and colour their strong links
+		for (long rest = graph.getUsedCandidates(); rest != 0L; rest = CandidateGrid.removeLowestValue(rest)) {
+			
+			currentState.checkSolveContext();
+			
+			int candidate = CandidateGrid.getLowestValue(rest);
+			int[] links = graph.getStrongLinks(candidate);
+			if (links.length == 0) continue;
+			
+			//colour every chain of strong links, chain n uses the colours 2n + 1 and 2n + 2
+			Arrays.fill(colours, 0);
+			int chainCount = 0;
+			for (int start = 0; start < links.length; start++) {
+				
+				if (colours[links[start]] != 0) continue;
+				colours[links[start]] = 2 * chainCount + 1;
+				chainCount++;
+				
+				//spread the colours along the links until the chain does not grow anymore
+				boolean chainChanged = true;
+				while (chainChanged) {
+					chainChanged = false;
+					for (int link = 0; link < links.length; link += 2) {
+						int first = links[link];
+						int second = links[link + 1];
+						if (colours[first] != 0 && colours[second] == 0) {
+							colours[second] = getOppositeColour(colours[first]);
+							chainChanged = true;
+						} else if (colours[first] == 0 && colours[second] != 0) {
+							colours[first] = getOppositeColour(colours[second]);
+							chainChanged = true;
+						}
+					}
+				}
+				
+			}
+			
+			//check every chain
+			for (int chain = 0; chain < chainCount; chain++) {
+				
+				int firstColour = 2 * chain + 1;
+				int secondColour = 2 * chain + 2;
+				
+				//a colour that sees itself is wrong
+				boolean removed = false;
+				for (int colour = firstColour; colour <= secondColour && !removed; colour++) {
+					if (this.seesColour(colours, colour, colour, index)) {
+						for (int cellIndex = 0; cellIndex < colours.length; cellIndex++) {
+							if (colours[cellIndex] == colour) {
+								notesChanged = candidates.removeCandidate(cellIndex, candidate) ? true : notesChanged;
+							}
+						}
+						removed = true;
+					}
+				}
+				if (removed) continue;
+				
+				//one of the colours is right, so cells seeing both colours cannot hold the candidate
+				for (int cellIndex = 0; cellIndex < colours.length; cellIndex++) {
+					if (colours[cellIndex] == firstColour || colours[cellIndex] == secondColour) continue;
+					if (!candidates.hasCandidate(cellIndex, candidate)) continue;
+					if (this.seesColour(cellIndex, colours, firstColour, index) && this.seesColour(cellIndex, colours, secondColour, index)) {
+						notesChanged = candidates.removeCandidate(cellIndex, candidate) ? true : notesChanged;
+					}
+				}
+				
+			}
+			
+		}
+		
+		//if notes were changed add solveStep to the result list
+		if (notesChanged) {
+			result.add(new SolveStep(notesChanged));
+		}
+		
+		return result;
+		
+	}
+	
+	/**
+	 * Returns the other colour of the same chain.
+	 * @param colour the colour
+	 * @return the opposite colour
+	 */
+	private static int getOppositeColour(int colour) {
+		return (colour % 2 == 1) ? colour + 1 : colour - 1;
+	}
+	
+	/**
+	 * Checks if a cell is a peer of a cell with the given colour.
+	 * @param cellIndex the cell to check
+	 * @param colours the colours of all cells
+	 * @param colour the colour to search
+	 * @param index the dependency index of the field
+	 * @return <code>true</code> if the cell sees the colour, <code>false</code> otherwise
+	 */
+	private boolean seesColour(int cellIndex, int[] colours, int colour, DependencyIndex index) {
+		
+		for (int position = 0; position < index.getPeerCount(cellIndex); position++) {
+			if (colours[index.getPeer(cellIndex, position)] == colour) {
+				return true;
+			}
+		}
+		
+		return false;
+		
+	}
+	
+	/**
+	 * Checks if a cell of the first colour is a peer of a cell with the second colour.
+	 * @param colours the colours of all cells
+	 * @param firstColour the colour of the cells to check
+	 * @param secondColour the colour to search
+	 * @param index the dependency index of the field
+	 * @return <code>true</code> if a cell of the first colour sees the second colour, <code>false</code> otherwise
+	 */
+	private boolean seesColour(int[] colours, int firstColour, int secondColour, DependencyIndex index) {
+		
+		for (int cellIndex = 0; cellIndex < colours.length; cellIndex++) {
+			if (colours[cellIndex] == firstColour && this.seesColour(cellIndex, colours, secondColour, index)) {
+				return true;
+			}
+		}
+		
+		return false;
+		
+	}
+	
+	/**
+	 * Initialises a new instance of the {@link SimpleColouringStrategy} class
+	 */
+	public SimpleColouringStrategy() {
+		super();
+	}
+	
+	/**
+	 * Initialises a new instance of the {@link SimpleColouringStrategy} class
+	 * @param strategyWeight the weight of the strategy
+	 */
+	public SimpleColouringStrategy(int strategyWeight) {
+		super(strategyWeight);
+	}
+
+}
@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2011 - 2012 Adrian Vielsack, Christof Urbaczek, Florian Rosenthal, Michael Hoff, Moritz Lüdecke, Philip Flohr.
+ * 
+ * This file is part of Sudowars.
+ * 
+ * Sudowars is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Sudowars is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Sudowars.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * 
+ * 
+ * Diese Datei ist Teil von Sudowars.
+ * 
+ * Sudowars ist Freie Software: Sie können es unter den Bedingungen
+ * der GNU General Public License, wie von der Free Software Foundation,
+ * Version 3 der Lizenz oder (nach Ihrer Option) jeder späteren
+ * veröffentlichten Version, weiterverbreiten und/oder modifizieren.
+ * 
+ * Sudowars wird in der Hoffnung, dass es nützlich sein wird, aber
+ * OHNE JEDE GEWÄHELEISTUNG, bereitgestellt; sogar ohne die implizite
+ * Gewährleistung der MARKTFÄHIGKEIT oder EIGNUNG FÜR EINEN BESTIMMTEN ZWECK.
+ * Siehe die GNU General Public License für weitere Details.
+ * 
+ * Sie sollten eine Kopie der GNU General Public License zusammen mit diesem
+ * Programm erhalten haben. Wenn nicht, siehe <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ * initial API and implementation:
+ * Adrian Vielsack
+ * Christof Urbaczek
+ * Florian Rosenthal
+ * Michael Hoff
+ * Moritz Lüdecke
+ * Philip Flohr 
+ ******************************************************************************/
+package org.sudowars.Model.Solver;
+
+/**
+ * This class defines when a solving process has to stop. A context holds an optional deadline and can be 
+ * cancelled from any thread. Solvers, strategies and the generator check their context regularly and stop by 
+ * throwing a {@link SolveCancelledException}, the solvers report this as 
+ * {@link StrategyExecutor.ExecuteResult#TIMEDOUT}.
+ * <br>
+ * A context can be shared by several solving processes, cancelling it stops all of them.
+ */
+public final class SolveContext {
+	
+	//deadline in nanoseconds as returned by System.nanoTime(), only valid if hasDeadline is set
+	private final long deadline;
+	private final boolean hasDeadline;
+	private volatile boolean cancelled;
+	
+	/**
+	 * Initialises a new instance of the {@link SolveContext} class without a deadline.
+	 */
+	public SolveContext() {
+		this.deadline = 0L;
+		this.hasDeadline = false;
+	}
+	
+	/**
+	 * Initialises a new instance of the {@link SolveContext} class with a deadline.
+	 * @param timeoutMillis the number of milliseconds from now on until the deadline passes
+	 * @throws IllegalArgumentException if the given timeout is smaller than zero
+	 */
+	public SolveContext(long timeoutMillis) throws IllegalArgumentException {
+		
+		if (timeoutMillis < 0) {
+			throw new IllegalArgumentException("given timeout cannot be smaller than zero.");
+		}
+		
+		this.deadline = System.nanoTime() + timeoutMillis * 1000000L;
+		this.hasDeadline = true;
+		
+	}
+	
+	/**
+	 * Cancels all solving processes using this context.
+	 */
+	public void cancel() {
+		this.cancelled = true;
+	}
+	
+	/**
+	 * Indicates whether the context was cancelled.
+	 * @return <code>true</code> if the context was cancelled, <code>false</code> otherwise
+	 */
+	public boolean isCancelled() {
+		return this.cancelled;
+	}
+	
+	/**
+	 * Indicates whether the deadline of the context passed.
+	 * @return <code>true</code> if the deadline passed, <code>false</code> if it did not pass or there is none
+	 */
+	public boolean isTimedOut() {
+		return this.hasDeadline && System.nanoTime() - this.deadline >= 0;
+	}
+	
+	/**
+	 * Indicates whether solving processes using this context have to stop.
+	 * @return <code>true</code> if the context was cancelled or its deadline passed, <code>false</code> otherwise
+	 */
+	public boolean isStopped() {
+		return this.cancelled || this.isTimedOut();
+	}
+	
+	/**
+	 * Stops the current solving process if the context was cancelled or its deadline passed.
+	 * @throws SolveCancelledException if the context was cancelled or its deadline passed
+	 */
+	public void check() throws SolveCancelledException {
+		if (this.cancelled) {
+			throw new SolveCancelledException(false);
+		}
+		if (this.isTimedOut()) {
+			throw new SolveCancelledException(true);
+		}
+	}
+	
+}
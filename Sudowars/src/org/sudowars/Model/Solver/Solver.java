@@ -67,6 +67,20 @@ public interface Solver extends Serializable {
 	 */
 	public Field<DataCell> solve(Field<DataCell> initialField, DependencyManager dependencyManager);
 	
+	/**
+	 * Counts the solutions of a {@link Field} of {@link DataCell}s without returning them. The search stops 
+	 * as soon as the given limit is reached, a limit of 2 is enough to check if a field is unique solvable.
+	 *
+	 * @param initialField The initial field to solve
+	 * @param dependencyManager The dependency manager of the field
+	 * @param limit The maximum number of solutions to count
+	 *
+	 * @return the number of solutions, but at most the given limit
+	 *
+	 * @throws IllegalArgumentException if no field or no dependencyManager was given or limit is smaller than 1
+	 */
+	public int countSolutions(Field<DataCell> initialField, DependencyManager dependencyManager, int limit);
+	
 }
 
 
@@ -44,33 +44,95 @@
  ******************************************************************************/
 package org.sudowars.Model.Solver;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
-import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
 import java.util.List;
 
 import org.sudowars.Model.Sudoku.Field.Cell;
+import org.sudowars.Model.Sudoku.Field.CompactField;
+import org.sudowars.Model.Sudoku.Field.DataCell;
 import org.sudowars.Model.Sudoku.Field.Field;
 import org.sudowars.Model.Sudoku.RuleManagement.DependencyGroup;
+import org.sudowars.Model.Sudoku.RuleManagement.DependencyIndex;
 import org.sudowars.Model.Sudoku.RuleManagement.DependencyManager;
+import org.sudowars.Model.Sudoku.RuleManagement.GroupOccupancy;
+import org.sudowars.Model.Sudoku.RuleManagement.RuleApplier.StandardRulesetFactory;
 import org.sudowars.Model.SudokuUtil.NoteManager;
+import org.sudowars.Model.SudokuUtil.ZobristKeys;
 
 /**
  * This class defines the state of the {@link StrategyExecutor}. It holds all necessary information so that the 
  * {@link StrategyExecutor} can solve the next cell of the given field. The class can also be used to save and 
  * restore a current state.  
+ * <br>
+ * Instead of cloning the state for every branch, a branch can open a mark with {@link SolverState#mark()}. 
+ * Cell values set by {@link SolverState#setCellValue(int, int)} and candidate changes are recorded until
+ * the mark is rolled back or committed.
+ * <br>
+ * The state also remembers when a strategy checked a {@link DependencyGroup} last, so strategies can skip
+ * groups which did not change since then.
+ * <br>
+ * The cell values and candidates are hashed with Zobrist keys which are updated with every change, so states 
+ * can be hashed and told apart in O(1), e.g. to remember already explored states.
+ * <br>
+ * The cell values are held by a {@link CompactField}, so copying a state does not copy single cells. The 
+ * {@link Field} returned by {@link SolverState#getField()} is a read-only view of these values.
+ * @see SolverState#checkGroup(SolverStrategy, int)
+ * @see SolverState#getStateHash()
  */
 public class SolverState implements Serializable {
 
 	private static final long serialVersionUID = -2949216104314821472L;
 
-	protected Field<Cell> field;
+	protected CompactField field;
 	private DependencyManager dependencyManager;
-	private NoteManager noteManager;
+	private CandidateGrid candidates;
+	transient private NoteManager noteManager;
 	private SolveStep lastSolveStep;
 	
+	//Zobrist hash of the cell values
+	transient private long valueHash;
+	
+	//trail of the set cells and their previous values, only recorded while a mark is open
+	transient private int[] cellTrailIndices;
+	transient private int[] cellTrailValues;
+	transient private int cellTrailSize;
+	
+	//open marks as pairs of candidate mark and cell trail size, and the last solve step of every mark
+	transient private int[] marks;
+	transient private SolveStep[] markedSolveSteps;
+	transient private int markCount;
+	
+	//modification counts of the last check of every group per strategy, the last element holds the epoch of the checks
+	transient private IdentityHashMap<SolverStrategy, int[]> checkedGroups;
+	
+	//links between the candidates shared by the chain based strategies
+	transient private LinkGraph linkGraph;
+	
+	//context of the running solving process, null if the process cannot be stopped
+	transient private SolveContext solveContext;
+	
 	/**
-	 * Sets the field of the SolverState
+	 * The values and candidates of a {@link SolverState} at a specific moment.
+	 */
+	static final class Snapshot {
+		
+		private final int[] values;
+		private final CandidateGrid candidates;
+		
+		private Snapshot(int[] values, CandidateGrid candidates) {
+			this.values = values;
+			this.candidates = candidates;
+		}
+		
+	}
+	
+	/**
+	 * Sets the field of the SolverState by copying the values of the given field. Replacing the field is not 
+	 * recorded by open marks.
 	 * @param field the field to set
 	 * @throws IllegalArgumentException thrown if given field is <code>null</code>
 	 */
@@ -80,7 +142,29 @@ public class SolverState implements Serializable {
 			throw new IllegalArgumentException("Given Field is null");
 		}
 		
+		this.setField(new CompactField(field));
+		
+	}
+	
+	/**
+	 * Sets the field of the SolverState, the given field is used directly without copying. Replacing the 
+	 * field is not recorded by open marks.
+	 * @param field the field to set
+	 * @throws IllegalArgumentException thrown if given field is <code>null</code>
+	 */
+	private void setField(CompactField field) throws IllegalArgumentException{
+		
+		if (field == null) {
+			throw new IllegalArgumentException("Given Field is null");
+		}
+		
 		this.field = field;
+		this.computeValueHash();
+		
+		//all cells may have changed
+		if (this.candidates != null) {
+			this.candidates.touchAll();
+		}
 		
 	}
 	
@@ -97,10 +181,14 @@ public class SolverState implements Serializable {
 		
 		this.dependencyManager = dependencyManager;
 		
+		//the groups may have changed
+		this.checkedGroups = null;
+		
 	}
 
 	/**
-	 * Sets the NoteManager of the SolverState
+	 * Sets the notes of the SolverState. The notes of the given {@link NoteManager} are copied into 
+	 * the candidates of this state.
 	 * @param NoteManager the NoteManager to set
 	 * @throws IllegalArgumentException thrown if given NoteManager is <code>null</code>
 	 */
@@ -110,56 +198,87 @@ public class SolverState implements Serializable {
 			throw new IllegalArgumentException("Given NoteManager is null");
 		}
 		
-		this.noteManager = noteManager;
+		if (noteManager instanceof CandidateNoteManager) {
+			this.candidates.copyFrom(((CandidateNoteManager) noteManager).getCandidates());
+			return;
+		}
+		
+		for (Cell cell : this.field.asField().getCells()) {
+			long mask = 0L;
+			for (int note : noteManager.getNotes(cell)) {
+				mask |= CandidateGrid.getValueBit(note);
+			}
+			this.candidates.setMask(cell.getIndex(), mask);
+		}
 		
 	}
 	
 	/**
-	 * Generates a local instance of {@link NoteManager} and filter all possible values
+	 * Sets the candidates of the SolverState by copying the given grid.
+	 * @param candidates the candidates to set
+	 * @throws IllegalArgumentException thrown if given grid is <code>null</code> or does not match the field size
+	 */
+	public void setCandidates(CandidateGrid candidates) throws IllegalArgumentException {
+		this.candidates.copyFrom(candidates);
+	}
+	
+	/**
+	 * Generates the candidates of all unsolved cells by intersecting the valid values of their dependency groups
 	 */
-	private void createNoteManager() {
+	private void createCandidates() {
 		
-		this.noteManager = new NoteManager();
+		this.candidates = new CandidateGrid(this.field.getStructure().getWidth() * this.field.getStructure().getHeight());
+		
+		//the standard rules only forbid the values of the other cells of a group, so the valid values of every cell
+		//can be taken from the occupancy of its groups
+		if (StandardRulesetFactory.getInstance().isStandardRuleset(this.dependencyManager) 
+				&& this.field.getStructure().getWidth() <= GroupOccupancy.MAX_VALUE) {
+			DependencyIndex index = this.dependencyManager.getDependencyIndex();
+			GroupOccupancy occupancy = new GroupOccupancy(index, this.field.getStructure().getWidth());
+			for (int cellIndex = 0; cellIndex < index.getCellCount(); cellIndex++) {
+				occupancy.setValue(cellIndex, this.field.getValue(cellIndex));
+			}
+			for (int cellIndex = 0; cellIndex < index.getCellCount(); cellIndex++) {
+				if (!this.field.isSet(cellIndex) && index.getGroupCountOfCell(cellIndex) > 0) {
+					this.candidates.setMask(cellIndex, occupancy.getValidValues(cellIndex));
+				}
+			}
+			return;
+		}
 		
 		//iterate through all cells and search the candidates for the unsolved cells
-		for (Cell cell : this.field.getCells()) {
+		Field<Cell> cells = this.field.asField();
+		for (Cell cell : cells.getCells()) {
 		
 			//set fields have no candidates and can be skipped
 			if (cell.isSet()) continue;
 			
-			//collect all valid values of the cell
-			List<List<Integer>> groupCandidates = new LinkedList<List<Integer>>();			
-			for (DependencyGroup cellGroup : this.dependencyManager.getDependencyGroupsOfCell(cell)) {
-				groupCandidates.add(cellGroup.getRule().getValidValues(this.field, cellGroup, cell));
-			}
+			//candidates of the cell have to be valid in all groups of the cell
+			List<DependencyGroup> cellGroups = this.dependencyManager.getDependencyGroupsOfCell(cell);
 			
-			//if there is no candidate for the cell it can not be solved
-			if (groupCandidates.size() == 0) {
-				//TODO Exception werfen?
+			//if there is no group for the cell it can not be solved
+			if (cellGroups.isEmpty()) {
 				continue;
 			}
 			
-			//candidates of the cell have to be found in all candidates lists
-			List<Integer> cellCandidates = groupCandidates.get(0);
-			for (int listIndex = 1; listIndex < groupCandidates.size(); listIndex++) {
-				//compare the current and the group list and delete candidates that can not be found in both lists
-				Iterator<Integer> it = cellCandidates.iterator();
-				while (it.hasNext()) {
-					if (!groupCandidates.get(listIndex).contains(it.next())) it.remove();
+			long cellMask = -1L;
+			for (DependencyGroup cellGroup : cellGroups) {
+				long groupMask = 0L;
+				for (int value : cellGroup.getRule().getValidValues(cells, cellGroup, cell)) {
+					groupMask |= CandidateGrid.getValueBit(value);
 				}
+				cellMask &= groupMask;
 			}
 			
-			//add candidates to NoteManager
-			for (int candidate : cellCandidates) {
-				this.noteManager.addNote(cell, candidate);
-			}
+			this.candidates.setMask(cell.getIndex(), cellMask);
 			
 		}
 		
 	}
 	
 	/**
-	 * Initialises a new instance of the {@link SolverState} class.
+	 * Initialises a new instance of the {@link SolverState} class. The values of the given field are copied, 
+	 * so the field is not changed by the solving process.
 	 *
 	 * @param field The field to solve.
 	 * @param dependencyManager The {@link DependencyManager} of the field.
@@ -172,15 +291,58 @@ public class SolverState implements Serializable {
 				
 		this.setField(field);
 		this.setDependencyManager(dependencyManager);
-		this.createNoteManager();
+		this.createCandidates();
+		
+	}
+	
+	/**
+	 * Initialises a new instance of the {@link SolverState} class. The values of the given field are copied, 
+	 * so the field is not changed by the solving process.
+	 *
+	 * @param field The field to solve.
+	 * @param dependencyManager The {@link DependencyManager} of the field.
+	 *
+	 * @throws IllegalArgumentException is thrown if at least one of the given 
+	 * 				arguments is <code>null</code>
+	 */
+	public SolverState(CompactField field, DependencyManager dependencyManager) throws IllegalArgumentException {
+		
+		this.setField(field == null ? null : field.clone());
+		this.setDependencyManager(dependencyManager);
+		this.createCandidates();
+		
+	}
+	
+	/**
+	 * Initialises a new instance of the {@link SolverState} class with already known candidates.
+	 *
+	 * @param field The field to solve, used directly without copying.
+	 * @param dependencyManager The {@link DependencyManager} of the field.
+	 * @param candidates The candidates of the unsolved cells, used directly without copying.
+	 */
+	private SolverState(CompactField field, DependencyManager dependencyManager, CandidateGrid candidates) {
+		
+		this.setField(field);
+		this.setDependencyManager(dependencyManager);
+		this.candidates = candidates;
 		
 	}
 	
 	/**
-	 * Returns the current {@link Field}.
+	 * Returns the current {@link Field}. The field is a read-only view of the current cell values, 
+	 * they are changed by {@link SolverState#setCellValue(int, int)}.
 	 * @return The current {@link Field}.
 	 */
 	public Field<Cell> getField() {
+		return this.field.asField();
+	}
+	
+	/**
+	 * Returns the current cell values. The values must not be changed directly, otherwise the hashes and 
+	 * open marks of the state get out of sync, use {@link SolverState#setCellValue(int, int)} instead.
+	 * @return The current cell values.
+	 */
+	public CompactField getCompactField() {
 		return this.field;
 	}
 
@@ -193,10 +355,22 @@ public class SolverState implements Serializable {
 	}
 
 	/**
-	 * Returns the current {@link NoteManager} of the {@link ConsecutiveSolver}.
-	 * @return The current {@link NoteManager} of the {@link ConsecutiveSolver}.
+	 * Returns the candidates of the unsolved cells, indexed by cell index.
+	 * @return The candidates of the unsolved cells.
+	 */
+	public CandidateGrid getCandidates() {
+		return this.candidates;
+	}
+
+	/**
+	 * Returns a {@link NoteManager} view of the current candidates. Changes made through the view
+	 * are written to the candidates of this state.
+	 * @return A {@link NoteManager} view of the current candidates.
 	 */
 	public NoteManager getNoteManager() {
+		if (this.noteManager == null) {
+			this.noteManager = new CandidateNoteManager(this.candidates);
+		}
 		return this.noteManager;
 	}
 
@@ -220,33 +394,282 @@ public class SolverState implements Serializable {
 	}
 	
 	/**
-	 * Returns a copy of the state
-	 * @return a copy of the state
+	 * Sets the value of a cell of the field. While a mark is open the previous value is recorded.
+	 * @param cellIndex index of the cell
+	 * @param value the new value of the cell
 	 */
-	public SolverState clone() {
+	public void setCellValue(int cellIndex, int value) {
 		
-		//clone field
-		Field<Cell> newField = this.field.clone();
-		
-		//create new SolverState
-		SolverState newSolverState = new SolverState(newField, this.dependencyManager);
-		
-		//clone NoteManager
-		NoteManager newNoteManager = newSolverState.getNoteManager();
-		for (Cell cell : this.field.getCells()) {
-			//remove all notes from the new NoteManager
-			newNoteManager.removeAllNotes(newField.getCell(cell.getIndex()));
-			//copy notes from old NoteManager
-			if (this.noteManager.hasNotes(cell)) {
-				for (int candidate : this.noteManager.getNotes(cell)) {
-					newNoteManager.addNote(newField.getCell(cell.getIndex()), candidate);
-				}
+		int previousValue = this.field.getValue(cellIndex);
+		if (previousValue == value) return;
+		
+		if (this.markCount > 0) {
+			if (this.cellTrailIndices == null) {
+				this.cellTrailIndices = new int[16];
+				this.cellTrailValues = new int[16];
+			} else if (this.cellTrailSize == this.cellTrailIndices.length) {
+				this.cellTrailIndices = Arrays.copyOf(this.cellTrailIndices, this.cellTrailSize * 2);
+				this.cellTrailValues = Arrays.copyOf(this.cellTrailValues, this.cellTrailSize * 2);
+			}
+			this.cellTrailIndices[this.cellTrailSize] = cellIndex;
+			this.cellTrailValues[this.cellTrailSize] = previousValue;
+			this.cellTrailSize++;
+		}
+		
+		//replacing a value can make the cell a candidate for other values again
+		if (previousValue != DataCell.NOT_SET) {
+			this.candidates.touchAll();
+		}
+		
+		this.valueHash ^= ZobristKeys.getValueKey(cellIndex, previousValue) ^ ZobristKeys.getValueKey(cellIndex, value);
+		this.field.setValue(cellIndex, value);
+		this.candidates.touch(cellIndex);
+		
+	}
+	
+	/**
+	 * Opens a new mark. All following cell values set by {@link SolverState#setCellValue(int, int)}, candidate 
+	 * changes and the last solve step are recorded until the mark is rolled back or committed. Marks can be 
+	 * nested and are closed in reverse order.
+	 */
+	public void mark() {
+		
+		if (this.marks == null) {
+			this.marks = new int[16];
+			this.markedSolveSteps = new SolveStep[8];
+		} else if (2 * this.markCount == this.marks.length) {
+			this.marks = Arrays.copyOf(this.marks, this.marks.length * 2);
+			this.markedSolveSteps = Arrays.copyOf(this.markedSolveSteps, this.markedSolveSteps.length * 2);
+		}
+		
+		this.marks[2 * this.markCount] = this.candidates.mark();
+		this.marks[2 * this.markCount + 1] = this.cellTrailSize;
+		this.markedSolveSteps[this.markCount] = this.lastSolveStep;
+		this.markCount++;
+		
+	}
+	
+	/**
+	 * Restores the state as it was when the last open mark was opened and closes the mark.
+	 * @throws IllegalStateException if there is no open mark
+	 */
+	public void rollback() throws IllegalStateException {
+		
+		if (this.markCount == 0) {
+			throw new IllegalStateException("there is no open mark.");
+		}
+		
+		this.markCount--;
+		this.candidates.rollback(this.marks[2 * this.markCount]);
+		
+		int cellMark = this.marks[2 * this.markCount + 1];
+		if (this.cellTrailSize > cellMark) {
+			this.candidates.touchAll();
+		}
+		while (this.cellTrailSize > cellMark) {
+			this.cellTrailSize--;
+			int cellIndex = this.cellTrailIndices[this.cellTrailSize];
+			this.valueHash ^= ZobristKeys.getValueKey(cellIndex, this.field.getValue(cellIndex)) 
+					^ ZobristKeys.getValueKey(cellIndex, this.cellTrailValues[this.cellTrailSize]);
+			this.field.setValue(cellIndex, this.cellTrailValues[this.cellTrailSize]);
+			this.candidates.touch(cellIndex);
+		}
+		
+		this.lastSolveStep = this.markedSolveSteps[this.markCount];
+		this.markedSolveSteps[this.markCount] = null;
+		
+	}
+	
+	/**
+	 * Closes the last open mark and keeps all changes made since it was opened.
+	 * @throws IllegalStateException if there is no open mark
+	 */
+	public void commit() throws IllegalStateException {
+		
+		if (this.markCount == 0) {
+			throw new IllegalStateException("there is no open mark.");
+		}
+		
+		this.markCount--;
+		this.candidates.commit(this.marks[2 * this.markCount]);
+		this.markedSolveSteps[this.markCount] = null;
+		
+		//the changes are still needed by enclosing marks
+		if (this.markCount == 0) {
+			this.cellTrailSize = 0;
+		}
+		
+	}
+	
+	/**
+	 * Registers that the given strategy checks a {@link DependencyGroup} now and indicates whether the group 
+	 * changed since the strategy checked it last time. A group changed if one of its cells got a value or lost 
+	 * candidates, or any cell got candidates back.
+	 * @param strategy the strategy checking the group
+	 * @param groupNumber the number of the group in the {@link DependencyIndex}
+	 * @return <code>true</code> if the group changed or was never checked by the strategy, <code>false</code> if 
+	 * 				checking it again cannot lead to other results
+	 */
+	public boolean checkGroup(SolverStrategy strategy, int groupNumber) {
+		
+		DependencyIndex index = this.dependencyManager.getDependencyIndex();
+		int groupCount = index.getGroupCount();
+		
+		if (this.checkedGroups == null) {
+			this.checkedGroups = new IdentityHashMap<SolverStrategy, int[]>();
+		}
+		
+		//forget all checks if a new epoch started
+		int[] checks = this.checkedGroups.get(strategy);
+		if (checks == null) {
+			checks = new int[groupCount + 1];
+			this.checkedGroups.put(strategy, checks);
+			Arrays.fill(checks, 0, groupCount, -1);
+			checks[groupCount] = this.candidates.getEpoch();
+		} else if (checks[groupCount] != this.candidates.getEpoch()) {
+			Arrays.fill(checks, 0, groupCount, -1);
+			checks[groupCount] = this.candidates.getEpoch();
+		}
+		
+		int lastCheck = checks[groupNumber];
+		checks[groupNumber] = this.candidates.getModificationCount();
+		if (lastCheck < 0) {
+			return true;
+		}
+		
+		for (int position = 0; position < index.getCellCountOfGroup(groupNumber); position++) {
+			if (this.candidates.getChangeStamp(index.getCellOfGroup(groupNumber, position)) > lastCheck) {
+				return true;
 			}
 		}
+		
+		return false;
+		
+	}
+	
+	/**
+	 * Returns a snapshot of the current cell values and candidates.
+	 * @return a snapshot of the current cell values and candidates
+	 */
+	Snapshot getSnapshot() {
+		
+		int[] values = new int[this.candidates.getCellCount()];
+		for (int cellIndex = 0; cellIndex < this.field.getCellCount(); cellIndex++) {
+			values[cellIndex] = this.field.getValue(cellIndex);
+		}
+		
+		return new Snapshot(values, this.candidates.clone());
+		
+	}
+	
+	/**
+	 * Restores the cell values and candidates of the given snapshot. The changes are recorded by open marks.
+	 * @param snapshot the snapshot to restore
+	 */
+	void restoreSnapshot(Snapshot snapshot) {
+		
+		for (int cellIndex = 0; cellIndex < this.field.getCellCount(); cellIndex++) {
+			this.setCellValue(cellIndex, snapshot.values[cellIndex]);
+		}
+		this.candidates.copyFrom(snapshot.candidates);
+		
+	}
+	
+	/**
+	 * Returns the links between the current candidates. The links are only computed again if the candidates 
+	 * changed since the last call.
+	 * @return the links between the current candidates
+	 */
+	LinkGraph getLinkGraph() {
+		
+		if (this.linkGraph == null || !this.linkGraph.isCurrent(this.candidates)) {
+			this.linkGraph = new LinkGraph(this);
+		}
+		
+		return this.linkGraph;
+		
+	}
+	
+	/**
+	 * Sets the context of the solving process working on this state.
+	 * @param solveContext the context to set, or <code>null</code> if the process cannot be stopped
+	 */
+	public void setSolveContext(SolveContext solveContext) {
+		this.solveContext = solveContext;
+	}
+	
+	/**
+	 * Returns the context of the solving process working on this state.
+	 * @return the context, or <code>null</code> if there is none
+	 */
+	public SolveContext getSolveContext() {
+		return this.solveContext;
+	}
+	
+	/**
+	 * Stops the solving process working on this state if its context was cancelled or its deadline passed.
+	 * Does nothing if there is no context.
+	 * @throws SolveCancelledException if the context was cancelled or its deadline passed
+	 */
+	public void checkSolveContext() throws SolveCancelledException {
+		if (this.solveContext != null) {
+			this.solveContext.check();
+		}
+	}
+	
+	/**
+	 * Returns the Zobrist hash of the cell values.
+	 * @return the Zobrist hash of the cell values
+	 * @see ZobristKeys#getValueKey(int, int)
+	 */
+	public long getValueHash() {
+		return this.valueHash;
+	}
 	
-		//return new state
-		return newSolverState;
+	/**
+	 * Returns the Zobrist hash of the cell values and candidates. States with the same values and candidates 
+	 * have the same hash.
+	 * @return the Zobrist hash of the cell values and candidates
+	 */
+	public long getStateHash() {
+		return this.valueHash ^ this.candidates.getZobristHash();
+	}
+	
+	private void computeValueHash() {
+		
+		this.valueHash = 0L;
+		for (int cellIndex = 0; cellIndex < this.field.getCellCount(); cellIndex++) {
+			this.valueHash ^= ZobristKeys.getValueKey(cellIndex, this.field.getValue(cellIndex));
+		}
+		
+	}
+	
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		this.computeValueHash();
+	}
+	
+	/**
+	 * Returns a copy of the state without open marks
+	 * @return a copy of the state
+	 */
+	public SolverState clone() {
 		
+		//clone field and candidates, the candidates don't have to be computed again
+		SolverState result = new SolverState(this.field.clone(), this.dependencyManager, this.candidates.clone());
+		result.solveContext = this.solveContext;
+		
+		return result;
+		
+	}
+	
+	/**
+	 * Returns the hash code of the state.
+	 * @return the hash code of the state
+	 */
+	@Override
+	public int hashCode() {
+		return ZobristKeys.toHashCode(this.getStateHash());
 	}
 	
 	/**
@@ -263,6 +686,9 @@ public class SolverState implements Serializable {
 		if (getClass() != obj.getClass())
 			return false;
 		SolverState other = (SolverState) obj;
+		//different hashes cannot belong to equal states
+		if (this.getStateHash() != other.getStateHash())
+			return false;
 		if (dependencyManager == null) {
 			if (other.dependencyManager != null)
 				return false;
@@ -278,10 +704,10 @@ public class SolverState implements Serializable {
 				return false;
 		} else if (!lastSolveStep.equals(other.lastSolveStep))
 			return false;
-		if (noteManager == null) {
-			if (other.noteManager != null)
+		if (candidates == null) {
+			if (other.candidates != null)
 				return false;
-		} else if (!noteManager.equals(other.noteManager))
+		} else if (!candidates.equals(other.candidates))
 			return false;
 		return true;
 	}	
@@ -0,0 +1,265 @@
+/*******************************************************************************
+ * Copyright (c) 2011 - 2012 Adrian Vielsack, Christof Urbaczek, Florian Rosenthal, Michael Hoff, Moritz Lüdecke, Philip Flohr.
+ * 
+ * This file is part of Sudowars.
+ * 
+ * Sudowars is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Sudowars is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Sudowars.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * 
+ * 
+ * Diese Datei ist Teil von Sudowars.
+ * 
+ * Sudowars ist Freie Software: Sie können es unter den Bedingungen
+ * der GNU General Public License, wie von der Free Software Foundation,
+ * Version 3 der Lizenz oder (nach Ihrer Option) jeder späteren
+ * veröffentlichten Version, weiterverbreiten und/oder modifizieren.
+ * 
+ * Sudowars wird in der Hoffnung, dass es nützlich sein wird, aber
+ * OHNE JEDE GEWÄHELEISTUNG, bereitgestellt; sogar ohne die implizite
+ * Gewährleistung der MARKTFÄHIGKEIT oder EIGNUNG FÜR EINEN BESTIMMTEN ZWECK.
+ * Siehe die GNU General Public License für weitere Details.
+ * 
+ * Sie sollten eine Kopie der GNU General Public License zusammen mit diesem
+ * Programm erhalten haben. Wenn nicht, siehe <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ * initial API and implementation:
+ * Adrian Vielsack
+ * Christof Urbaczek
+ * Florian Rosenthal
+ * Michael Hoff
+ * Moritz Lüdecke
+ * Philip Flohr 
+ ******************************************************************************/
+package org.sudowars.Model.Solver;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * This class collects statistics about the execution of the {@link SolverStrategy}s and the backtracking of 
+ * {@link StrategyExecutor}s. The statistics are only collected if they were set with 
+ * {@link StrategyExecutor#setStatistics(SolverStatistics)}. Strategies are identified by their class, so the 
+ * statistics of several executors can be collected in the same instance.
+ */
+public class SolverStatistics {
+	
+	private final Map<Class<? extends SolverStrategy>, StrategyStatistics> strategyStatistics = 
+			new LinkedHashMap<Class<? extends SolverStrategy>, StrategyStatistics>();
+	
+	private long backtrackedCells;
+	private long branches;
+	private int maxDepth;
+	
+	/**
+	 * The statistics of a single {@link SolverStrategy}.
+	 */
+	public static final class StrategyStatistics {
+		
+		private final String strategyName;
+		private long invocations;
+		private long time;
+		private long solvedCells;
+		private long removedCandidates;
+		private long unproductiveInvocations;
+		
+		private StrategyStatistics(String strategyName) {
+			this.strategyName = strategyName;
+		}
+		
+		private StrategyStatistics(StrategyStatistics statistics) {
+			this.strategyName = statistics.strategyName;
+			this.invocations = statistics.invocations;
+			this.time = statistics.time;
+			this.solvedCells = statistics.solvedCells;
+			this.removedCandidates = statistics.removedCandidates;
+			this.unproductiveInvocations = statistics.unproductiveInvocations;
+		}
+		
+		/**
+		 * Returns the name of the strategy.
+		 * @return the simple class name of the strategy
+		 */
+		public String getStrategyName() {
+			return this.strategyName;
+		}
+		
+		/**
+		 * Returns how often the strategy was executed.
+		 * @return the number of executions
+		 */
+		public long getInvocations() {
+			return this.invocations;
+		}
+		
+		/**
+		 * Returns the time spent in the strategy.
+		 * @return the total time of all executions in nanoseconds
+		 */
+		public long getTime() {
+			return this.time;
+		}
+		
+		/**
+		 * Returns the number of cells solved by the strategy.
+		 * @return the number of solved cells
+		 */
+		public long getSolvedCells() {
+			return this.solvedCells;
+		}
+		
+		/**
+		 * Returns the number of candidates removed by the strategy.
+		 * @return the number of removed candidates
+		 */
+		public long getRemovedCandidates() {
+			return this.removedCandidates;
+		}
+		
+		/**
+		 * Returns how often the strategy neither solved a cell nor changed a candidate.
+		 * @return the number of executions without changes
+		 */
+		public long getUnproductiveInvocations() {
+			return this.unproductiveInvocations;
+		}
+		
+	}
+	
+	/**
+	 * Records an execution of a strategy.
+	 * @param strategy the executed strategy
+	 * @param time the duration of the execution in nanoseconds
+	 * @param solvedCells the number of solved cells
+	 * @param removedCandidates the number of removed candidates
+	 * @param changedField <code>true</code> if the strategy solved a cell or changed candidates
+	 */
+	synchronized void recordStrategy(SolverStrategy strategy, long time, int solvedCells, long removedCandidates, boolean changedField) {
+		
+		StrategyStatistics statistics = this.strategyStatistics.get(strategy.getClass());
+		if (statistics == null) {
+			statistics = new StrategyStatistics(strategy.getClass().getSimpleName());
+			this.strategyStatistics.put(strategy.getClass(), statistics);
+		}
+		
+		statistics.invocations++;
+		statistics.time += time;
+		statistics.solvedCells += solvedCells;
+		statistics.removedCandidates += removedCandidates;
+		if (!changedField) {
+			statistics.unproductiveInvocations++;
+		}
+		
+	}
+	
+	/**
+	 * Records the backtracking of a cell.
+	 * @param depth the backtracking depth of the cell, <code>zero</code> if no other cell is backtracked at the moment
+	 */
+	synchronized void recordBacktracking(int depth) {
+		this.backtrackedCells++;
+		this.maxDepth = Math.max(this.maxDepth, depth + 1);
+	}
+	
+	/**
+	 * Records the analysis of a candidate of a backtracked cell.
+	 */
+	synchronized void recordBranch() {
+		this.branches++;
+	}
+	
+	/**
+	 * Returns the statistics of all executed strategies in order of their first execution.
+	 * @return copies of the statistics of the strategies
+	 */
+	public synchronized List<StrategyStatistics> getStrategyStatistics() {
+		
+		List<StrategyStatistics> result = new ArrayList<StrategyStatistics>(this.strategyStatistics.size());
+		for (StrategyStatistics statistics : this.strategyStatistics.values()) {
+			result.add(new StrategyStatistics(statistics));
+		}
+		
+		return result;
+		
+	}
+	
+	/**
+	 * Returns the statistics of a strategy.
+	 * @param strategyClass the class of the strategy
+	 * @return a copy of the statistics of the strategy, <code>null</code> if the strategy was not executed
+	 */
+	public synchronized StrategyStatistics getStrategyStatistics(Class<? extends SolverStrategy> strategyClass) {
+		StrategyStatistics statistics = this.strategyStatistics.get(strategyClass);
+		return (statistics == null) ? null : new StrategyStatistics(statistics);
+	}
+	
+	/**
+	 * Returns the number of backtracked cells.
+	 * @return the number of cells whose candidates were analysed by backtracking
+	 */
+	public synchronized long getBacktrackedCells() {
+		return this.backtrackedCells;
+	}
+	
+	/**
+	 * Returns the number of analysed backtracking branches.
+	 * @return the number of candidates analysed by backtracking
+	 */
+	public synchronized long getBranches() {
+		return this.branches;
+	}
+	
+	/**
+	 * Returns the maximum backtracking depth.
+	 * @return the maximum number of cells backtracked at the same time
+	 */
+	public synchronized int getMaxDepth() {
+		return this.maxDepth;
+	}
+	
+	/**
+	 * Resets all statistics.
+	 */
+	public synchronized void reset() {
+		this.strategyStatistics.clear();
+		this.backtrackedCells = 0;
+		this.branches = 0;
+		this.maxDepth = 0;
+	}
+	
+	/**
+	 * Returns a table of all statistics, one line per strategy followed by the backtracking statistics.
+	 * @return the statistics as text
+	 */
+	public synchronized String dump() {
+		
+		StringBuilder result = new StringBuilder();
+		result.append(String.format(Locale.US, "%-24s %10s %10s %10s %10s %10s%n", 
+				"strategy", "calls", "time [ms]", "solved", "removed", "no change"));
+		for (StrategyStatistics statistics : this.strategyStatistics.values()) {
+			result.append(String.format(Locale.US, "%-24s %10d %10.2f %10d %10d %10d%n", 
+					statistics.strategyName, statistics.invocations, statistics.time / 1000000.0, 
+					statistics.solvedCells, statistics.removedCandidates, statistics.unproductiveInvocations));
+		}
+		result.append(String.format(Locale.US, "backtracked cells: %d, branches: %d, max depth: %d%n", 
+				this.backtrackedCells, this.branches, this.maxDepth));
+		
+		return result.toString();
+		
+	}
+	
+}
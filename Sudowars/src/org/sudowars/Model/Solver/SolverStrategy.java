@@ -50,6 +50,7 @@ import java.util.List;
 
 import org.sudowars.Model.Sudoku.Field.Cell;
 import org.sudowars.Model.Sudoku.RuleManagement.DependencyGroup;
+import org.sudowars.Model.Sudoku.RuleManagement.DependencyIndex;
 import org.sudowars.Model.Sudoku.RuleManagement.DependencyManager;
 
 /**
@@ -104,17 +105,15 @@ public abstract class SolverStrategy implements Serializable {
 	protected Boolean removeValueFromNeighbourNotes(Cell solvedCell, int solutionValue, SolverState currentState) {
 		
 		Boolean result = false;
-		
-		for (DependencyGroup dependencyGroup : currentState.getDependencyManager().getDependencyGroupsOfCell(solvedCell)) {
-			
-			for (Cell neighbourCell : dependencyGroup.getCells(currentState.getField())) {
-				if (!neighbourCell.equals(solvedCell)) {
-					if (currentState.getNoteManager().removeNote(neighbourCell, solutionValue)) {
-						result = true;
-					}
-				}
+		CandidateGrid candidates = currentState.getCandidates();
+		DependencyIndex index = currentState.getDependencyManager().getDependencyIndex();
+		int solvedCellIndex = solvedCell.getIndex();
+		
+		//the peers are all cells sharing a group with the solved cell
+		for (int peer = 0; peer < index.getPeerCount(solvedCellIndex); peer++) {
+			if (candidates.removeCandidate(index.getPeer(solvedCellIndex, peer), solutionValue)) {
+				result = true;
 			}
-			
 		}
 		
 		return result;
@@ -130,15 +129,17 @@ public abstract class SolverStrategy implements Serializable {
 	protected List<Integer> getCandidateList(DependencyGroup dependencyGroup, SolverState currentState) {
 		
 		List<Integer> candidateList = new LinkedList<Integer>();
+		CandidateGrid candidates = currentState.getCandidates();
+		long foundCandidates = 0L;
 		
-		//iterate through all cells of the group and save the candidates
+		//iterate through all cells of the group and save the candidates in order of their first appearance
 		for (Cell cell : dependencyGroup.getCells(currentState.getField())) {
 			if (cell.isSet()) continue;
-			List<Integer> candidates = currentState.getNoteManager().getNotes(cell);
-			for (Integer candidate : candidates) {
-				if (!candidateList.contains(candidate)) {
-					candidateList.add(candidate);
-				}
+			long newCandidates = candidates.getMask(cell.getIndex()) & ~foundCandidates;
+			foundCandidates |= newCandidates;
+			while (newCandidates != 0L) {
+				candidateList.add(CandidateGrid.getLowestValue(newCandidates));
+				newCandidates = CandidateGrid.removeLowestValue(newCandidates);
 			}
 		}
 		
@@ -177,10 +178,11 @@ public abstract class SolverStrategy implements Serializable {
 	protected List<Cell> getCandidateCells(int value, DependencyGroup dependencyGroup, SolverState currentState) {
 		
 		List<Cell> cellList = new LinkedList<Cell>();
+		CandidateGrid candidates = currentState.getCandidates();
 		
 		//iterate through all cells of the group and check if they use the value in their candidate list
 		for (Cell cell : dependencyGroup.getCells(currentState.getField())) {
-			if (currentState.getNoteManager().hasNote(cell, value)) {
+			if (candidates.hasCandidate(cell.getIndex(), value)) {
 				cellList.add(cell);
 				continue;
 			}
@@ -223,93 +225,53 @@ public abstract class SolverStrategy implements Serializable {
 	}
 	
 	/**
-	 * Clones the list
-	 * @param listToClone list to clone
-	 * @return the cloned list
+	 * Returns the smallest subset of the given size as bitmask.
+	 * @param size the number of elements of the subset
+	 * @return bitmask holding the lowest <code>size</code> elements
 	 */
-	protected List<Integer> cloneList(List<Integer> listToClone) {
-		
-		List<Integer> resultList = new LinkedList<Integer>();
-		for (int listValue : listToClone) {
-			resultList.add(listValue);
-		}
-		return resultList;
-		
+	protected static long getFirstSubset(int size) {
+		return (1L << size) - 1;
 	}
 	
 	/**
-	 * Checks if the list is a subset of the given set
-	 * @param subset the list to check
-	 * @param set the set
-	 * @return <code>true</code> if the set contains all elements of the subset, <code>false</code> otherwise 
+	 * Returns the next larger subset with the same number of elements (Gosper's hack). Starting with 
+	 * {@link SolverStrategy#getFirstSubset(int)} all subsets of a size are enumerated in ascending order.
+	 * @param subset the current subset, must not be empty
+	 * @return the next larger subset with the same number of elements
 	 */
-	protected Boolean isSubset(List<Integer> subset, List<Integer> set) {
-		
-		Boolean isSubset = true;
-		
-		for (int value : subset) {
-			if (!set.contains(value)) {
-				isSubset = false;
-				break;
-			}
-		}
-		
-		return isSubset;
-		
+	protected static long getNextSubset(long subset) {
+		long lowestBit = subset & -subset;
+		long ripple = subset + lowestBit;
+		return (((ripple ^ subset) >>> 2) / lowestBit) | ripple;
 	}
 	
 	/**
-	 * Returns all subsets of the given set.
-	 * @param set the set to build the subsets
-	 * @return all subsets of the given set
+	 * Returns the single bits of the given mask in ascending order.
+	 * @param mask the mask
+	 * @return array holding every set bit of the mask as its own element
 	 */
-	protected List<List<Integer>> getSubsets(List<Integer> set) {
-		
-		List<List<Integer>> result = new LinkedList<List<Integer>>();
-		
-		if (set.size() > 0) {
-			
-			List<Integer> newCandidates = this.cloneList(set);
-			int currentElement = newCandidates.get(0);
-			newCandidates.remove(0);
-
-			result = getSubsets(newCandidates);
-			List<List<Integer>> subsetsWithElement = new LinkedList<List<Integer>>();
-			
-			for (List<Integer> subset : result) {
-				
-				List<Integer> newSubset = this.cloneList(subset);
-				newSubset.add(currentElement);
-				subsetsWithElement.add(newSubset);
-				
-			}
-			
-			result.addAll(subsetsWithElement);
-			
-		} else {
-			
-			result.add(set);
-			
-		}	
-		
-		return result;
-		
+	protected static long[] getBits(long mask) {
+		long[] bits = new long[CandidateGrid.bitCount(mask)];
+		long rest = mask;
+		for (int i = 0; i < bits.length; i++) {
+			bits[i] = rest & -rest;
+			rest = CandidateGrid.removeLowestValue(rest);
+		}
+		return bits;
 	}
 	
 	/**
-	 * Returns all subsets of a set from <code>zero</code> to the given value
-	 * @param maxValue the maximum value
-	 * @return all subsets of a set from <code>zero</code> to the given value
+	 * Combines the bits selected by the positions of a subset.
+	 * @param subset bitmask of the selected positions
+	 * @param bits the bits to select from
+	 * @return the combination of the selected bits
 	 */
-	protected List<List<Integer>> getSubsets(int maxValue) {
-		
-		//create set
-		List<Integer> set = new LinkedList<Integer>();
-		for (int i = 0; i <= maxValue; i++) set.add(i);
-		
-		//return subsets
-		return this.getSubsets(set);
-		
+	protected static long selectBits(long subset, long[] bits) {
+		long result = 0L;
+		for (long rest = subset; rest != 0L; rest = CandidateGrid.removeLowestValue(rest)) {
+			result |= bits[Long.numberOfTrailingZeros(rest)];
+		}
+		return result;
 	}
 	
 	/**
@@ -44,12 +44,23 @@
  ******************************************************************************/
 package org.sudowars.Model.Solver;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.sudowars.DebugHelper;
 import org.sudowars.Model.Sudoku.Field.Cell;
-import org.sudowars.Model.SudokuUtil.NoteManager;
 
 /**
  * The class defines the functionality to execute the given strategies to solve a {@link Sudoku}
@@ -57,12 +68,148 @@ import org.sudowars.Model.SudokuUtil.NoteManager;
 public abstract class StrategyExecutor {
 
 	public enum ExecuteResult {
-	    UNIQUESOLUTION, NOSOLUTION, MULTIPLESOLUTION
+	    UNIQUESOLUTION, NOSOLUTION, MULTIPLESOLUTION, TIMEDOUT
 	}
 	
 	protected List<SolverStrategy> solveStrategies;
 	protected List<SolverStrategy> usedStrategies = new LinkedList<SolverStrategy>();
+	
+	//executor for parallel backtracking, branches up to the given depth are explored in parallel
+	transient private ExecutorService branchExecutor;
+	private int parallelBranchDepth;
+	
+	//statistics of the strategies and the backtracking, only collected if set
+	transient private SolverStatistics statistics;
+	
+	//context which stops the execution if it is cancelled or its deadline passes, null if it cannot be stopped
+	transient private volatile SolveContext solveContext;
+	
+	//order of the strategies adapted to their yield, only used if the adaptive scheduling is enabled
+	transient private StrategySchedule schedule;
+	transient private boolean adaptiveScheduling;
+	
+	/**
+	 * Signals the branches explored in parallel that their result is not needed any more.
+	 */
+	private static final class Cancellation {
+		
+		private final Cancellation parent;
+		private final AtomicBoolean cancelled = new AtomicBoolean(false);
+		
+		private Cancellation(Cancellation parent) {
+			this.parent = parent;
+		}
+		
+		private void cancel() {
+			this.cancelled.set(true);
+		}
+		
+		private boolean isCancelled() {
+			return this.cancelled.get() || (this.parent != null && this.parent.isCancelled());
+		}
+		
+	}
+		
+	/**
+	 * Orders the strategies by their observed yield per time. Every strategy is rated by the share of its 
+	 * executions which changed the field divided by its average execution time. Strategies which rarely 
+	 * change the field are moved to the end of the list, so they are only executed if all strategies with
+	 * a better rating failed. As the strategy loop restarts after every change, all strategies are still 
+	 * executed before backtracking is used.
+	 */
+	private static final class StrategySchedule {
+		
+		//the order is computed again after the given number of executions
+		private static final int REORDER_INTERVAL = 64;
+		//the statistics are halved after the given number of executions, so recent executions weigh more
+		private static final int MAX_EXECUTIONS = 4096;
+		
+		private final SolverStrategy[] strategies;
+		private final Map<SolverStrategy, Integer> positions = new IdentityHashMap<SolverStrategy, Integer>();
+		private final double[] executions;
+		private final double[] changes;
+		private final double[] times;
+		private int executionsSinceReorder;
+		private volatile List<SolverStrategy> orderedStrategies;
+		
+		private StrategySchedule(List<SolverStrategy> strategies) {
+			this.strategies = strategies.toArray(new SolverStrategy[strategies.size()]);
+			for (int position = 0; position < this.strategies.length; position++) {
+				this.positions.put(this.strategies[position], position);
+			}
+			this.executions = new double[this.strategies.length];
+			this.changes = new double[this.strategies.length];
+			this.times = new double[this.strategies.length];
+			this.orderedStrategies = Collections.unmodifiableList(Arrays.asList(this.strategies.clone()));
+		}
+		
+		/**
+		 * Returns the strategies in the order they should be executed.
+		 * @return the ordered strategies
+		 */
+		private List<SolverStrategy> getOrderedStrategies() {
+			return this.orderedStrategies;
+		}
+		
+		/**
+		 * Records an execution of a strategy.
+		 * @param strategy the executed strategy
+		 * @param time the duration of the execution in nanoseconds
+		 * @param changedField <code>true</code> if the strategy changed the field
+		 */
+		private synchronized void record(SolverStrategy strategy, long time, boolean changedField) {
+			
+			int position = this.positions.get(strategy);
+			this.executions[position]++;
+			this.times[position] += time;
+			if (changedField) {
+				this.changes[position]++;
+			}
+			
+			if (this.executions[position] >= MAX_EXECUTIONS) {
+				this.executions[position] /= 2;
+				this.changes[position] /= 2;
+				this.times[position] /= 2;
+			}
+			
+			if (++this.executionsSinceReorder >= REORDER_INTERVAL) {
+				this.executionsSinceReorder = 0;
+				this.reorder();
+			}
+			
+		}
+		
+		/**
+		 * Sorts the strategies by their rating, strategies with the same rating keep their defined order.
+		 */
+		private void reorder() {
+			
+			final double[] ratings = new double[this.strategies.length];
+			Integer[] order = new Integer[this.strategies.length];
+			for (int position = 0; position < this.strategies.length; position++) {
+				//estimate yield and time of strategies with few executions optimistically
+				double yield = (this.changes[position] + 1) / (this.executions[position] + 1);
+				double averageTime = (this.times[position] + 1) / (this.executions[position] + 1);
+				ratings[position] = yield / averageTime;
+				order[position] = position;
+			}
+			
+			Arrays.sort(order, new Comparator<Integer>() {
+				public int compare(Integer first, Integer second) {
+					return Double.compare(ratings[second], ratings[first]);
+				}
+			});
+			
+			List<SolverStrategy> result = new ArrayList<SolverStrategy>(this.strategies.length);
+			for (Integer position : order) {
+				result.add(this.strategies[position]);
+			}
+			this.orderedStrategies = Collections.unmodifiableList(result);
+			
+		}
 		
+	}
+	
 	/**
 	 * Returns the defined list of {@link SolverStrategy}.
 	 * @return The defined list of {@link SolverStrategy}
@@ -79,6 +226,85 @@ public abstract class StrategyExecutor {
 		return this.usedStrategies;
 	}
 	
+	/**
+	 * Enables or disables the parallel exploration of backtracking branches. If enabled, the candidates of 
+	 * the backtracked cell are analysed in parallel on cloned states as long as the backtracking depth is 
+	 * smaller than the given depth. Sibling branches are cancelled as soon as multiple solutions are found.
+	 * <br>
+	 * The used strategies then contain the strategies of all analysed branches, so they are not comparable
+	 * to the used strategies of the sequential mode.
+	 * @param executor the executor to run the branches, <code>null</code> to disable the parallel mode
+	 * @param maxDepth the backtracking depth up to which branches are explored in parallel
+	 * @throws IllegalArgumentException if the given depth is smaller than zero
+	 */
+	public void setParallelBranching(ExecutorService executor, int maxDepth) throws IllegalArgumentException {
+		
+		if (maxDepth < 0) {
+			throw new IllegalArgumentException("given depth cannot be smaller than zero.");
+		}
+		
+		this.branchExecutor = executor;
+		this.parallelBranchDepth = maxDepth;
+		
+	}
+	
+	/**
+	 * Enables or disables the adaptive order of the strategies. If enabled, the strategies are reordered by 
+	 * their observed yield per time. The observations are kept by the executor, also while the mode is disabled.
+	 * <br>
+	 * The used strategies then depend on the order, so they must not be used to evaluate the difficulty of a 
+	 * sudoku. The mode is meant for callers which only need the solution.
+	 * @param adaptive <code>true</code> to adapt the order of the strategies, <code>false</code> to use the defined order
+	 */
+	public void setAdaptiveScheduling(boolean adaptive) {
+		if (adaptive && this.schedule == null) {
+			this.schedule = new StrategySchedule(this.solveStrategies);
+		}
+		this.adaptiveScheduling = adaptive;
+	}
+	
+	/**
+	 * Indicates whether the strategies are executed in an adaptive order.
+	 * @return <code>true</code> if the order of the strategies is adapted, <code>false</code> otherwise
+	 */
+	public boolean isAdaptiveScheduling() {
+		return this.adaptiveScheduling;
+	}
+	
+	/**
+	 * Sets the statistics to record the executions of the strategies and the backtracking in. The same 
+	 * statistics can be used by several executors.
+	 * @param statistics the statistics to record in, <code>null</code> to stop recording
+	 */
+	public void setStatistics(SolverStatistics statistics) {
+		this.statistics = statistics;
+	}
+	
+	/**
+	 * Returns the statistics the executions are recorded in.
+	 * @return the statistics, <code>null</code> if no statistics are recorded
+	 */
+	public SolverStatistics getStatistics() {
+		return this.statistics;
+	}
+	
+	/**
+	 * Sets the context which stops the execution of the strategies if it is cancelled or its deadline passes. 
+	 * A stopped execution results in {@link ExecuteResult#TIMEDOUT}.
+	 * @param solveContext the context to use, <code>null</code> if the execution cannot be stopped
+	 */
+	public void setSolveContext(SolveContext solveContext) {
+		this.solveContext = solveContext;
+	}
+	
+	/**
+	 * Returns the context which stops the execution of the strategies.
+	 * @return the context, <code>null</code> if the execution cannot be stopped
+	 */
+	public SolveContext getSolveContext() {
+		return this.solveContext;
+	}
+	
 	/**
 	 * Initialises the used strategies and adds them to the list by there priority.
 	 */
@@ -98,10 +324,34 @@ public abstract class StrategyExecutor {
 	 * result will be stored in the current state.
 	 * @param currentState the current solution state of the field
 	 * @param breakAfterFirstHit <code>true</code> stops the execution after the first found cell solution, <code>false</code> will try to solve all cells
-	 * @return ExecuteResult which represents the success or the failure occurred when executing the strategies
+	 * @return ExecuteResult which represents the success or the failure occurred when executing the strategies, 
+	 * {@link ExecuteResult#TIMEDOUT} if the execution was stopped by its context, the current state is undefined then
+	 * @see StrategyExecutor#setSolveContext(SolveContext)
 	 */
 	protected ExecuteResult executeStrategies(SolverState currentState, boolean breakAfterFirstHit) {
 		
+		currentState.setSolveContext(this.solveContext);
+		try {
+			return this.executeStrategies(currentState, breakAfterFirstHit, this.usedStrategies, 0, null);
+		} catch (SolveCancelledException ex) {
+			return ExecuteResult.TIMEDOUT;
+		} finally {
+			currentState.setSolveContext(null);
+		}
+		
+	}
+	
+	/**
+	 * Uses the given strategies to solve the field or rather reduce the candidate list. 
+	 * @param currentState the current solution state of the field
+	 * @param breakAfterFirstHit <code>true</code> stops the execution after the first found cell solution, <code>false</code> will try to solve all cells
+	 * @param usedStrategies the list to add the used strategies to
+	 * @param depth the current backtracking depth
+	 * @param cancellation signals that the result is not needed any more, <code>null</code> if the execution cannot be cancelled
+	 * @return ExecuteResult which represents the success or the failure occurred when executing the strategies
+	 */
+	private ExecuteResult executeStrategies(SolverState currentState, boolean breakAfterFirstHit, List<SolverStrategy> usedStrategies, int depth, Cancellation cancellation) {
+		
 		//initiate result
 		ExecuteResult result = null;
 		
@@ -112,16 +362,36 @@ public abstract class StrategyExecutor {
 			
 			loopStrategyListAgain = false;
 			
+			//a cancelled branch is part of a field with multiple solutions
+			if (cancellation != null && cancellation.isCancelled()) {
+				return ExecuteResult.MULTIPLESOLUTION;
+			}
+			
+			//stop if the context of the solving process was cancelled or its deadline passed
+			currentState.checkSolveContext();
+			
 			//iterate through strategy list
-			for (SolverStrategy strategy : this.solveStrategies) {
+			StrategySchedule currentSchedule = this.adaptiveScheduling ? this.schedule : null;
+			List<SolverStrategy> strategies = (currentSchedule != null) ? currentSchedule.getOrderedStrategies() : this.solveStrategies;
+			for (SolverStrategy strategy : strategies) {
+				
+				//measure the strategy if statistics are recorded or the order is adapted
+				SolverStatistics currentStatistics = this.statistics;
+				long startTime = (currentStatistics != null || currentSchedule != null) ? System.nanoTime() : 0L;
+				long removedCandidates = (currentStatistics != null) ? currentState.getCandidates().getRemovedCandidateCount() : 0L;
 				
 				try {
 					
 					//execute strategy
 					List<SolveStep> strategyResults = strategy.executeStrategy(currentState);
 					
-					//log debug info
-					DebugHelper.log(DebugHelper.PackageName.Solver, "strategy \"" + strategy.toString() + "\" executed, generated " + strategyResults.size() + " solve steps");
+					if (currentStatistics != null) {
+						this.recordStrategy(currentStatistics, strategy, currentState, strategyResults, startTime, removedCandidates);
+					}
+					
+					if (currentSchedule != null) {
+						currentSchedule.record(strategy, System.nanoTime() - startTime, hasChangedField(strategyResults));
+					}
 					
 					//save strategy solutions
 					boolean changedField = false;
@@ -133,11 +403,7 @@ public abstract class StrategyExecutor {
 						//save strategies which changed the field
 						if (changedField) {
 							
-							this.usedStrategies.add(strategy);
-							
-							DebugHelper.log(DebugHelper.PackageName.Solver, "--- " + 
-									(solveStep.hasSolvedCell() ? "cell #" + solveStep.getSolvedCell().getIndex() + " solved: " + solveStep.getSolution() : "no cell solved") + ", " +
-									(solveStep.hasChangedNotes() ? "candidates changed" : "candidates NOT changed"));
+							usedStrategies.add(strategy);
 							
 						}
 						
@@ -155,10 +421,10 @@ public abstract class StrategyExecutor {
 					}
 					
 					//abort loop if field is solved
-					if (currentState.getField().isFilled()) {
+					if (currentState.getCompactField().isFilled()) {
 						loopStrategyListAgain = false;
 						result = ExecuteResult.UNIQUESOLUTION;
-						DebugHelper.log(DebugHelper.PackageName.Solver, "strategy loop finished, field is unique solvable");
+						if (DebugHelper.ENABLED) DebugHelper.log(DebugHelper.PackageName.Solver, "strategy loop finished, field is unique solvable");
 						break;
 					}
 					
@@ -170,6 +436,15 @@ public abstract class StrategyExecutor {
 					
 				} catch (NotSolvableException ex) {
 					
+					if (currentStatistics != null) {
+						this.recordStrategy(currentStatistics, strategy, currentState, null, startTime, removedCandidates);
+					}
+					
+					//detecting an unsolvable field ends the branch, so it counts as change
+					if (currentSchedule != null) {
+						currentSchedule.record(strategy, System.nanoTime() - startTime, true);
+					}
+					
 					//current field is not solvable
 					result = ExecuteResult.NOSOLUTION;
 					loopStrategyListAgain = false;
@@ -182,15 +457,18 @@ public abstract class StrategyExecutor {
 			//if strategies were not successful use Backtracking to solve the next cell
 			if (!loopStrategyListAgain && result == null) {
 				
-				DebugHelper.log(DebugHelper.PackageName.Solver, "start backtracking");
+				if (DebugHelper.ENABLED) DebugHelper.log(DebugHelper.PackageName.Solver, "start backtracking");
 				
 				//search cell with the fewest candidates
-				NoteManager notes = currentState.getNoteManager();
+				CandidateGrid candidates = currentState.getCandidates();
 				Cell nextCellToSolve = null;
+				int nextCellCandidateCount = 0;
 				for (Cell cell : currentState.getField().getCells()) {
-					if (cell.isSet()) continue;					
-					if (nextCellToSolve == null || notes.getNotes(cell).size() < notes.getNotes(nextCellToSolve).size()) {
+					if (cell.isSet()) continue;
+					int candidateCount = candidates.getCandidateCount(cell.getIndex());
+					if (nextCellToSolve == null || candidateCount < nextCellCandidateCount) {
 						nextCellToSolve = cell;
+						nextCellCandidateCount = candidateCount;
 					}
 				}
 				
@@ -206,32 +484,59 @@ public abstract class StrategyExecutor {
 					
 					loopStrategyListAgain = false;
 					result = ExecuteResult.NOSOLUTION;
-					DebugHelper.log(DebugHelper.PackageName.Solver, "no next cell to solve, field has no solution");
+					if (DebugHelper.ENABLED) DebugHelper.log(DebugHelper.PackageName.Solver, "no next cell to solve, field has no solution");
 					
 				} else {
 				
 					//if there is only one candidate left it is the solution of the cell
 					//TODO implement check or assert use of NakedSingleStrategy?
-					assert (notes.getNotes(nextCellToSolve).size() >= 2);
+					assert (nextCellCandidateCount >= 2);
 					assert (breakAfterFirstHit == false);
+					
+					if (this.statistics != null) {
+						this.statistics.recordBacktracking(depth);
+					}
+					
+					//analyse all candidates at once if the parallel mode is enabled
+					if (this.branchExecutor != null && depth < this.parallelBranchDepth) {
+						result = this.executeBranchesInParallel(currentState, nextCellToSolve.getIndex(), usedStrategies, depth, cancellation);
+						break;
+					}
 									
 					//save the solution if one of the analysed candidates resulted in a unique solution
-					SolverState foundSolveState = null;
+					SolverState.Snapshot foundSolution = null;
 					
 					//analyse the first two candidates, set the value and try to solve the field again
-					List<Integer> cellNotes = notes.getNotes(nextCellToSolve);
-					for (int candidate : cellNotes) {
+					int nextCellIndex = nextCellToSolve.getIndex();
+					long remainingCandidates = candidates.getMask(nextCellIndex);
+					while (remainingCandidates != 0L) {
+						
+						int candidate = CandidateGrid.getLowestValue(remainingCandidates);
+						remainingCandidates = CandidateGrid.removeLowestValue(remainingCandidates);
 						
-						//clone currentState
-						SolverState newState = currentState.clone();
-						Cell newNextCellToSolve = newState.getField().getCell(nextCellToSolve.getIndex());
+						if (this.statistics != null) {
+							this.statistics.recordBranch();
+						}
+						
+						//record all changes of the branch, so they can be rolled back afterwards
+						currentState.mark();
 						
 						//remove all notes except the currently analysed candidate, strategies handle to solve the cell
-						newState.getNoteManager().removeAllNotes(newNextCellToSolve);
-						newState.getNoteManager().addNote(newNextCellToSolve, candidate);
+						candidates.setMask(nextCellIndex, CandidateGrid.getValueBit(candidate));
 						
 						//execute strategies with the set candidate
-						switch (this.executeStrategies(newState, breakAfterFirstHit)) {
+						ExecuteResult branchResult = this.executeStrategies(currentState, breakAfterFirstHit, usedStrategies, depth + 1, cancellation);
+						
+						//keep the solved field if the branch lead to the first unique solution
+						SolverState.Snapshot branchSolution = null;
+						if (branchResult == ExecuteResult.UNIQUESOLUTION && foundSolution == null) {
+							branchSolution = currentState.getSnapshot();
+						}
+						
+						//undo the changes of the branch
+						currentState.rollback();
+						
+						switch (branchResult) {
 						
 							case NOSOLUTION :
 							
@@ -240,21 +545,19 @@ public abstract class StrategyExecutor {
 								//next one have to be checked too to identify if it is a unique solution. It is
 								//more efficient to remove the candidate which can not be the solution and loop
 								//through the strategy list again.								
-								if (cellNotes.size() == 2 && foundSolveState != null) {
+								if (nextCellCandidateCount == 2 && foundSolution != null) {
 									
-									DebugHelper.log(DebugHelper.PackageName.Solver, "Backtracking cell #" + nextCellToSolve.getIndex() + " with candidate " + candidate + ": found no solution, other candidat is solution");
+									if (DebugHelper.ENABLED) DebugHelper.log(DebugHelper.PackageName.Solver, "Backtracking cell #%d with candidate %d: found no solution, other candidat is solution", nextCellToSolve.getIndex(), candidate);
 									
-									currentState.setField(foundSolveState.getField());
-									currentState.setDependencyManager(foundSolveState.getDependencyManager());
-									currentState.setNoteManager(foundSolveState.getNoteManager());
+									currentState.restoreSnapshot(foundSolution);
 									
 									loopStrategyListAgain = true;
 									
 								} else {
 
-									DebugHelper.log(DebugHelper.PackageName.Solver, "Backtracking cell #" + nextCellToSolve.getIndex() + " with candidate " + candidate + ": found no solution, remove candidate");
+									if (DebugHelper.ENABLED) DebugHelper.log(DebugHelper.PackageName.Solver, "Backtracking cell #%d with candidate %d: found no solution, remove candidate", nextCellToSolve.getIndex(), candidate);
 									
-									currentState.getNoteManager().removeNote(nextCellToSolve, candidate);
+									candidates.removeCandidate(nextCellIndex, candidate);
 									loopStrategyListAgain = true;
 									
 								}
@@ -266,19 +569,19 @@ public abstract class StrategyExecutor {
 								//all strategies necessary to found the solution were added to the used strategies list
 								//if more than one candidate leads to an unique solution the sudoku is multiple solvable
 								//and the execution can be interrupted.
-								if (foundSolveState != null) {
+								if (foundSolution != null) {
 								
-									DebugHelper.log(DebugHelper.PackageName.Solver, "Backtracking cell #" + nextCellToSolve.getIndex() + " with candidate " + candidate + ": already found a valid candidate => multiple solution");
+									if (DebugHelper.ENABLED) DebugHelper.log(DebugHelper.PackageName.Solver, "Backtracking cell #%d with candidate %d: already found a valid candidate => multiple solution", nextCellToSolve.getIndex(), candidate);
 									
 									loopStrategyListAgain = false;
 									result = ExecuteResult.MULTIPLESOLUTION;
 									
 								} else {
 									
-									DebugHelper.log(DebugHelper.PackageName.Solver, "Backtracking cell #" + nextCellToSolve.getIndex() + " with candidate " + candidate + ": found unique solution, check next candidate");
+									if (DebugHelper.ENABLED) DebugHelper.log(DebugHelper.PackageName.Solver, "Backtracking cell #%d with candidate %d: found unique solution, check next candidate", nextCellToSolve.getIndex(), candidate);
 									
 									//save the information that the candidate leads to an unique solution
-									foundSolveState = newState.clone();
+									foundSolution = branchSolution;
 									
 								}
 
@@ -286,7 +589,7 @@ public abstract class StrategyExecutor {
 								
 							case MULTIPLESOLUTION :
 								
-								DebugHelper.log(DebugHelper.PackageName.Solver, "Backtracking cell #" + nextCellToSolve.getIndex() + " with candidate " + candidate + ": found multiple solution");
+								if (DebugHelper.ENABLED) DebugHelper.log(DebugHelper.PackageName.Solver, "Backtracking cell #%d with candidate %d: found multiple solution", nextCellToSolve.getIndex(), candidate);
 								
 								//If a multiple solution was found the hole sudoko has no unique solution
 								result = ExecuteResult.MULTIPLESOLUTION;
@@ -317,6 +620,143 @@ public abstract class StrategyExecutor {
 		
 	}
 	
+	/**
+	 * Checks if one of the solve steps solved a cell or changed candidates.
+	 * @param strategyResults the solve steps of a strategy
+	 * @return <code>true</code> if the field was changed, <code>false</code> otherwise
+	 */
+	private static boolean hasChangedField(List<SolveStep> strategyResults) {
+		
+		for (SolveStep solveStep : strategyResults) {
+			if (solveStep.hasSolvedCell() || solveStep.hasChangedNotes()) {
+				return true;
+			}
+		}
+		
+		return false;
+		
+	}
+	
+	/**
+	 * Records an execution of a strategy in the statistics.
+	 * @param currentStatistics the statistics to record in
+	 * @param strategy the executed strategy
+	 * @param currentState the current solution state of the field
+	 * @param strategyResults the solve steps of the strategy, <code>null</code> if the strategy detected that the field is not solvable
+	 * @param startTime the time the execution started in nanoseconds
+	 * @param removedCandidates the number of removed candidates of the state before the execution
+	 */
+	private void recordStrategy(SolverStatistics currentStatistics, SolverStrategy strategy, SolverState currentState, 
+			List<SolveStep> strategyResults, long startTime, long removedCandidates) {
+		
+		int solvedCells = 0;
+		boolean changedField = false;
+		if (strategyResults != null) {
+			for (SolveStep solveStep : strategyResults) {
+				if (solveStep.hasSolvedCell()) solvedCells++;
+				changedField = (solveStep.hasSolvedCell() || solveStep.hasChangedNotes()) ? true : changedField;
+			}
+		}
+		
+		currentStatistics.recordStrategy(strategy, System.nanoTime() - startTime, solvedCells, 
+				currentState.getCandidates().getRemovedCandidateCount() - removedCandidates, changedField);
+		
+	}
+	
+	/**
+	 * Analyses all candidates of the given cell in parallel. Every branch works on a clone of the current state 
+	 * and collects its used strategies separately, they are added to the given list in order of the candidates.
+	 * If exactly one candidate leads to a solution, the solution is stored in the current state.
+	 * @param currentState the current solution state of the field
+	 * @param cellIndex index of the cell to analyse
+	 * @param usedStrategies the list to add the used strategies to
+	 * @param depth the current backtracking depth
+	 * @param parentCancellation the cancellation of the enclosing branch, <code>null</code> if there is none
+	 * @return ExecuteResult which represents the combined result of all branches
+	 */
+	private ExecuteResult executeBranchesInParallel(SolverState currentState, int cellIndex, List<SolverStrategy> usedStrategies, 
+			final int depth, Cancellation parentCancellation) {
+		
+		final Cancellation cancellation = new Cancellation(parentCancellation);
+		final AtomicInteger uniqueSolutions = new AtomicInteger(0);
+		
+		List<SolverState> branchStates = new ArrayList<SolverState>();
+		List<List<SolverStrategy>> branchStrategies = new ArrayList<List<SolverStrategy>>();
+		List<FutureTask<ExecuteResult>> branches = new ArrayList<FutureTask<ExecuteResult>>();
+		
+		//create a branch for every candidate of the cell
+		for (long rest = currentState.getCandidates().getMask(cellIndex); rest != 0L; rest = CandidateGrid.removeLowestValue(rest)) {
+			
+			if (this.statistics != null) {
+				this.statistics.recordBranch();
+			}
+			
+			final SolverState branchState = currentState.clone();
+			branchState.getCandidates().setMask(cellIndex, CandidateGrid.getValueBit(CandidateGrid.getLowestValue(rest)));
+			final List<SolverStrategy> branchUsedStrategies = new LinkedList<SolverStrategy>();
+			
+			FutureTask<ExecuteResult> branch = new FutureTask<ExecuteResult>(new Callable<ExecuteResult>() {
+				public ExecuteResult call() {
+					ExecuteResult branchResult = executeStrategies(branchState, false, branchUsedStrategies, depth + 1, cancellation);
+					//two solutions are enough to know the result, the other branches can stop
+					if (branchResult == ExecuteResult.MULTIPLESOLUTION 
+							|| branchResult == ExecuteResult.UNIQUESOLUTION && uniqueSolutions.incrementAndGet() > 1) {
+						cancellation.cancel();
+					}
+					return branchResult;
+				}
+			});
+			
+			branchStates.add(branchState);
+			branchStrategies.add(branchUsedStrategies);
+			branches.add(branch);
+			
+		}
+		
+		for (FutureTask<ExecuteResult> branch : branches) {
+			this.branchExecutor.execute(branch);
+		}
+		
+		//wait for all branches, branches not started yet are run by the current thread
+		List<ExecuteResult> branchResults = new ArrayList<ExecuteResult>(branches.size());
+		for (FutureTask<ExecuteResult> branch : branches) {
+			branch.run();
+			try {
+				branchResults.add(branch.get());
+			} catch (InterruptedException ex) {
+				cancellation.cancel();
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("interrupted while waiting for a backtracking branch", ex);
+			} catch (ExecutionException ex) {
+				cancellation.cancel();
+				if (ex.getCause() instanceof RuntimeException) {
+					throw (RuntimeException) ex.getCause();
+				}
+				throw new IllegalStateException(ex.getCause());
+			}
+		}
+		
+		for (List<SolverStrategy> branchUsedStrategies : branchStrategies) {
+			usedStrategies.addAll(branchUsedStrategies);
+		}
+		
+		//combine the results of the branches
+		if (cancellation.isCancelled() || branchResults.contains(ExecuteResult.MULTIPLESOLUTION)) {
+			return ExecuteResult.MULTIPLESOLUTION;
+		}
+		
+		int solutionIndex = branchResults.indexOf(ExecuteResult.UNIQUESOLUTION);
+		if (solutionIndex < 0) {
+			if (DebugHelper.ENABLED) DebugHelper.log(DebugHelper.PackageName.Solver, "Parallel backtracking cell #%d: found no solution", cellIndex);
+			return ExecuteResult.NOSOLUTION;
+		}
+		
+		if (DebugHelper.ENABLED) DebugHelper.log(DebugHelper.PackageName.Solver, "Parallel backtracking cell #%d: found unique solution", cellIndex);
+		currentState.restoreSnapshot(branchStates.get(solutionIndex).getSnapshot());
+		return ExecuteResult.UNIQUESOLUTION;
+		
+	}
+	
 	/**
 	 * Initialises a new instance of the {@link BacktrackingSolver} class
 	 */
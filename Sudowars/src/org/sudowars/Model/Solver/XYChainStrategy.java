@@ -0,0 +1,185 @@
+/*******************************************************************************
+ * Copyright (c) 2011 - 2012 Adrian Vielsack, Christof Urbaczek, Florian Rosenthal, Michael Hoff, Moritz Lüdecke, Philip Flohr.
+ * 
+ * This file is part of Sudowars.
+ * 
+ * Sudowars is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Sudowars is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Sudowars.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * 
+ * 
+ * Diese Datei ist Teil von Sudowars.
+ * 
+ * Sudowars ist Freie Software: Sie können es unter den Bedingungen
+ * der GNU General Public License, wie von der Free Software Foundation,
+ * Version 3 der Lizenz oder (nach Ihrer Option) jeder späteren
+ * veröffentlichten Version, weiterverbreiten und/oder modifizieren.
+ * 
+ * Sudowars wird in der Hoffnung, dass es nützlich sein wird, aber
+ * OHNE JEDE GEWÄHELEISTUNG, bereitgestellt; sogar ohne die implizite
+ * Gewährleistung der MARKTFÄHIGKEIT oder EIGNUNG FÜR EINEN BESTIMMTEN ZWECK.
+ * Siehe die GNU General Public License für weitere Details.
+ * 
+ * Sie sollten eine Kopie der GNU General Public License zusammen mit diesem
+ * Programm erhalten haben. Wenn nicht, siehe <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ * initial API and implementation:
+ * Adrian Vielsack
+ * Christof Urbaczek
+ * Florian Rosenthal
+ * Michael Hoff
+ * Moritz Lüdecke
+ * Philip Flohr 
+ ******************************************************************************/
+package org.sudowars.Model.Solver;
+
+import java.util.LinkedList;
+import java.util.List;
+
+import org.sudowars.Model.Sudoku.Field.Cell;
+import org.sudowars.Model.Sudoku.Field.Field;
+import org.sudowars.Model.Sudoku.RuleManagement.RuleApplier.StandardRulesetFactory;
+
+/**
+ * This class defines the "XY-Chain"-strategy to solve the next {@link Cell} of a {@link Field}.
+ * 
+ * A chain of bivalue cells where every cell sees the next one and shares a candidate with it. If the first cell 
+ * does not hold its free candidate z, every following cell is forced until the last cell holds z. So one end of 
+ * the chain holds z and z can be removed from all cells seeing both ends. The strategy uses the links between 
+ * bivalue cells of the {@link LinkGraph} and searches chains up to {@link XYChainStrategy#MAX_CHAIN_LENGTH} cells.
+ */
+public class XYChainStrategy extends SolverStrategy {
+	
+	private static final long serialVersionUID = 7740252860375196183L;
+	
+	/**
+	 * the maximum number of cells of a chain
+	 */
+	public static final int MAX_CHAIN_LENGTH = 6;
+	
+	/**
+	 * the minimum number of cells of a chain, shorter chains are found by the clique strategies
+	 */
+	private static final int MIN_CHAIN_LENGTH = 3;
+
+	/**
+	 * Executes the strategy on the current state
+	 * @param currentState The current solution state
+	 * @return List of SolveSteps calculated by the strategy
+	 * @throws NotSolvableException if the strategy detects that the current field is not solvable
+	 * @throws IllegalArgumentException if the given state is <code>null</code>
+	 */
+	public List<SolveStep> executeStrategy(SolverState currentState) throws IllegalArgumentException {
+		
+		if (currentState == null) {
+			throw new IllegalArgumentException("given SolverState cannot be null.");
+		}
+		
+		//strategy needs standard ruleset to solve cells or rather reduce candidates
+		if (!StandardRulesetFactory.getInstance().isStandardRuleset(currentState.getDependencyManager())) {
+			return new LinkedList<SolveStep>();
+		}
+		
+		//initiate result
+		List<SolveStep> result = new LinkedList<SolveStep>();
+		Boolean notesChanged = false;
+		LinkGraph graph = currentState.getLinkGraph();
+		
+		int[] chain = new int[MAX_CHAIN_LENGTH];
+		boolean[] visited = new boolean[graph.getBivalueCount()];
+		
+		//start a chain at every bivalue cell with both of its candidates as free candidate
+		for (int start = 0; start < graph.getBivalueCount(); start++) {
+			
+			currentState.checkSolveContext();
+			
+			long startMask = graph.getBivalueMask(start);
+			chain[0] = start;
+			visited[start] = true;
+			
+			for (long rest = startMask; rest != 0L; rest = CandidateGrid.removeLowestValue(rest)) {
+				long freeCandidate = rest & -rest;
+				notesChanged = this.extendChain(graph, chain, 1, startMask & ~freeCandidate, freeCandidate, visited) ? true : notesChanged;
+			}
+			
+			visited[start] = false;
+			
+		}
+		
+		//if notes were changed add solveStep to the result list
+		if (notesChanged) {
+			result.add(new SolveStep(notesChanged));
+		}
+		
+		return result;
+		
+	}
+	
+	/**
+	 * Extends the chain by all bivalue peers of its last cell that hold the linked candidate and removes the free 
+	 * candidate from the cells seeing both ends of every complete chain.
+	 * @param graph the links of the current state
+	 * @param chain the positions of the bivalue cells of the chain
+	 * @param length the current length of the chain
+	 * @param linkCandidate the candidate the last cell holds if the first cell does not hold the free candidate
+	 * @param freeCandidate the free candidate of the first cell
+	 * @param visited the bivalue cells within the chain
+	 * @return <code>true</code> if a candidate was removed, <code>false</code> otherwise
+	 */
+	private boolean extendChain(LinkGraph graph, int[] chain, int length, long linkCandidate, long freeCandidate, boolean[] visited) {
+		
+		boolean notesChanged = false;
+		int[] neighbours = graph.getBivalueNeighbours(chain[length - 1]);
+		
+		for (int neighbour : neighbours) {
+			
+			long neighbourMask = graph.getBivalueMask(neighbour);
+			if (visited[neighbour] || (neighbourMask & linkCandidate) == 0L) continue;
+			
+			//the neighbour cannot hold the linked candidate, so it holds the other one
+			long nextCandidate = neighbourMask & ~linkCandidate;
+			if (length + 1 >= MIN_CHAIN_LENGTH && nextCandidate == freeCandidate) {
+				notesChanged = graph.removeFromCommonPeers(CandidateGrid.getLowestValue(freeCandidate), 
+						graph.getBivalueCell(chain[0]), graph.getBivalueCell(neighbour)) ? true : notesChanged;
+			}
+			
+			if (length + 1 < MAX_CHAIN_LENGTH) {
+				visited[neighbour] = true;
+				chain[length] = neighbour;
+				notesChanged = this.extendChain(graph, chain, length + 1, nextCandidate, freeCandidate, visited) ? true : notesChanged;
+				visited[neighbour] = false;
+			}
+			
+		}
+		
+		return notesChanged;
+		
+	}
+	
+	/**
+	 * Initialises a new instance of the {@link XYChainStrategy} class
+	 */
+	public XYChainStrategy() {
+		super();
+	}
+	
+	/**
+	 * Initialises a new instance of the {@link XYChainStrategy} class
+	 * @param strategyWeight the weight of the strategy
+	 */
+	public XYChainStrategy(int strategyWeight) {
+		super(strategyWeight);
+	}
+
+}
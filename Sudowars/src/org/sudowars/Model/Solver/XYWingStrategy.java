@@ -0,0 +1,147 @@
+/*******************************************************************************
+ * Copyright (c) 2011 - 2012 Adrian Vielsack, Christof Urbaczek, Florian Rosenthal, Michael Hoff, Moritz Lüdecke, Philip Flohr.
+ * 
+ * This file is part of Sudowars.
+ * 
+ * Sudowars is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Sudowars is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Sudowars.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * 
+ * 
+ * Diese Datei ist Teil von Sudowars.
+ * 
+ * Sudowars ist Freie Software: Sie können es unter den Bedingungen
+ * der GNU General Public License, wie von der Free Software Foundation,
+ * Version 3 der Lizenz oder (nach Ihrer Option) jeder späteren
+ * veröffentlichten Version, weiterverbreiten und/oder modifizieren.
+ * 
+ * Sudowars wird in der Hoffnung, dass es nützlich sein wird, aber
+ * OHNE JEDE GEWÄHELEISTUNG, bereitgestellt; sogar ohne die implizite
+ * Gewährleistung der MARKTFÄHIGKEIT oder EIGNUNG FÜR EINEN BESTIMMTEN ZWECK.
+ * Siehe die GNU General Public License für weitere Details.
+ * 
+ * Sie sollten eine Kopie der GNU General Public License zusammen mit diesem
+ * Programm erhalten haben. Wenn nicht, siehe <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ * initial API and implementation:
+ * Adrian Vielsack
+ * Christof Urbaczek
+ * Florian Rosenthal
+ * Michael Hoff
+ * Moritz Lüdecke
+ * Philip Flohr 
+ ******************************************************************************/
+package org.sudowars.Model.Solver;
+
+import java.util.LinkedList;
+import java.util.List;
+
+import org.sudowars.Model.Sudoku.Field.Cell;
+import org.sudowars.Model.Sudoku.Field.Field;
+import org.sudowars.Model.Sudoku.RuleManagement.RuleApplier.StandardRulesetFactory;
+
+/**
+ * This class defines the "XY-Wing"-strategy to solve the next {@link Cell} of a {@link Field}.
+ * 
+ * A pivot cell with the candidates x and y sees two cells with the candidates x, z and y, z. Whatever value 
+ * the pivot holds, one of the two other cells holds z, so z can be removed from all cells seeing both of them.
+ * The strategy uses the links between bivalue cells of the {@link LinkGraph}.
+ */
+public class XYWingStrategy extends SolverStrategy {
+	
+	private static final long serialVersionUID = 4618823063245106227L;
+
+	/**
+	 * Executes the strategy on the current state
+	 * @param currentState The current solution state
+	 * @return List of SolveSteps calculated by the strategy
+	 * @throws NotSolvableException if the strategy detects that the current field is not solvable
+	 * @throws IllegalArgumentException if the given state is <code>null</code>
+	 */
+	public List<SolveStep> executeStrategy(SolverState currentState) throws IllegalArgumentException {
+		
+		if (currentState == null) {
+			throw new IllegalArgumentException("given SolverState cannot be null.");
+		}
+		
+		//strategy needs standard ruleset to solve cells or rather reduce candidates
+		if (!StandardRulesetFactory.getInstance().isStandardRuleset(currentState.getDependencyManager())) {
+			return new LinkedList<SolveStep>();
+		}
+		
+		//initiate result
+		List<SolveStep> result = new LinkedList<SolveStep>();
+		Boolean notesChanged = false;
+		LinkGraph graph = currentState.getLinkGraph();
+		
+		//iterate through the bivalue cells and use every cell as pivot
+		for (int pivot = 0; pivot < graph.getBivalueCount(); pivot++) {
+			
+			currentState.checkSolveContext();
+			
+			long pivotMask = graph.getBivalueMask(pivot);
+			int[] neighbours = graph.getBivalueNeighbours(pivot);
+			
+			//search two peers that share a different candidate with the pivot and a common third candidate
+			for (int first = 0; first < neighbours.length; first++) {
+				
+				long firstMask = graph.getBivalueMask(neighbours[first]);
+				long firstShared = firstMask & pivotMask;
+				if (CandidateGrid.bitCount(firstShared) != 1) continue;
+				
+				for (int second = first + 1; second < neighbours.length; second++) {
+					
+					long secondMask = graph.getBivalueMask(neighbours[second]);
+					long secondShared = secondMask & pivotMask;
+					if (CandidateGrid.bitCount(secondShared) != 1 || secondShared == firstShared) continue;
+					
+					//the wing cells have to share the candidate which is not held by the pivot
+					long wingValue = firstMask & secondMask;
+					if (CandidateGrid.bitCount(wingValue) != 1 || (wingValue & pivotMask) != 0L) continue;
+					
+					//one of the wing cells holds the value, so it can be removed from the cells seeing both of them
+					notesChanged = graph.removeFromCommonPeers(CandidateGrid.getLowestValue(wingValue), 
+							graph.getBivalueCell(neighbours[first]), graph.getBivalueCell(neighbours[second])) ? true : notesChanged;
+					
+				}
+				
+			}
+			
+		}
+		
+		//if notes were changed add solveStep to the result list
+		if (notesChanged) {
+			result.add(new SolveStep(notesChanged));
+		}
+		
+		return result;
+		
+	}
+	
+	/**
+	 * Initialises a new instance of the {@link XYWingStrategy} class
+	 */
+	public XYWingStrategy() {
+		super();
+	}
+	
+	/**
+	 * Initialises a new instance of the {@link XYWingStrategy} class
+	 * @param strategyWeight the weight of the strategy
+	 */
+	public XYWingStrategy(int strategyWeight) {
+		super(strategyWeight);
+	}
+
+}
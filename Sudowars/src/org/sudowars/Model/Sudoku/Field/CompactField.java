@@ -0,0 +1,363 @@
+/*******************************************************************************
+ * Copyright (c) 2011 - 2012 Adrian Vielsack, Christof Urbaczek, Florian Rosenthal, Michael Hoff, Moritz Lüdecke, Philip Flohr.
+ * 
+ * This file is part of Sudowars.
+ * 
+ * Sudowars is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Sudowars is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Sudowars.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * 
+ * 
+ * Diese Datei ist Teil von Sudowars.
+ * 
+ * Sudowars ist Freie Software: Sie können es unter den Bedingungen
+ * der GNU General Public License, wie von der Free Software Foundation,
+ * Version 3 der Lizenz oder (nach Ihrer Option) jeder späteren
+ * veröffentlichten Version, weiterverbreiten und/oder modifizieren.
+ * 
+ * Sudowars wird in der Hoffnung, dass es nützlich sein wird, aber
+ * OHNE JEDE GEWÄHELEISTUNG, bereitgestellt; sogar ohne die implizite
+ * Gewährleistung der MARKTFÄHIGKEIT oder EIGNUNG FÜR EINEN BESTIMMTEN ZWECK.
+ * Siehe die GNU General Public License für weitere Details.
+ * 
+ * Sie sollten eine Kopie der GNU General Public License zusammen mit diesem
+ * Programm erhalten haben. Wenn nicht, siehe <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ * initial API and implementation:
+ * Adrian Vielsack
+ * Christof Urbaczek
+ * Florian Rosenthal
+ * Michael Hoff
+ * Moritz Lüdecke
+ * Philip Flohr 
+ ******************************************************************************/
+package org.sudowars.Model.Sudoku.Field;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * The class {@link CompactField} stores the values and initial states of the cells of a {@link Field} 
+ * in primitive arrays, indexed like the cells of a {@link Field} with the same {@link FieldStructure}.
+ * <br>
+ * Copying a {@link CompactField} copies two arrays instead of every single cell, so it is used where fields 
+ * are copied frequently, e.g. by solvers and generators. Code working on {@link Cell}s can access the 
+ * values through the view returned by {@link CompactField#asField()}.
+ */
+public final class CompactField implements Cloneable, Serializable {
+	
+	/**
+	 * Serial version UID for serialization.
+	 */
+	private static final long serialVersionUID = 3318746521873309244L;
+	
+	/**
+	 * The largest value a cell of a {@link CompactField} can hold.
+	 */
+	public static final int MAX_VALUE = Byte.MAX_VALUE;
+	
+	private final FieldStructure structure;
+	private final byte[] values;
+	private final BitSet initialCells;
+	
+	//view of the cells, created on first use
+	transient private Field<Cell> view;
+	
+	/**
+	 * A {@link Cell} reading its value and initial state from the arrays of the {@link CompactField}.
+	 */
+	private final class CellView implements Cell {
+		
+		private static final long serialVersionUID = -6120873945508361972L;
+		
+		private final int index;
+		
+		private CellView(int index) {
+			this.index = index;
+		}
+		
+		@Override
+		public int getValue() {
+			return values[this.index];
+		}
+		
+		@Override
+		public int getIndex() {
+			return this.index;
+		}
+		
+		@Override
+		public boolean isInitial() {
+			return initialCells.get(this.index);
+		}
+		
+		@Override
+		public boolean isSet() {
+			return values[this.index] != DataCell.NOT_SET;
+		}
+		
+		/**
+		 * Returns a {@link DataCell} holding the current value and initial state of the cell.
+		 * @return a {@link DataCell} holding the current value and initial state of the cell
+		 */
+		@Override
+		public DataCell clone() {
+			DataCell newCell = new DataCell(this.index, this.isInitial());
+			newCell.setValue(this.getValue());
+			return newCell;
+		}
+		
+	}
+	
+	/**
+	 * Initializes a new instance of {@link CompactField} with the given {@link FieldStructure}, 
+	 * all cells are not set and not initial.
+	 *
+	 * @param structure the instances future {@link FieldStructure}
+	 *
+	 * @throws IllegalArgumentException if the given structure is <code>null</code>
+	 */
+	public CompactField(FieldStructure structure) throws IllegalArgumentException {
+		
+		if (structure == null) {
+			throw new IllegalArgumentException("given structure cannot be null.");
+		}
+		
+		this.structure = structure;
+		this.values = new byte[structure.getUsedSlotCount()];
+		this.initialCells = new BitSet(this.values.length);
+		
+	}
+	
+	/**
+	 * Initializes a new instance of {@link CompactField} holding the values and initial states of the 
+	 * cells of the given {@link Field}.
+	 *
+	 * @param field the {@link Field} to copy
+	 *
+	 * @throws IllegalArgumentException if the given field is <code>null</code> or holds a value 
+	 * 				larger than {@link CompactField#MAX_VALUE}
+	 */
+	public CompactField(Field<? extends Cell> field) throws IllegalArgumentException {
+		
+		this(field == null ? null : field.getStructure());
+		
+		for (Cell cell : field.getCells()) {
+			this.setValue(cell.getIndex(), cell.getValue());
+			if (cell.isInitial()) {
+				this.initialCells.set(cell.getIndex());
+			}
+		}
+		
+	}
+	
+	/**
+	 * Initializes a new instance of {@link CompactField} using the given arrays without copying them.
+	 */
+	private CompactField(FieldStructure structure, byte[] values, BitSet initialCells) {
+		this.structure = structure;
+		this.values = values;
+		this.initialCells = initialCells;
+	}
+	
+	/**
+	 * Returns the {@link FieldStructure} of the {@link CompactField}.
+	 * @return the {@link FieldStructure} of the {@link CompactField}
+	 */
+	public FieldStructure getStructure() {
+		return this.structure;
+	}
+	
+	/**
+	 * Returns the number of cells of the {@link CompactField}.
+	 * @return the number of cells
+	 */
+	public int getCellCount() {
+		return this.values.length;
+	}
+	
+	/**
+	 * Returns the value of the cell with the given index.
+	 * @param index the index of the cell
+	 * @return the value of the cell, {@link DataCell#NOT_SET} if the cell is not set
+	 * @throws IllegalArgumentException if the given index is out of bounds
+	 */
+	public int getValue(int index) throws IllegalArgumentException {
+		this.checkIndex(index);
+		return this.values[index];
+	}
+	
+	/**
+	 * Sets the value of the cell with the given index.
+	 * @param index the index of the cell
+	 * @param value the new value of the cell, {@link DataCell#NOT_SET} to remove the value
+	 * @throws IllegalArgumentException if the given index is out of bounds or the value is lower than 
+	 * 				<code>0</code> or larger than {@link CompactField#MAX_VALUE}
+	 */
+	public void setValue(int index, int value) throws IllegalArgumentException {
+		
+		this.checkIndex(index);
+		if (value < 0 || value > MAX_VALUE) {
+			throw new IllegalArgumentException("Illegal cell value");
+		}
+		
+		this.values[index] = (byte) value;
+		
+	}
+	
+	/**
+	 * Determines whether the cell with the given index contains a value.
+	 * @param index the index of the cell
+	 * @return <code>true</code> if the cell contains a value, <code>false</code> otherwise
+	 * @throws IllegalArgumentException if the given index is out of bounds
+	 */
+	public boolean isSet(int index) throws IllegalArgumentException {
+		return this.getValue(index) != DataCell.NOT_SET;
+	}
+	
+	/**
+	 * Returns whether the cell with the given index is initial.
+	 * @param index the index of the cell
+	 * @return <code>true</code> if the cell is initial, <code>false</code> otherwise
+	 * @throws IllegalArgumentException if the given index is out of bounds
+	 */
+	public boolean isInitial(int index) throws IllegalArgumentException {
+		this.checkIndex(index);
+		return this.initialCells.get(index);
+	}
+	
+	/**
+	 * Sets the initial state of the cell with the given index.
+	 * @param index the index of the cell
+	 * @param initial the new initial state of the cell
+	 * @throws IllegalArgumentException if the given index is out of bounds
+	 */
+	public void setInitial(int index, boolean initial) throws IllegalArgumentException {
+		this.checkIndex(index);
+		this.initialCells.set(index, initial);
+	}
+	
+	/**
+	 * Determines whether all cells contain a value.
+	 * @return <code>true</code> if all cells contain a value, <code>false</code> otherwise
+	 */
+	public boolean isFilled() {
+		for (byte value : this.values) {
+			if (value == DataCell.NOT_SET) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * Returns a {@link Field} viewing the cells of this {@link CompactField}. The view is not copied, so 
+	 * its cells always show the current values and initial states. The view cannot be modified, cloning it 
+	 * returns a {@link Field} of independent {@link DataCell}s.
+	 * @return a {@link Field} viewing the cells of this {@link CompactField}
+	 */
+	public Field<Cell> asField() {
+		
+		if (this.view == null) {
+			List<Cell> cells = new ArrayList<Cell>(this.values.length);
+			for (int i = 0; i < this.values.length; i++) {
+				cells.add(new CellView(i));
+			}
+			this.view = new Field<Cell>(cells, this.structure);
+		}
+		
+		return this.view;
+		
+	}
+	
+	/**
+	 * Returns a new {@link Field} of {@link DataCell}s holding the values and initial states of this 
+	 * {@link CompactField}.
+	 * @return a new {@link Field} of {@link DataCell}s
+	 */
+	public Field<DataCell> toField() {
+		
+		Field<DataCell> field = new FieldBuilder<DataCell>().build(this.structure, new DataCellBuilder());
+		this.copyTo(field);
+		
+		return field;
+		
+	}
+	
+	/**
+	 * Copies the values and initial states of this {@link CompactField} into the cells of the given {@link Field}.
+	 * @param field the {@link Field} to copy to
+	 * @throws IllegalArgumentException if the given field is <code>null</code> or has another number of cells
+	 */
+	public void copyTo(Field<DataCell> field) throws IllegalArgumentException {
+		
+		if (field == null || field.getCells().size() != this.values.length) {
+			throw new IllegalArgumentException("given field does not match the size of the compact field.");
+		}
+		
+		for (DataCell cell : field.getCells()) {
+			cell.setValue(this.values[cell.getIndex()]);
+			cell.setInitial(this.initialCells.get(cell.getIndex()));
+		}
+		
+	}
+	
+	/**
+	 * Returns a copy of the calling {@link CompactField}
+	 * @return a copy of the calling {@link CompactField}
+	 */
+	public CompactField clone() {
+		return new CompactField(this.structure, this.values.clone(), (BitSet) this.initialCells.clone());
+	}
+	
+	private void checkIndex(int index) throws IllegalArgumentException {
+		if (index < 0 || index >= this.values.length) {
+			throw new IllegalArgumentException("Illegal index");
+		}
+	}
+	
+	/**
+	 * Returns the hash code of the {@link CompactField}.
+	 * @return the hash code of the {@link CompactField}
+	 */
+	@Override
+	public int hashCode() {
+		return 31 * Arrays.hashCode(this.values) + this.initialCells.hashCode();
+	}
+	
+	/**
+	 * Compares this instance with the specified object and indicates if they are equal.
+	 * @param obj the object to compare this instance with.
+	 * @return <code>true</code> if the specified object holds the same values and initial states 
+	 * 				in the same structure, <code>false</code> otherwise.
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		CompactField other = (CompactField) obj;
+		if (this.structure.getWidth() != other.structure.getWidth() 
+				|| this.structure.getHeight() != other.structure.getHeight())
+			return false;
+		return Arrays.equals(this.values, other.values) && this.initialCells.equals(other.initialCells);
+	}
+	
+}
@@ -0,0 +1,334 @@
+/*******************************************************************************
+ * Copyright (c) 2011 - 2012 Adrian Vielsack, Christof Urbaczek, Florian Rosenthal, Michael Hoff, Moritz Lüdecke, Philip Flohr.
+ * 
+ * This file is part of Sudowars.
+ * 
+ * Sudowars is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Sudowars is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Sudowars.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * 
+ * 
+ * Diese Datei ist Teil von Sudowars.
+ * 
+ * Sudowars ist Freie Software: Sie können es unter den Bedingungen
+ * der GNU General Public License, wie von der Free Software Foundation,
+ * Version 3 der Lizenz oder (nach Ihrer Option) jeder späteren
+ * veröffentlichten Version, weiterverbreiten und/oder modifizieren.
+ * 
+ * Sudowars wird in der Hoffnung, dass es nützlich sein wird, aber
+ * OHNE JEDE GEWÄHELEISTUNG, bereitgestellt; sogar ohne die implizite
+ * Gewährleistung der MARKTFÄHIGKEIT oder EIGNUNG FÜR EINEN BESTIMMTEN ZWECK.
+ * Siehe die GNU General Public License für weitere Details.
+ * 
+ * Sie sollten eine Kopie der GNU General Public License zusammen mit diesem
+ * Programm erhalten haben. Wenn nicht, siehe <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ * initial API and implementation:
+ * Adrian Vielsack
+ * Christof Urbaczek
+ * Florian Rosenthal
+ * Michael Hoff
+ * Moritz Lüdecke
+ * Philip Flohr 
+ ******************************************************************************/
+package org.sudowars.Model.Sudoku.RuleManagement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+/**
+ * The {@link DependencyIndex} holds precomputed lookup tables for the {@link DependencyGroup}s of a
+ * {@link DependencyManager}. It maps every cell index to the groups containing it and to its peers, i.e.
+ * all other cell indices sharing at least one group with it. Groups are identified by their position
+ * in {@link DependencyManager#getDependencyGroups()}.
+ * <br>
+ * The index is immutable and therefore can be shared between all users of the same ruleset.
+ */
+public final class DependencyIndex {
+	
+	private static final int[] EMPTY = new int[0];
+	
+	private final List<DependencyGroup> groups;
+	private final IdentityHashMap<DependencyGroup, Integer> groupNumbers;
+	private final int[][] cellsOfGroup;
+	private final int[][] groupsOfCell;
+	private final int[][] peersOfCell;
+	private final List<List<DependencyGroup>> groupListsOfCell;
+	
+	/**
+	 * Initializes a new {@link DependencyIndex} instance for the given groups.
+	 *
+	 * @param groups the {@link DependencyGroup}s to index
+	 *
+	 * @throws IllegalArgumentException if groups is <code>null</code>
+	 */
+	DependencyIndex(List<DependencyGroup> groups) throws IllegalArgumentException {
+		if (groups == null) {
+			throw new IllegalArgumentException();
+		}
+		
+		this.groups = Collections.unmodifiableList(new ArrayList<DependencyGroup>(groups));
+		this.groupNumbers = new IdentityHashMap<DependencyGroup, Integer>();
+		this.cellsOfGroup = new int[this.groups.size()][];
+		
+		// collect the indices of every group and determine the number of cells
+		int cellCount = 0;
+		for (int groupNumber = 0; groupNumber < this.groups.size(); groupNumber++) {
+			DependencyGroup group = this.groups.get(groupNumber);
+			this.groupNumbers.put(group, groupNumber);
+			
+			List<Integer> indices = group.getIndices();
+			int[] cells = new int[indices.size()];
+			for (int i = 0; i < cells.length; i++) {
+				cells[i] = indices.get(i);
+				cellCount = Math.max(cellCount, cells[i] + 1);
+			}
+			this.cellsOfGroup[groupNumber] = cells;
+		}
+		
+		// count the groups of every cell
+		int[] groupCounts = new int[cellCount];
+		for (int[] cells : this.cellsOfGroup) {
+			for (int cell : cells) {
+				groupCounts[cell]++;
+			}
+		}
+		
+		// map cells to their groups, keeping the order of the groups
+		this.groupsOfCell = new int[cellCount][];
+		for (int cell = 0; cell < cellCount; cell++) {
+			this.groupsOfCell[cell] = groupCounts[cell] == 0 ? EMPTY : new int[groupCounts[cell]];
+			groupCounts[cell] = 0;
+		}
+		for (int groupNumber = 0; groupNumber < this.cellsOfGroup.length; groupNumber++) {
+			for (int cell : this.cellsOfGroup[groupNumber]) {
+				this.groupsOfCell[cell][groupCounts[cell]++] = groupNumber;
+			}
+		}
+		
+		// map cells to their peers and build the read-only group lists
+		this.peersOfCell = new int[cellCount][];
+		List<List<DependencyGroup>> groupLists = new ArrayList<List<DependencyGroup>>(cellCount);
+		boolean[] isPeer = new boolean[cellCount];
+		for (int cell = 0; cell < cellCount; cell++) {
+			List<DependencyGroup> groupList = new ArrayList<DependencyGroup>(this.groupsOfCell[cell].length);
+			int peerCount = 0;
+			for (int groupNumber : this.groupsOfCell[cell]) {
+				groupList.add(this.groups.get(groupNumber));
+				for (int peer : this.cellsOfGroup[groupNumber]) {
+					if (peer != cell && !isPeer[peer]) {
+						isPeer[peer] = true;
+						peerCount++;
+					}
+				}
+			}
+			groupLists.add(Collections.unmodifiableList(groupList));
+			
+			int[] peers = new int[peerCount];
+			int position = 0;
+			for (int peer = 0; peer < cellCount; peer++) {
+				if (isPeer[peer]) {
+					peers[position++] = peer;
+					isPeer[peer] = false;
+				}
+			}
+			this.peersOfCell[cell] = peers;
+		}
+		this.groupListsOfCell = Collections.unmodifiableList(groupLists);
+	}
+	
+	/**
+	 * Returns the number of cell indices covered by the index.
+	 *
+	 * @return the highest cell index contained in a group plus one
+	 */
+	public int getCellCount() {
+		return this.groupsOfCell.length;
+	}
+	
+	/**
+	 * Returns the number of indexed {@link DependencyGroup}s.
+	 *
+	 * @return the number of indexed {@link DependencyGroup}s
+	 */
+	public int getGroupCount() {
+		return this.groups.size();
+	}
+	
+	/**
+	 * Returns the {@link DependencyGroup} with the given number.
+	 *
+	 * @param groupNumber the number of the group
+	 *
+	 * @return the {@link DependencyGroup} with the given number
+	 *
+	 * @throws IllegalArgumentException if there is no group with the given number
+	 */
+	public DependencyGroup getGroup(int groupNumber) throws IllegalArgumentException {
+		checkGroupNumber(groupNumber);
+		return this.groups.get(groupNumber);
+	}
+	
+	/**
+	 * Returns the number of the given {@link DependencyGroup}.
+	 *
+	 * @param group the {@link DependencyGroup}
+	 *
+	 * @return the number of the group, or <code>-1</code> if the group is not indexed
+	 */
+	public int getGroupNumber(DependencyGroup group) {
+		Integer groupNumber = this.groupNumbers.get(group);
+		return groupNumber == null ? -1 : groupNumber;
+	}
+	
+	/**
+	 * Returns the number of cells of the given group.
+	 *
+	 * @param groupNumber the number of the group
+	 *
+	 * @return the number of cells of the group
+	 *
+	 * @throws IllegalArgumentException if there is no group with the given number
+	 */
+	public int getCellCountOfGroup(int groupNumber) throws IllegalArgumentException {
+		checkGroupNumber(groupNumber);
+		return this.cellsOfGroup[groupNumber].length;
+	}
+	
+	/**
+	 * Returns a cell index of the given group.
+	 *
+	 * @param groupNumber the number of the group
+	 * @param position the position of the cell within the group
+	 *
+	 * @return the index of the cell at the given position
+	 *
+	 * @throws IllegalArgumentException if there is no group with the given number
+	 */
+	public int getCellOfGroup(int groupNumber, int position) throws IllegalArgumentException {
+		checkGroupNumber(groupNumber);
+		return this.cellsOfGroup[groupNumber][position];
+	}
+	
+	/**
+	 * Returns the cell indices of the given group.
+	 *
+	 * @param groupNumber the number of the group
+	 *
+	 * @return a copy of the cell indices of the group
+	 *
+	 * @throws IllegalArgumentException if there is no group with the given number
+	 */
+	public int[] getCellsOfGroup(int groupNumber) throws IllegalArgumentException {
+		checkGroupNumber(groupNumber);
+		return this.cellsOfGroup[groupNumber].clone();
+	}
+	
+	/**
+	 * Returns the number of groups containing the given cell index.
+	 *
+	 * @param cellIndex the index of the cell
+	 *
+	 * @return the number of groups containing the cell, <code>0</code> if the index is not covered
+	 */
+	public int getGroupCountOfCell(int cellIndex) {
+		return isCovered(cellIndex) ? this.groupsOfCell[cellIndex].length : 0;
+	}
+	
+	/**
+	 * Returns the number of a group containing the given cell index.
+	 *
+	 * @param cellIndex the index of the cell
+	 * @param position the position of the group within the groups of the cell
+	 *
+	 * @return the number of the group at the given position
+	 */
+	public int getGroupOfCell(int cellIndex, int position) {
+		return this.groupsOfCell[cellIndex][position];
+	}
+	
+	/**
+	 * Returns the {@link DependencyGroup}s containing the given cell index.
+	 *
+	 * @param cellIndex the index of the cell
+	 *
+	 * @return a read-only {@link List} of {@link DependencyGroup}s, empty if the index is not covered
+	 */
+	public List<DependencyGroup> getGroupsOfCell(int cellIndex) {
+		if (!isCovered(cellIndex)) {
+			return Collections.emptyList();
+		}
+		return this.groupListsOfCell.get(cellIndex);
+	}
+	
+	/**
+	 * Returns the number of peers of the given cell index.
+	 *
+	 * @param cellIndex the index of the cell
+	 *
+	 * @return the number of cells sharing at least one group with the cell, <code>0</code> if the index is not covered
+	 */
+	public int getPeerCount(int cellIndex) {
+		return isCovered(cellIndex) ? this.peersOfCell[cellIndex].length : 0;
+	}
+	
+	/**
+	 * Returns a peer of the given cell index. Peers are ordered by ascending index.
+	 *
+	 * @param cellIndex the index of the cell
+	 * @param position the position of the peer
+	 *
+	 * @return the index of the peer at the given position
+	 */
+	public int getPeer(int cellIndex, int position) {
+		return this.peersOfCell[cellIndex][position];
+	}
+	
+	/**
+	 * Returns the peers of the given cell index in ascending order.
+	 *
+	 * @param cellIndex the index of the cell
+	 *
+	 * @return a copy of the peer indices, empty if the index is not covered
+	 */
+	public int[] getPeers(int cellIndex) {
+		return isCovered(cellIndex) ? this.peersOfCell[cellIndex].clone() : EMPTY;
+	}
+	
+	/**
+	 * Indicates whether two cell indices share at least one group.
+	 *
+	 * @param firstCell the index of the first cell
+	 * @param secondCell the index of the second cell
+	 *
+	 * @return <code>true</code> if the cells are different and share a group, <code>false</code> otherwise
+	 */
+	public boolean arePeers(int firstCell, int secondCell) {
+		return isCovered(firstCell) && Arrays.binarySearch(this.peersOfCell[firstCell], secondCell) >= 0;
+	}
+	
+	private boolean isCovered(int cellIndex) {
+		return cellIndex >= 0 && cellIndex < this.groupsOfCell.length;
+	}
+	
+	private void checkGroupNumber(int groupNumber) throws IllegalArgumentException {
+		if (groupNumber < 0 || groupNumber >= this.cellsOfGroup.length) {
+			throw new IllegalArgumentException("there is no group with number " + groupNumber + ".");
+		}
+	}
+	
+}
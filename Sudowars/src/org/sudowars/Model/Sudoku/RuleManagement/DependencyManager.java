@@ -44,9 +44,10 @@
  ******************************************************************************/
 package org.sudowars.Model.Sudoku.RuleManagement;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
 
 import org.sudowars.Model.Sudoku.Field.Cell;
@@ -62,6 +63,7 @@ public class DependencyManager implements Serializable {
 	private static final long serialVersionUID = -2881697546235744783L;
 	
 	private List<DependencyGroup> groups;
+	transient private DependencyIndex index;
 	
 	/**
 	 * Initializes a new {@link DependencyManager} instance with the given parameters.
@@ -75,6 +77,12 @@ public class DependencyManager implements Serializable {
 			throw new IllegalArgumentException();
 		}
 		this.groups = groups;
+		this.index = new DependencyIndex(groups);
+	}
+	
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		this.index = new DependencyIndex(this.groups);
 	}
 	
 	/**
@@ -93,7 +101,7 @@ public class DependencyManager implements Serializable {
 	 *
 	 * @param cell the {@link Cell} which has to be included (via the its index) in the returned {@link DependencyGroup}s.
 	 *
-	 * @return a {@link List} of {@link DependencyGroup}s
+	 * @return a read-only {@link List} of {@link DependencyGroup}s
 	 *
 	 * @throws IllegalArgumentException if the given {@link Cell} is <code>null</code>
 	 */
@@ -103,25 +111,17 @@ public class DependencyManager implements Serializable {
 			throw new IllegalArgumentException();
 		}
 		
-		List<DependencyGroup> result = new LinkedList<DependencyGroup>();
-		
-		for (DependencyGroup group : groups) {
-			// check group
-			for (int index : group.getIndices()) {
-				// check all indices IN the group being checked
-				if (index == cell.getIndex()) {
-					// wow, we found a match
-					// group being checked therefore contains the cells index
-					// => the translation of this group by using the field containing the given cell
-					// 	  would return a list of cells which contains the given cell.
-					result.add(group);
-				}
-			}
-		}
-		
-		// no read-only view needed as the list isn't buffered
-		// could be optimized by buffering the list
-		return result;
+		// the lists are precomputed by the index, so no group has to be searched
+		return this.index.getGroupsOfCell(cell.getIndex());
+	}
+	
+	/**
+	 * Returns the precomputed {@link DependencyIndex} of the managed {@link DependencyGroup}s.
+	 *
+	 * @return the {@link DependencyIndex} of the managed {@link DependencyGroup}s
+	 */
+	public DependencyIndex getDependencyIndex() {
+		return this.index;
 	}
 	
 }
@@ -0,0 +1,279 @@
+/*******************************************************************************
+ * Copyright (c) 2011 - 2012 Adrian Vielsack, Christof Urbaczek, Florian Rosenthal, Michael Hoff, Moritz Lüdecke, Philip Flohr.
+ * 
+ * This file is part of Sudowars.
+ * 
+ * Sudowars is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Sudowars is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Sudowars.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * 
+ * 
+ * Diese Datei ist Teil von Sudowars.
+ * 
+ * Sudowars ist Freie Software: Sie können es unter den Bedingungen
+ * der GNU General Public License, wie von der Free Software Foundation,
+ * Version 3 der Lizenz oder (nach Ihrer Option) jeder späteren
+ * veröffentlichten Version, weiterverbreiten und/oder modifizieren.
+ * 
+ * Sudowars wird in der Hoffnung, dass es nützlich sein wird, aber
+ * OHNE JEDE GEWÄHELEISTUNG, bereitgestellt; sogar ohne die implizite
+ * Gewährleistung der MARKTFÄHIGKEIT oder EIGNUNG FÜR EINEN BESTIMMTEN ZWECK.
+ * Siehe die GNU General Public License für weitere Details.
+ * 
+ * Sie sollten eine Kopie der GNU General Public License zusammen mit diesem
+ * Programm erhalten haben. Wenn nicht, siehe <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ * initial API and implementation:
+ * Adrian Vielsack
+ * Christof Urbaczek
+ * Florian Rosenthal
+ * Michael Hoff
+ * Moritz Lüdecke
+ * Philip Flohr 
+ ******************************************************************************/
+package org.sudowars.Model.Sudoku.RuleManagement;
+
+import org.sudowars.Model.Sudoku.Field.Cell;
+import org.sudowars.Model.Sudoku.Field.Field;
+
+/**
+ * The {@link GroupOccupancy} keeps track of the values held by the cells of every {@link DependencyGroup}
+ * of a {@link DependencyIndex}. For every group it counts how often each value is held and keeps a bitmask
+ * of the held values, value <code>v</code> being represented by bit <code>v - 1</code>. The counts are
+ * updated whenever a cell value is changed via {@link #setValue(int, int)}, so no group has to be
+ * evaluated again.
+ * <br>
+ * The valid values of a cell returned by {@link #getValidValues(int)} match the {@link NoDuplicatesRule}
+ * over an {@link UpperLimitRule}, which is the rule of the standard rulesets. Unlike the index, the
+ * occupancy belongs to exactly one field.
+ */
+public final class GroupOccupancy {
+	
+	/**
+	 * The highest value which can be represented by the bitmasks
+	 */
+	public static final int MAX_VALUE = 64;
+	
+	private final DependencyIndex index;
+	private final int maxValue;
+	private final long allValues;
+	private final int[] values;
+	private final int[] valueCounts;
+	private final long[] occupiedValues;
+	
+	/**
+	 * Initializes a new {@link GroupOccupancy} instance with no cell holding a value.
+	 *
+	 * @param index the {@link DependencyIndex} of the groups
+	 * @param maxValue the highest value a cell can hold
+	 *
+	 * @throws IllegalArgumentException if index is <code>null</code> or maxValue is not between <code>1</code>
+	 * 		and {@link #MAX_VALUE}
+	 */
+	public GroupOccupancy(DependencyIndex index, int maxValue) throws IllegalArgumentException {
+		if (index == null || maxValue < 1 || maxValue > MAX_VALUE) {
+			throw new IllegalArgumentException();
+		}
+		
+		this.index = index;
+		this.maxValue = maxValue;
+		this.allValues = (maxValue == MAX_VALUE) ? -1L : (1L << maxValue) - 1;
+		this.values = new int[index.getCellCount()];
+		this.valueCounts = new int[index.getGroupCount() * (maxValue + 1)];
+		this.occupiedValues = new long[index.getGroupCount()];
+	}
+	
+	/**
+	 * Initializes a new {@link GroupOccupancy} instance holding the values of the given {@link Field}.
+	 *
+	 * @param index the {@link DependencyIndex} of the groups
+	 * @param field the {@link Field} whose values are taken over
+	 *
+	 * @throws IllegalArgumentException if a parameter is <code>null</code>, the width of the field is greater
+	 * 		than {@link #MAX_VALUE} or a cell of the field is not covered by the index
+	 */
+	public GroupOccupancy(DependencyIndex index, Field<? extends Cell> field) throws IllegalArgumentException {
+		this(index, field == null ? 0 : field.getStructure().getWidth());
+		
+		for (Cell cell : field.getCells()) {
+			if (cell.isSet()) {
+				this.setValue(cell.getIndex(), cell.getValue());
+			}
+		}
+	}
+	
+	/**
+	 * Returns the highest value a cell can hold.
+	 *
+	 * @return the highest value a cell can hold
+	 */
+	public int getMaxValue() {
+		return this.maxValue;
+	}
+	
+	/**
+	 * Returns the value of the given cell as known by the occupancy.
+	 *
+	 * @param cellIndex the index of the cell
+	 *
+	 * @return the value of the cell, <code>0</code> if the cell holds no value
+	 *
+	 * @throws IllegalArgumentException if the cell index is not covered by the index
+	 */
+	public int getValue(int cellIndex) throws IllegalArgumentException {
+		checkCellIndex(cellIndex);
+		return this.values[cellIndex];
+	}
+	
+	/**
+	 * Changes the value of the given cell and updates the groups of the cell.
+	 *
+	 * @param cellIndex the index of the cell
+	 * @param value the new value of the cell, <code>0</code> to remove the value. Values above the highest value
+	 * 		are never valid and therefore not counted.
+	 *
+	 * @throws IllegalArgumentException if the cell index is not covered by the index or the value is negative
+	 */
+	public void setValue(int cellIndex, int value) throws IllegalArgumentException {
+		checkCellIndex(cellIndex);
+		if (value < 0) {
+			throw new IllegalArgumentException("value cannot be negative.");
+		}
+		
+		int previousValue = this.values[cellIndex];
+		if (previousValue == value) {
+			return;
+		}
+		this.values[cellIndex] = value;
+		
+		int stride = this.maxValue + 1;
+		for (int position = 0; position < this.index.getGroupCountOfCell(cellIndex); position++) {
+			int groupNumber = this.index.getGroupOfCell(cellIndex, position);
+			int offset = groupNumber * stride;
+			
+			if (isCounted(previousValue) && --this.valueCounts[offset + previousValue] == 0) {
+				this.occupiedValues[groupNumber] &= ~(1L << (previousValue - 1));
+			}
+			if (isCounted(value) && this.valueCounts[offset + value]++ == 0) {
+				this.occupiedValues[groupNumber] |= 1L << (value - 1);
+			}
+		}
+	}
+	
+	/**
+	 * Returns the values held by at least one cell of the given group.
+	 *
+	 * @param groupNumber the number of the group
+	 *
+	 * @return the bitmask of the held values
+	 *
+	 * @throws IllegalArgumentException if there is no group with the given number
+	 */
+	public long getOccupiedValues(int groupNumber) throws IllegalArgumentException {
+		checkGroupNumber(groupNumber);
+		return this.occupiedValues[groupNumber];
+	}
+	
+	/**
+	 * Returns the number of cells of the given group holding the given value.
+	 *
+	 * @param groupNumber the number of the group
+	 * @param value the value
+	 *
+	 * @return the number of cells holding the value, <code>0</code> if the value is out of range
+	 *
+	 * @throws IllegalArgumentException if there is no group with the given number
+	 */
+	public int getValueCount(int groupNumber, int value) throws IllegalArgumentException {
+		checkGroupNumber(groupNumber);
+		if (!isCounted(value)) {
+			return 0;
+		}
+		return this.valueCounts[groupNumber * (this.maxValue + 1) + value];
+	}
+	
+	/**
+	 * Returns the values which are not held by any other cell sharing a group with the given cell.
+	 *
+	 * @param cellIndex the index of the cell
+	 *
+	 * @return the bitmask of the valid values
+	 *
+	 * @throws IllegalArgumentException if the cell index is not covered by the index
+	 */
+	public long getValidValues(int cellIndex) throws IllegalArgumentException {
+		checkCellIndex(cellIndex);
+		
+		// the own value only blocks itself if another cell of the group holds it as well
+		int value = this.values[cellIndex];
+		long valueBit = isCounted(value) ? 1L << (value - 1) : 0L;
+		
+		long validValues = this.allValues;
+		for (int position = 0; position < this.index.getGroupCountOfCell(cellIndex); position++) {
+			int groupNumber = this.index.getGroupOfCell(cellIndex, position);
+			long occupied = this.occupiedValues[groupNumber];
+			if (valueBit != 0L && this.valueCounts[groupNumber * (this.maxValue + 1) + value] == 1) {
+				occupied &= ~valueBit;
+			}
+			validValues &= ~occupied;
+		}
+		return validValues;
+	}
+	
+	/**
+	 * Indicates whether the given value is not held by any other cell sharing a group with the given cell.
+	 *
+	 * @param cellIndex the index of the cell
+	 * @param value the value to check
+	 *
+	 * @return <code>true</code> if the value is valid for the cell or the cell has no group, <code>false</code> otherwise
+	 *
+	 * @throws IllegalArgumentException if the cell index is not covered by the index
+	 */
+	public boolean isValidValue(int cellIndex, int value) throws IllegalArgumentException {
+		checkCellIndex(cellIndex);
+		if (this.index.getGroupCountOfCell(cellIndex) == 0) {
+			return true;
+		}
+		if (!isCounted(value)) {
+			return false;
+		}
+		
+		int ownCount = (this.values[cellIndex] == value) ? 1 : 0;
+		for (int position = 0; position < this.index.getGroupCountOfCell(cellIndex); position++) {
+			int groupNumber = this.index.getGroupOfCell(cellIndex, position);
+			if (this.valueCounts[groupNumber * (this.maxValue + 1) + value] > ownCount) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	private boolean isCounted(int value) {
+		return value >= 1 && value <= this.maxValue;
+	}
+	
+	private void checkCellIndex(int cellIndex) throws IllegalArgumentException {
+		if (cellIndex < 0 || cellIndex >= this.values.length) {
+			throw new IllegalArgumentException("cell index " + cellIndex + " is not covered.");
+		}
+	}
+	
+	private void checkGroupNumber(int groupNumber) throws IllegalArgumentException {
+		if (groupNumber < 0 || groupNumber >= this.occupiedValues.length) {
+			throw new IllegalArgumentException("there is no group with number " + groupNumber + ".");
+		}
+	}
+	
+}
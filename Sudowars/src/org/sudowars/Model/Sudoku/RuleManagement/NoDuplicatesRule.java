@@ -44,7 +44,7 @@
  ******************************************************************************/
 package org.sudowars.Model.Sudoku.RuleManagement;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.sudowars.Model.Sudoku.Field.Cell;
@@ -91,16 +91,13 @@ public final class NoDuplicatesRule extends RuleDecorator {
 	@Override
 	public List<Integer> getValidValues(Field<Cell> field, DependencyGroup group, Cell cell) {
 		
-		if (field == null || group == null || cell == null || !field.getCells().contains(cell)) {
+		if (field == null || group == null || cell == null || !containsCell(field, cell)) {
 			// if any parameter is null
 			// or
 			// if the given Cell is not contained by the given Field
 			throw new IllegalArgumentException();
 		}
 		
-		// using LinkedList as multiple removals are expected
-		List<Integer> validValues = new LinkedList<Integer>(this.getDecoratedRule().getValidValues(field, group, cell));
-		
 		List<Cell> cells = null;
 		
 		try {
@@ -112,18 +109,45 @@ public final class NoDuplicatesRule extends RuleDecorator {
 			throw e;
 		}
 		
+		// mark the values held by the other cells, so each decorated value is checked in constant time
+		int highestValue = 0;
 		for (Cell c : cells) {
 			if (c != cell && c.isSet()) {
-				// use of Integer needed to call the right remove(...) variant
-				// remove(int) removes the object with the given index
-				// remove(Object) removes the given object
-				validValues.remove(new Integer(c.getValue()));
+				highestValue = Math.max(highestValue, c.getValue());
+			}
+		}
+		boolean[] heldValues = new boolean[highestValue + 1];
+		for (Cell c : cells) {
+			if (c != cell && c.isSet()) {
+				heldValues[c.getValue()] = true;
+			}
+		}
+		
+		List<Integer> decoratedValues = this.getDecoratedRule().getValidValues(field, group, cell);
+		List<Integer> validValues = new ArrayList<Integer>(decoratedValues.size());
+		for (Integer value : decoratedValues) {
+			if (value > highestValue || !heldValues[value]) {
+				validValues.add(value);
 			}
 		}	
 
 		// no read-only view needed as the list is generated each time
 		return validValues;
 	}
+	
+	/**
+	 * Determines whether the given {@link Cell} is the one held by the {@link Field} at its index.
+	 *
+	 * @param field the {@link Field}
+	 * @param cell the {@link Cell}
+	 *
+	 * @return <code>true</code> if the {@link Field} contains the {@link Cell}, <code>false</code> otherwise
+	 */
+	private static boolean containsCell(Field<Cell> field, Cell cell) {
+		int index = cell.getIndex();
+		// intentional identity lookup by index, it replaces the linear contains() on the cell list
+		return index >= 0 && index < field.getStructure().getUsedSlotCount() && field.getCell(index) == cell;
+	}
 		
 }
 
@@ -45,8 +45,10 @@
 package org.sudowars.Model.Sudoku.RuleManagement.RuleApplier;
 
 import java.io.Serializable;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 import org.sudowars.Model.Sudoku.Field.FieldStructure;
 import org.sudowars.Model.Sudoku.Field.SquareStructure;
@@ -64,6 +66,9 @@ public class StandardRulesetFactory implements Serializable {
 	private static final long serialVersionUID = -2378028208799734897L;
 	private static StandardRulesetFactory instance;
 	
+	//rulesets are immutable, so one instance per block size can be shared by all sudokus
+	transient private Map<Integer, DependencyManager> rulesets;
+	
 	/**
 	 * Singleton
 	 * @return the only instance of class {@link StandardRulesetFactory}
@@ -77,6 +82,18 @@ public class StandardRulesetFactory implements Serializable {
 	
 	private StandardRulesetFactory() {}
 	
+	private synchronized DependencyManager getRuleset(int minBlockSize) {
+		if (this.rulesets == null) {
+			this.rulesets = new HashMap<Integer, DependencyManager>();
+		}
+		DependencyManager ruleset = this.rulesets.get(minBlockSize);
+		if (ruleset == null) {
+			ruleset = buildRuleset(minBlockSize);
+			this.rulesets.put(minBlockSize, ruleset);
+		}
+		return ruleset;
+	}
+	
 	private DependencyManager buildRuleset(int minBlockSize) {
 		FieldStructure fs = new SquareStructure(minBlockSize * minBlockSize);
 		Rule r = new NoDuplicatesRule(new UpperLimitRule(minBlockSize * minBlockSize));
@@ -95,7 +112,7 @@ public class StandardRulesetFactory implements Serializable {
 	 * @return the standard ruleset for 9x9 {@link Sudoku}s.
 	 */
 	public DependencyManager build9x9Ruleset() {
-		return buildRuleset(3);
+		return getRuleset(3);
 	}
 	
 	/**
@@ -103,7 +120,37 @@ public class StandardRulesetFactory implements Serializable {
 	 * @return the standard ruleset for 16x16 {@link Sudoku}s.
 	 */
 	public DependencyManager build16x16Ruleset() {
-		return buildRuleset(4);
+		return getRuleset(4);
+	}
+	
+	/**
+	 * Returns the standard ruleset for 25x25 {@link Sudoku}s.
+	 * @return the standard ruleset for 25x25 {@link Sudoku}s.
+	 */
+	public DependencyManager build25x25Ruleset() {
+		return getRuleset(5);
+	}
+	
+	/**
+	 * Returns the standard ruleset for 36x36 {@link Sudoku}s.
+	 * @return the standard ruleset for 36x36 {@link Sudoku}s.
+	 */
+	public DependencyManager build36x36Ruleset() {
+		return getRuleset(6);
+	}
+	
+	/**
+	 * Returns the standard ruleset for square {@link Sudoku}s with the given side length.
+	 * @param sideLength the side length of the sudoku, has to be the square of the block size
+	 * @return the standard ruleset for {@link Sudoku}s with the given side length.
+	 * @throws IllegalArgumentException if the side length is not the square of a block size greater than one
+	 */
+	public DependencyManager buildSquareRuleset(int sideLength) throws IllegalArgumentException {
+		int minBlockSize = (int) Math.round(Math.sqrt(sideLength));
+		if (minBlockSize < 2 || minBlockSize * minBlockSize != sideLength) {
+			throw new IllegalArgumentException("There is no standard ruleset for the side length " + sideLength);
+		}
+		return getRuleset(minBlockSize);
 	}
 	
 	/**
@@ -44,28 +44,50 @@
  ******************************************************************************/
 package org.sudowars.Model.SudokuManagement.Generator;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 
 import org.sudowars.Model.Difficulty.Difficulty;
 import org.sudowars.Model.Difficulty.DifficultyEvaluator;
 import org.sudowars.Model.Solver.BacktrackingSolver;
+import org.sudowars.Model.Solver.RatingSolver;
+import org.sudowars.Model.Solver.SolveCancelledException;
+import org.sudowars.Model.Solver.SolveContext;
+import org.sudowars.Model.Solver.StrategyExecutor;
+import org.sudowars.Model.Solver.SolverStrategy;
 import org.sudowars.Model.Sudoku.Sudoku;
 import org.sudowars.Model.Sudoku.Field.Cell;
+import org.sudowars.Model.Sudoku.Field.CompactField;
 import org.sudowars.Model.Sudoku.Field.DataCell;
-import org.sudowars.Model.Sudoku.Field.Field;
 import org.sudowars.Model.Sudoku.Field.SquareStructure;
-import org.sudowars.Model.SudokuManagement.Pool.SudokuFilePool;
+import org.sudowars.Model.Sudoku.RuleManagement.DependencyManager;
+import org.sudowars.Model.SudokuManagement.Pool.SudokuPool;
+import org.sudowars.Model.SudokuUtil.ZobristKeys;
 
 /**
  * Provides functionality to generate a new {@link Sudoku} with a specific {@link Difficulty} from a 
  * fully-filled base-{@link Sudoku}. 
+ * <br>
+ * The generator removes initial cells one by one and restores them if the sudoku loses its unique solution, 
+ * so the same sets of initial cells are checked again and again. The results of the solver are kept in a 
+ * bounded cache keyed by the Zobrist hash of the initial cells, so repeated sets skip the solver.
+ * <br>
+ * A generator can be stopped by a {@link SolveContext}, a stopped generator does not add a sudoku to the pool.
  */
 public class GeneratorBase implements Runnable {
 	
+	/**
+	 * The maximum number of sets of initial cells the solver results are cached for.
+	 */
+	public static final int MAX_CACHED_CLUE_SETS = 4096;
+	
 	protected DifficultyEvaluator difficultyEvaluator;
-	protected SudokuFilePool targetFilePool;
+	protected SudokuPool targetPool;
 	protected Difficulty targetDifficulty = null;
 	protected Sudoku<DataCell> baseSudoku = null;
 	protected Random randGen = new Random();
@@ -73,21 +95,24 @@ public class GeneratorBase implements Runnable {
 	//defines bounds for the number of initial cells the field holds
 	protected int maxInitialCellCount; // more initial cells makes it too easy to find a solution
 	protected int minInitialCellCount; // minimum number of initial cells to get a unique solvable sudoku
+	
+	//context which stops the generating process, null if it cannot be stopped
+	private volatile SolveContext solveContext;
 		
 	
 	/**
 	 * Generates a new {@link Sudoku} with the given {@link Difficulty} from the given fully-filled base-{@link Sudoku}
 	 *
-	 * @param difficulty the {@link Difficulty} to generate
-	 * @param structure the fieldstructure the generated Sudoku shall have
+	 * @param sudokuPool the {@link SudokuPool} the generated sudokus are added to
+	 * @throws IllegalArgumentException if the given pool is <code>null</code>
 	 */
-	public GeneratorBase(SudokuFilePool sudokuFilePool) {
+	public GeneratorBase(SudokuPool sudokuPool) {
 
-		if (sudokuFilePool == null) {
-			throw new IllegalArgumentException("The given SudokuFilePool is null");
+		if (sudokuPool == null) {
+			throw new IllegalArgumentException("The given SudokuPool is null");
 		}
 		
-		this.targetFilePool = sudokuFilePool;
+		this.targetPool = sudokuPool;
 		
 	}
 
@@ -121,6 +146,14 @@ public class GeneratorBase implements Runnable {
 		if (baseSudoku.getField().getStructure() instanceof SquareStructure && baseSudoku.getField().getStructure().getWidth() == 16) {
 			this.maxInitialCellCount = 130;
 			this.minInitialCellCount = 17;
+		} else
+		if (baseSudoku.getField().getStructure() instanceof SquareStructure && baseSudoku.getField().getStructure().getWidth() == 25) {
+			this.maxInitialCellCount = 350;
+			this.minInitialCellCount = 150;
+		} else
+		if (baseSudoku.getField().getStructure() instanceof SquareStructure && baseSudoku.getField().getStructure().getWidth() == 36) {
+			this.maxInitialCellCount = 780;
+			this.minInitialCellCount = 400;
 		} else {
 			throw new IllegalArgumentException("Given baseSudoku has an unknown structure, bounds could not be defined");
 		}
@@ -129,6 +162,34 @@ public class GeneratorBase implements Runnable {
 		this.baseSudoku = baseSudoku;
 		
 	}
+	/**
+	 * Sets the context which stops the generating process if it is cancelled or its deadline passes.
+	 * @param solveContext the context to use, <code>null</code> if the generating process cannot be stopped
+	 */
+	public void setSolveContext(SolveContext solveContext) {
+		this.solveContext = solveContext;
+		this.solver.setSolveContext(solveContext);
+		this.ratingSolver.setSolveContext(solveContext);
+	}
+	
+	/**
+	 * Returns the context which stops the generating process.
+	 * @return the context, <code>null</code> if the generating process cannot be stopped
+	 */
+	public SolveContext getSolveContext() {
+		return this.solveContext;
+	}
+	
+	/**
+	 * Stops the generating process if its context was cancelled or its deadline passed.
+	 * @throws SolveCancelledException if the context was cancelled or its deadline passed
+	 */
+	private void checkSolveContext() throws SolveCancelledException {
+		SolveContext currentContext = this.solveContext;
+		if (currentContext != null) {
+			currentContext.check();
+		}
+	}
 	
 	
 	
@@ -143,18 +204,125 @@ public class GeneratorBase implements Runnable {
 		//solver to check if a sudoku has a unique solution
 		private BacktrackingSolver solver = new BacktrackingSolver();
 		
+		//solver to collect the strategies the difficulty is rated by
+		private RatingSolver ratingSolver = new RatingSolver();
+		
+		//solver results of the last checked sets of initial cells and the dependency manager they belong to
+		private final ClueSetCache clueSetCache = new ClueSetCache();
+		private DependencyManager cachedDependencyManager;
+		
+		/**
+		 * The solver results of a set of initial cells.
+		 */
+		private static final class ClueSetResult {
+			
+			private final boolean unique;
+			private List<SolverStrategy> usedStrategies;
+			
+			private ClueSetResult(boolean unique) {
+				this.unique = unique;
+			}
+			
+		}
+		
+		/**
+		 * Cache of {@link ClueSetResult}s which drops the least recently used result when it is full.
+		 */
+		private static final class ClueSetCache extends LinkedHashMap<Long, ClueSetResult> {
+			
+			private static final long serialVersionUID = 6472003512183652290L;
+			
+			private ClueSetCache() {
+				super(16, 0.75f, true);
+			}
+			
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Long, ClueSetResult> eldest) {
+				return this.size() > MAX_CACHED_CLUE_SETS;
+			}
+			
+		}
+		
+		/**
+		 * Returns the Zobrist hash of the initial cells of a sudoku. Sudokus with the same values in the same 
+		 * initial cells have the same hash.
+		 * @param sudoku the sudoku
+		 * @return the Zobrist hash of the initial cells
+		 */
+		private static long getClueHash(Sudoku<DataCell> sudoku) {
+			
+			long hash = 0L;
+			for (DataCell cell : sudoku.getField().getCells()) {
+				if (cell.isInitial()) hash ^= ZobristKeys.getValueKey(cell.getIndex(), cell.getValue());
+			}
+			
+			return hash;
+			
+		}
+		
+		/**
+		 * Returns the solver results of the initial cells of a sudoku. The uniqueness of the solution is 
+		 * looked up in the cache and only computed if the set of initial cells is unknown.
+		 * @param sudoku the sudoku
+		 * @return the solver results of the initial cells
+		 */
+		private ClueSetResult checkClueSet(Sudoku<DataCell> sudoku) {
+			
+			//results of other rules are not valid
+			if (sudoku.getDependencyManager() != this.cachedDependencyManager) {
+				this.clueSetCache.clear();
+				this.cachedDependencyManager = sudoku.getDependencyManager();
+			}
+			
+			Long clueHash = getClueHash(sudoku);
+			ClueSetResult result = this.clueSetCache.get(clueHash);
+			if (result == null) {
+				//counting stops at the second solution
+				result = new ClueSetResult(this.solver.countSolutions(getInitialField(sudoku), sudoku.getDependencyManager(), 2) == 1);
+				this.clueSetCache.put(clueHash, result);
+			}
+			
+			return result;
+			
+		}
+		
+		/**
+		 * Returns the strategies used to solve a sudoku with a unique solution. The strategies are cached 
+		 * together with the given solver results.
+		 * @param sudoku the sudoku
+		 * @param clueSetResult the solver results of the initial cells of the sudoku
+		 * @return the strategies used to solve the sudoku
+		 */
+		private List<SolverStrategy> getUsedStrategies(Sudoku<DataCell> sudoku, ClueSetResult clueSetResult) {
+			
+			if (clueSetResult.usedStrategies == null) {
+				this.ratingSolver.solve(getInitialField(sudoku), sudoku.getDependencyManager());
+				if (this.ratingSolver.getResult() == StrategyExecutor.ExecuteResult.TIMEDOUT) {
+					throw new SolveCancelledException(this.solveContext.isTimedOut());
+				}
+				clueSetResult.usedStrategies = new ArrayList<SolverStrategy>(this.ratingSolver.getUsedStrategies());
+			}
+			
+			return clueSetResult.usedStrategies;
+			
+		}
+		
 		
 		/**
-		 * Returns the initial field of a sudoku where only the initial cells are set
+		 * Returns the initial field of a sudoku where only the initial cells are set. The field is checked 
+		 * for every removed initial cell, so it is built as a {@link CompactField} instead of cloning all cells.
 		 * @param sudoku the sudoku
 		 * @return initial field of a sudoku 
 		 */
-		private static Field<DataCell> getInitialField(Sudoku<DataCell> sudoku) {
+		private static CompactField getInitialField(Sudoku<DataCell> sudoku) {
 			
 			//generate initial field
-			Field<DataCell> initialField = sudoku.getField().clone();
-			for (DataCell cell : initialField.getCells()) {
-				if (!cell.isInitial()) cell.setValue(DataCell.NOT_SET);
+			CompactField initialField = new CompactField(sudoku.getField().getStructure());
+			for (DataCell cell : sudoku.getField().getCells()) {
+				if (cell.isInitial()) {
+					initialField.setValue(cell.getIndex(), cell.getValue());
+					initialField.setInitial(cell.getIndex(), true);
+				}
 			}
 			
 			return initialField;
@@ -194,6 +362,8 @@ public class GeneratorBase implements Runnable {
 			
 			while (countTries < maxTries && initialCells.size() >= this.minInitialCellCount && changedCells.size() < initialCells.size()) {
 			
+				this.checkSolveContext();
+				
 				//find random initial cell which has not been checked so far
 				int randomIndex = this.randGen.nextInt(initialCells.size());
 				DataCell randomCell = initialCells.get(randomIndex);
@@ -207,15 +377,19 @@ public class GeneratorBase implements Runnable {
 				changedCells.add(randomCell);
 				
 				//check if the sudoku (still) has an unique solution
-				if (this.solver.solve(getInitialField(sudoku), sudoku.getDependencyManager()) != null) {
+				ClueSetResult clueSetResult = this.checkClueSet(sudoku);
+				if (clueSetResult.unique) {
 					
 					Difficulty currentDifficulty = null;
 					
 					//unique solution found - if maximum initial cell count was reached check the difficulty, otherwise backtrack to reduce the number of initial cells
 					if (initialCells.size() <= this.maxInitialCellCount) {
 						
+						//solve the sudoku with the strategies to collect the used strategies for the rating
+						List<SolverStrategy> usedStrategies = this.getUsedStrategies(sudoku, clueSetResult);
+						
 						//Evaluate the current sudoku
-						currentDifficulty = this.diffEvaluator.evaluateDifficulty(sudoku, this.solver.getUsedStrategies());
+						currentDifficulty = this.diffEvaluator.evaluateDifficulty(sudoku, usedStrategies);
 						
 						//if difficulty could be found check if it is the searched difficulty
 						if (currentDifficulty != null) {
@@ -229,7 +403,7 @@ public class GeneratorBase implements Runnable {
 							
 							//if difficulty is not the the searched one add generated sudoku to the pool
 							if (resultSudoku == null) {
-								this.targetFilePool.addSudoku(sudoku.clone(), currentDifficulty, true);
+								this.targetPool.addSudoku(sudoku.clone(), currentDifficulty, true);
 							}
 						}
 						
@@ -322,8 +496,16 @@ public class GeneratorBase implements Runnable {
 		 */
 		private void minimiseBaseSudoku() {
 			
+			//random sets of initial cells of large sudokus nearly never have a unique solution
+			if (this.baseSudoku.getField().getStructure().getWidth() > 16) {
+				this.minimiseLargeBaseSudoku();
+				return;
+			}
+			
 			do {
 				
+				this.checkSolveContext();
+				
 				//Set all cells to initial
 				for (DataCell c : this.baseSudoku.getField().getCells()) {
 					c.setInitial(true);
@@ -331,13 +513,55 @@ public class GeneratorBase implements Runnable {
 				
 				this.reduceInitialCells(this.baseSudoku, this.baseSudoku.getField().getCells().size() - this.maxInitialCellCount);
 							
-			} while (this.solver.solve(getInitialField(this.baseSudoku), this.baseSudoku.getDependencyManager()) == null);
+			} while (!this.checkClueSet(this.baseSudoku).unique);
 			 
 		}
 		
 		/**
-		 * Generates a sudoku with the given properties and adds it to the given pool
+		 * Reduces the initial cells of a 25x25 or 36x36 sudoku to the defined maximum of initial cells. The initial 
+		 * cells are removed one by one in random order and kept if the sudoku would lose its unique solution, so 
+		 * every checked set of initial cells nearly determines the solution.
+		 */
+		private void minimiseLargeBaseSudoku() {
+			
+			int initialCellCount;
+			do {
+				
+				this.checkSolveContext();
+				
+				//Set all cells to initial
+				for (DataCell c : this.baseSudoku.getField().getCells()) {
+					c.setInitial(true);
+				}
+				
+				List<DataCell> cells = new ArrayList<DataCell>(this.baseSudoku.getField().getCells());
+				Collections.shuffle(cells, this.randGen);
+				initialCellCount = cells.size();
+				
+				for (DataCell cell : cells) {
+					
+					if (initialCellCount <= this.maxInitialCellCount) break;
+					
+					this.checkSolveContext();
+					
+					cell.setInitial(false);
+					if (this.checkClueSet(this.baseSudoku).unique) {
+						initialCellCount--;
+					} else {
+						cell.setInitial(true);
+					}
+					
+				}
+				
+			} while (initialCellCount > this.maxInitialCellCount);
+			 
+		}
+		
+		/**
+		 * Generates a sudoku with the given properties and adds it to the given pool. Nothing is added if 
+		 * the generating process is stopped by its context.
 		 * @throws IllegalArgumentException if not all needed properties are set
+		 * @see GeneratorBase#setSolveContext(SolveContext)
 		 */
 		@Override
 		public void run() throws IllegalArgumentException {
@@ -352,16 +576,21 @@ public class GeneratorBase implements Runnable {
 			}
 			
 			Sudoku<DataCell> resultSudoku;
-			do {		
-				//reduce initial field to a minimum
-				this.minimiseBaseSudoku();
-				//generate sudoku with the given difficulty
-				resultSudoku = this.generateSudoku(this.baseSudoku);
-				
-			} while (resultSudoku == null);
+			try {
+				do {		
+					//reduce initial field to a minimum
+					this.minimiseBaseSudoku();
+					//generate sudoku with the given difficulty
+					resultSudoku = this.generateSudoku(this.baseSudoku);
+					
+				} while (resultSudoku == null);
+			} catch (SolveCancelledException ex) {
+				//the generating process was stopped, the pool keeps its sudokus
+				return;
+			}
 			
 			//add sudoku to the pool 
-			this.targetFilePool.addSudoku(resultSudoku, this.targetDifficulty, true);
+			this.targetPool.addSudoku(resultSudoku, this.targetDifficulty, true);
 			
 		}
 }
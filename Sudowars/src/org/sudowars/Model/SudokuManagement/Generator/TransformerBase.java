@@ -47,12 +47,13 @@ package org.sudowars.Model.SudokuManagement.Generator;
 import java.io.File;
 import java.io.IOException;
 import java.io.Serializable;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Random;
 
 import org.sudowars.Model.Sudoku.Sudoku;
+import org.sudowars.Model.Sudoku.Field.CompactField;
 import org.sudowars.Model.Sudoku.Field.DataCell;
+import org.sudowars.Model.Sudoku.Field.FieldStructure;
 import org.sudowars.Model.Sudoku.Field.SquareStructure;
 import org.sudowars.Model.Sudoku.RuleManagement.DependencyGroup;
 import org.sudowars.Model.SudokuManagement.Pool.SudokuFilePool;
@@ -68,7 +69,8 @@ public class TransformerBase implements Serializable {
 	private static final int NUMBER_OF_TRANSFORMATION_STEPS = 20;
 
 	/**
-	 * Transforms a given {@link Sudoku} into a Sudoku with another {@link Field} arrangement
+	 * Transforms a given {@link Sudoku} into a Sudoku with another {@link Field} arrangement. The 
+	 * transformations work on a {@link CompactField} which is written back to the sudoku once.
 	 *
 	 * @param sudoku the {@link Sudoku} to transform
 	 *
@@ -79,6 +81,7 @@ public class TransformerBase implements Serializable {
 		int currentRandomNumber;
 		int tempRandomNumber1;
 		int tempRandomNumber2;
+		CompactField field = new CompactField(sudoku.getField());
 		for (int i = 0; i < NUMBER_OF_TRANSFORMATION_STEPS; i++) {
 			currentRandomNumber = randGen.nextInt(NUMBER_OF_TRANSFORMATORS) + 1;
 			switch (currentRandomNumber + 1) {
@@ -88,28 +91,29 @@ public class TransformerBase implements Serializable {
 				do {
 					tempRandomNumber2 = randGen.nextInt(sudoku.getField().getStructure().getWidth() - 1) + 1;
 				} while (tempRandomNumber1 == tempRandomNumber2);
-				swapValues(sudoku, tempRandomNumber1, tempRandomNumber2);
+				swapValues(field, tempRandomNumber1, tempRandomNumber2);
 				break;
 			case 2:
 				//rotate
-				randomRotate(sudoku);
+				randomRotate(field);
 				break;
 			case 3:
 				//swap single columns
-				randomSwapColums(sudoku);
+				randomSwapColums(sudoku, field);
 				break;
 			case 4:
 				//swap single columns
-				randromSwapRows(sudoku);
+				randromSwapRows(sudoku, field);
 				break;
 			case 5:
 				//mirror sudoku
-				mirror(sudoku);
+				mirror(field);
 				break;
 			default:
 				break;
 			}
 		}
+		field.copyTo(sudoku.getField());
 		return sudoku;
 	}
 	
@@ -118,9 +122,9 @@ public class TransformerBase implements Serializable {
 	
 	
 	
-	private void randromSwapRows(Sudoku<DataCell> sudoku) {
+	private void randromSwapRows(Sudoku<DataCell> sudoku, CompactField field) {
 		if (sudoku != null) {
-			if (sudoku.getField().getStructure() instanceof SquareStructure) {
+			if (field.getStructure() instanceof SquareStructure) {
 				Random randGen = new Random();
 				int row1 = randGen.nextInt(sudoku.getField().getStructure().getHeight() - 1);
 				int row2;
@@ -128,7 +132,7 @@ public class TransformerBase implements Serializable {
 					row2 = randGen.nextInt(sudoku.getField().getStructure().getHeight());
 					
 				} while (row1 == row2 || (getBoxGroupForRow(sudoku, row1) != getBoxGroupForRow(sudoku, row2)));
-				swapRows(sudoku, row1, row2);
+				swapRows(field, row1, row2);
 			}
 		}
 	}
@@ -196,29 +200,19 @@ public class TransformerBase implements Serializable {
 		return columnGroup;
 	}
 	
-	private void swapRows(Sudoku<DataCell> sudoku, int row1, int row2) {
-		assert (sudoku != null);
-		assert (row1 >= 0 && row1 < sudoku.getField().getStructure().getWidth());
-		assert (row2 >= 0 && row2 < sudoku.getField().getStructure().getWidth());
-		int temp;
-		boolean initialState;
-		DataCell currentCell1;
-		DataCell currentCell2;
-		for (int i = 0; i < sudoku.getField().getStructure().getWidth(); i++) {
-			currentCell1 = sudoku.getField().getCell(i, row1);
-			currentCell2 = sudoku.getField().getCell(i, row2);
-			temp = currentCell1.getValue();
-			initialState = currentCell1.isInitial();
-			currentCell1.setValue(currentCell2.getValue());
-			currentCell1.setInitial(currentCell2.isInitial());
-			currentCell2.setValue(temp);
-			currentCell2.setInitial(initialState);
+	private void swapRows(CompactField field, int row1, int row2) {
+		assert (field != null);
+		assert (row1 >= 0 && row1 < field.getStructure().getWidth());
+		assert (row2 >= 0 && row2 < field.getStructure().getWidth());
+		FieldStructure structure = field.getStructure();
+		for (int i = 0; i < structure.getWidth(); i++) {
+			swapCells(field, structure.getIndex(i, row1), structure.getIndex(i, row2));
 		}
 	}
 	
-	private void randomSwapColums(Sudoku<DataCell> sudoku) {
+	private void randomSwapColums(Sudoku<DataCell> sudoku, CompactField field) {
 		if (sudoku != null) {
-			if (sudoku.getField().getStructure() instanceof SquareStructure) {
+			if (field.getStructure() instanceof SquareStructure) {
 				Random randGen = new Random();
 				int col1 = randGen.nextInt(sudoku.getField().getStructure().getWidth() - 1);
 				int col2;
@@ -226,107 +220,72 @@ public class TransformerBase implements Serializable {
 					col2 = randGen.nextInt(sudoku.getField().getStructure().getWidth() - 1);
 					
 				} while (col1 == col2 || (getBoxGroupForColumn(sudoku, col1) != getBoxGroupForColumn(sudoku, col2)));
-				swapColumns(sudoku, col1, col2);
+				swapColumns(field, col1, col2);
 			}
 		}
 	}
 	
-	private void swapColumns(Sudoku<DataCell> sudoku, int col1, int col2) {
-		assert (sudoku != null);
-		assert (col1 >= 0 && col1 < sudoku.getField().getStructure().getWidth());
-		assert (col2 >= 0 && col2 < sudoku.getField().getStructure().getWidth());
-		int temp;
-		boolean initialState;
-		DataCell currentCell1;
-		DataCell currentCell2;
-		for (int i = 0; i < sudoku.getField().getStructure().getHeight(); i++) {
-			currentCell1 = sudoku.getField().getCell(col1, i);
-			currentCell2 = sudoku.getField().getCell(col2, i);
-			temp = currentCell1.getValue();
-			initialState = currentCell1.isInitial();
-			currentCell1.setValue(currentCell2.getValue());
-			currentCell1.setInitial(currentCell2.isInitial());
-			currentCell2.setValue(temp);
-			currentCell2.setInitial(initialState);
+	private void swapColumns(CompactField field, int col1, int col2) {
+		assert (field != null);
+		assert (col1 >= 0 && col1 < field.getStructure().getWidth());
+		assert (col2 >= 0 && col2 < field.getStructure().getWidth());
+		FieldStructure structure = field.getStructure();
+		for (int i = 0; i < structure.getHeight(); i++) {
+			swapCells(field, structure.getIndex(col1, i), structure.getIndex(col2, i));
 		}
 	}
 	
+	private static void swapCells(CompactField field, int index1, int index2) {
+		int temp = field.getValue(index1);
+		boolean initialState = field.isInitial(index1);
+		field.setValue(index1, field.getValue(index2));
+		field.setInitial(index1, field.isInitial(index2));
+		field.setValue(index2, temp);
+		field.setInitial(index2, initialState);
+	}
 	
-	private void mirror(Sudoku<DataCell> sudoku) {
-		int[][][] currentValues = 
-				new int[sudoku.getField().getStructure().getWidth()] [sudoku.getField().getStructure().getHeight()][2];
-		for (int i = 0; i < sudoku.getField().getStructure().getWidth(); i++) {
-			for (int j = 0; j < sudoku.getField().getStructure().getHeight(); j++) {
-				currentValues[i][j][0] = sudoku.getField().getCell(i, j).getValue();
-				if (sudoku.getField().getCell(i, j).isInitial()) {
-					currentValues[i][j][1] = 1;
-				} else {
-					currentValues[i][j][1] = 0;
-				}
-			}
-		}
-		
-		
-		for (int i = 0; i < sudoku.getField().getStructure().getWidth(); i++) {
-			for (int j = 0; j < sudoku.getField().getStructure().getHeight(); j++) {
-				sudoku.getField().getCell(i, j).setValue(
-						currentValues[sudoku.getField().getStructure().getWidth() - 1 - i]
-								[sudoku.getField().getStructure().getHeight() - 1 - j][0]);
-				if (currentValues[sudoku.getField().getStructure().getWidth() - 1 - i]
-								[sudoku.getField().getStructure().getHeight() - 1 - j][1] == 1) {
-					sudoku.getField().getCell(i, j).setInitial(true);
-				} else {
-					sudoku.getField().getCell(i, j).setInitial(false);
-				}
+	private static void copyCell(CompactField source, int sourceIndex, CompactField target, int targetIndex) {
+		target.setValue(targetIndex, source.getValue(sourceIndex));
+		target.setInitial(targetIndex, source.isInitial(sourceIndex));
+	}
+	
+	
+	private void mirror(CompactField field) {
+		//the old arrangement is read from a copy, copying a compact field only copies its arrays
+		CompactField source = field.clone();
+		FieldStructure structure = field.getStructure();
+		for (int i = 0; i < structure.getWidth(); i++) {
+			for (int j = 0; j < structure.getHeight(); j++) {
+				copyCell(source, structure.getIndex(structure.getWidth() - 1 - i, structure.getHeight() - 1 - j), 
+						field, structure.getIndex(i, j));
 			}
 		}
 	}
 	
 	
-	private void randomRotate(Sudoku<DataCell> sudoku) {
-		assert (sudoku != null);
+	private void randomRotate(CompactField field) {
+		assert (field != null);
 		//This method does nothing if the structure is not a square
-		if (sudoku.getField().getStructure() instanceof SquareStructure) {	
+		if (field.getStructure() instanceof SquareStructure) {	
 			Random randGen = new Random();
 			//RotationLevel describes the rotation in 90 degree steps between 90 and 270 deg
 			int rotationLevel = randGen.nextInt(2) + 1;
-			int arrayHeight = sudoku.getField().getStructure().getHeight();
-			int arrayWidth = sudoku.getField().getStructure().getWidth();
-			int[][][] oldStructure = new int[arrayWidth][arrayHeight][2];
-			int[][][] newStructure = new int[arrayWidth][arrayHeight][2];
-			int numberOfCellsInSudoku = 
-					sudoku.getField().getStructure().getHeight() * sudoku.getField().getStructure().getWidth();
+			FieldStructure structure = field.getStructure();
 			
-			//save old structure in array
-			for (int i = 0; i < numberOfCellsInSudoku; i++) {
-				oldStructure[i % arrayWidth][i / arrayWidth] [0] = sudoku.getField().getCell(i).getValue();
-				if (sudoku.getField().getCell(i).isInitial()) {
-					oldStructure[i % arrayWidth][i / arrayWidth] [1] = 1;
-				} else {
-					oldStructure[i % arrayWidth][i / arrayWidth] [1] = 0;
-				}
-			}
+			//the old structure is read from a copy
+			CompactField source = field.clone();
 			
 			//change arrayWidth/height for loops
-			arrayWidth--;
-			arrayHeight--;
+			int arrayWidth = structure.getWidth() - 1;
+			int arrayHeight = structure.getHeight() - 1;
 			
-			//set all cells to non-initial
-			//for (int i = 0; i < arrayWidth; i++) {
-			//	for (int j = 0; j < arrayHeight; j++) {
-			//		sudoku.getField().getCell(i, j).setInitial(false);
-			//	}
-			//}
 			switch (rotationLevel) {
 				case 1:
 					//90 degrees
 					for (int currentWidth = 0; currentWidth <= arrayWidth; currentWidth++) {
 						for (int currentHeight = 0; currentHeight <= arrayHeight; currentHeight++) {
-							newStructure[arrayWidth - currentHeight][currentWidth][0] = 
-									oldStructure[currentWidth][currentHeight][0];
-							if (oldStructure[currentWidth][currentHeight][1] == 1) {
-								newStructure[arrayWidth - currentHeight][currentWidth][1] = 1;
-							}
+							copyCell(source, structure.getIndex(currentWidth, currentHeight), 
+									field, structure.getIndex(arrayWidth - currentHeight, currentWidth));
 						}
 					}
 					break;
@@ -334,11 +293,8 @@ public class TransformerBase implements Serializable {
 					//180 degrees
 					for (int currentWidth = 0; currentWidth <= arrayWidth; currentWidth++) {
 						for (int currentHeight = 0; currentHeight <= arrayHeight; currentHeight++) {
-							newStructure[currentWidth][arrayHeight - currentHeight][0] = 
-									oldStructure[currentWidth][currentHeight][0];
-							if (oldStructure[currentWidth][currentHeight][1] == 1) {
-								newStructure[currentWidth][arrayHeight - currentHeight][1] = 1;
-							}
+							copyCell(source, structure.getIndex(currentWidth, currentHeight), 
+									field, structure.getIndex(currentWidth, arrayHeight - currentHeight));
 						}
 					}
 					break;
@@ -346,49 +302,23 @@ public class TransformerBase implements Serializable {
 					//This should never happen
 					break;
 			}
-			
-			//Write changes to sudoku
-			int currentCellValue;
-			for (int currentWidth = 0; currentWidth <= arrayWidth; currentWidth++) {
-				for (int currentHeight = 0; currentHeight <= arrayHeight; currentHeight++) {
-					currentCellValue = newStructure[currentWidth][currentHeight][0];
-					sudoku.getField().getCell(currentWidth, currentHeight).setValue(currentCellValue);
-					if (newStructure[currentWidth][currentHeight][1] == 1) {
-						sudoku.getField().getCell(currentWidth, currentHeight).setInitial(true);
-					} else {
-						sudoku.getField().getCell(currentWidth, currentHeight).setInitial(false);
-					}
-				}
-			}
 		}
 	}
 	
 	
-	private void swapValues(Sudoku<DataCell> sudoku, int value1, int value2) {
-		assert (value1 > 0 && value1 <= 16);
-		assert (value2 > 0 && value2 <= 16);
+	private void swapValues(CompactField field, int value1, int value2) {
+		assert (value1 > 0 && value1 <= field.getStructure().getWidth());
+		assert (value2 > 0 && value2 <= field.getStructure().getWidth());
 		//If this happens in non-debug mode, this function will not crash but simply do nothing
 		assert (value1 != value2); 
 		if (value1 != value2) {
-			LinkedList<DataCell> cellsWithValue1 = new LinkedList<DataCell>();
-			LinkedList<DataCell> cellsWithValue2 = new LinkedList<DataCell>();
-			int numberOfCellsInSudoku = 
-					sudoku.getField().getStructure().getHeight() * sudoku.getField().getStructure().getWidth();
-			DataCell currentCell;
-			for (int i = 0; i < numberOfCellsInSudoku; i++) {
-				currentCell = sudoku.getField().getCell(i);
-				if (currentCell.getValue() == value1) {
-					cellsWithValue1.add(currentCell);
-				} else if (currentCell.getValue() == value2) {
-					cellsWithValue2.add(currentCell);
+			for (int i = 0; i < field.getCellCount(); i++) {
+				if (field.getValue(i) == value1) {
+					field.setValue(i, value2);
+				} else if (field.getValue(i) == value2) {
+					field.setValue(i, value1);
 				}
 			}
-			for (DataCell c : cellsWithValue1) {
-				c.setValue(value2);
-			}
-			for (DataCell c : cellsWithValue2) {
-				c.setValue(value1);
-			}
 		}
 	}
 
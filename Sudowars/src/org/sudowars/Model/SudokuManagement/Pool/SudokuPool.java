@@ -82,6 +82,19 @@ public interface SudokuPool extends Serializable {
 	 * @throws IllegalArgumentException if at least one of the given params was <code>null</code>
 	 */
 	public Sudoku<DataCell> extractSudoku(FieldStructure structure, Difficulty difficulty) throws IllegalArgumentException;
+	
+	/**
+	 * Adds a sudoku with a specified difficulty to the pool.
+	 *
+	 * @param sudoku the {@link Sudoku} to add to the pool.
+	 * @param difficulty {@link Difficulty} of the sudoku to add
+	 * @param transform indicates if given sudoku shall be transformed first
+	 *
+	 * @return {@code true}, if the sudoku was successfully added to the pool, otherwise {@code false}
+	 *
+	 * @throws IllegalArgumentException if at least one of the given params is {@code null}
+	 */
+	public boolean addSudoku(Sudoku<DataCell> sudoku, Difficulty difficulty, boolean transform) throws IllegalArgumentException;
 		
 }
 
@@ -46,27 +46,19 @@ package org.sudowars.Model.SudokuUtil;
 
 import org.sudowars.DebugHelper;
 import org.sudowars.Model.Game.SingleplayerGame;
-import org.sudowars.Model.Solver.ConsecutiveSolver;
 import org.sudowars.Model.Solver.HumanSolveStep;
-import org.sudowars.Model.Solver.HumanSolver;
 import org.sudowars.Model.Solver.SolveStep;
-import org.sudowars.Model.Solver.SolverState;
 import org.sudowars.Model.Solver.SolverStrategy;
-import org.sudowars.Model.Sudoku.Field.Cell;
-import org.sudowars.Model.Sudoku.Field.Field;
-import org.sudowars.Model.Sudoku.RuleManagement.DependencyManager;
 import android.os.Handler;
 import android.os.Message;
 
 /**
- * This class is used to assist the player during game.
+ * This class is used to assist the player during game. The hints are taken from the {@link HintEngine} 
+ * of the game, which usually computed them before.
  */
 public class Assistant implements Runnable {
 
-	private final SingleplayerGame game;
-	private final ConsecutiveSolver solver;
-	private final Field<Cell> convertedGameField;
-	private final DependencyManager dependencies;
+	private final HintEngine hintEngine;
 	private final Handler targetHandler;
 			
 	/**
@@ -80,10 +72,7 @@ public class Assistant implements Runnable {
 		if (game == null) {
 			throw new IllegalArgumentException("given game cannot be null.");
 		}
-		this.game = game;
-		this.solver = new HumanSolver();
-		this.convertedGameField = this.game.getSudoku().getField().convert();
-		this.dependencies = this.game.getSudoku().getDependencyManager();
+		this.hintEngine = game.getHintEngine();
 		this.targetHandler = targetHandler;
 	}
 	
@@ -94,7 +83,12 @@ public class Assistant implements Runnable {
 	 * or <code>null</code> if no cell to solve was found.
 	 */
 	private SolveStep solveNext(){
-		return this.solver.getCellToSolveNext(new SolverState(this.convertedGameField, this.dependencies));
+		try {
+			return this.hintEngine.getHint();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return null;
+		}
 	}
 
 	@Override
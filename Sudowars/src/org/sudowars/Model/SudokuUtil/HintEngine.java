@@ -0,0 +1,477 @@
+/*******************************************************************************
+ * Copyright (c) 2011 - 2012 Adrian Vielsack, Christof Urbaczek, Florian Rosenthal, Michael Hoff, Moritz Lüdecke, Philip Flohr.
+ * 
+ * This file is part of Sudowars.
+ * 
+ * Sudowars is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Sudowars is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Sudowars.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * 
+ * 
+ * Diese Datei ist Teil von Sudowars.
+ * 
+ * Sudowars ist Freie Software: Sie können es unter den Bedingungen
+ * der GNU General Public License, wie von der Free Software Foundation,
+ * Version 3 der Lizenz oder (nach Ihrer Option) jeder späteren
+ * veröffentlichten Version, weiterverbreiten und/oder modifizieren.
+ * 
+ * Sudowars wird in der Hoffnung, dass es nützlich sein wird, aber
+ * OHNE JEDE GEWÄHELEISTUNG, bereitgestellt; sogar ohne die implizite
+ * Gewährleistung der MARKTFÄHIGKEIT oder EIGNUNG FÜR EINEN BESTIMMTEN ZWECK.
+ * Siehe die GNU General Public License für weitere Details.
+ * 
+ * Sie sollten eine Kopie der GNU General Public License zusammen mit diesem
+ * Programm erhalten haben. Wenn nicht, siehe <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ * initial API and implementation:
+ * Adrian Vielsack
+ * Christof Urbaczek
+ * Florian Rosenthal
+ * Michael Hoff
+ * Moritz Lüdecke
+ * Philip Flohr 
+ ******************************************************************************/
+package org.sudowars.Model.SudokuUtil;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.sudowars.DebugHelper;
+import org.sudowars.Model.Game.GameCell;
+import org.sudowars.Model.Game.GameChangedEvent;
+import org.sudowars.Model.Game.GameChangedEventListener;
+import org.sudowars.Model.Game.SingleplayerGame;
+import org.sudowars.Model.Solver.CandidateGrid;
+import org.sudowars.Model.Solver.HumanSolveStep;
+import org.sudowars.Model.Solver.HumanSolver;
+import org.sudowars.Model.Solver.SolveContext;
+import org.sudowars.Model.Solver.SolverState;
+import org.sudowars.Model.Solver.SolverStrategy;
+import org.sudowars.Model.Sudoku.Field.DataCell;
+import org.sudowars.Model.Sudoku.Field.DataCellBuilder;
+import org.sudowars.Model.Sudoku.Field.Field;
+import org.sudowars.Model.Sudoku.Field.FieldBuilder;
+import org.sudowars.Model.Sudoku.RuleManagement.DependencyIndex;
+import org.sudowars.Model.Sudoku.RuleManagement.DependencyManager;
+import org.sudowars.Model.Sudoku.RuleManagement.RuleApplier.StandardRulesetFactory;
+
+/**
+ * This class keeps the next hint of a {@link SingleplayerGame} ready. It listens to the changes of the game, 
+ * applies them to its own {@link SolverState} and computes the next {@link HumanSolveStep} on a background 
+ * thread, so the hint is usually known before it is requested.
+ * <br>
+ * Values set by the player only remove candidates, so they are applied to the candidates of the state directly. 
+ * Removed or replaced values can make values candidates again, in that case the candidates are computed again.
+ * <br>
+ * Before computing any hint, the engine computes the {@link SolvePath} of the whole game. As long as all values 
+ * set by the player are correct, hints are looked up in the path and the solver is not needed at all.
+ */
+public class HintEngine implements GameChangedEventListener {
+	
+	//seconds the background thread is kept alive without work
+	private static final long IDLE_TIMEOUT = 30;
+	
+	private final SingleplayerGame game;
+	private final HumanSolver solver;
+	//context of the solver, cancelled when the engine is shut down
+	private final SolveContext solveContext;
+	private final DependencyManager dependencies;
+	private final boolean incremental;
+	
+	//own copy of the cell values and the state of the solver, only used by the background thread
+	private final Field<DataCell> field;
+	private SolverState state;
+	
+	//changes of the game which are not applied yet, as pairs of cell index and value
+	private final List<int[]> pendingChanges;
+	
+	private final ThreadPoolExecutor executor;
+	private Future<HumanSolveStep> hint;
+	
+	//steps to solve the game and the first step which may be open
+	private SolvePath solvePath;
+	private int solvePathPosition;
+	
+	/**
+	 * Computes the {@link SolvePath} of the game if it is not known yet.
+	 */
+	private final class SolvePathTask implements Runnable {
+		
+		@Override
+		public void run() {
+			
+			synchronized (HintEngine.this) {
+				if (solvePath != null) return;
+			}
+			
+			SolvePath result = computeSolvePath();
+			
+			synchronized (HintEngine.this) {
+				//the path of a stopped solver is incomplete
+				if (solvePath == null && !solveContext.isCancelled()) {
+					solvePath = result;
+					solvePathPosition = 0;
+				}
+			}
+			
+		}
+		
+	}
+	
+	/**
+	 * Computes the next hint after applying all pending changes.
+	 */
+	private final class HintTask implements Callable<HumanSolveStep> {
+		
+		@Override
+		public HumanSolveStep call() {
+			
+			applyPendingChanges();
+			
+			//the step of the last hint must not be taken for a new one
+			state.setLastSolveStep(null);
+			HumanSolveStep solveStep = solver.getCellToSolveNext(state);
+			if (solveStep == null) return null;
+			
+			//the used strategies of the solver are reused by the next hint
+			return new HumanSolveStep(solveStep.getSolvedCell(), solveStep.getSolution(), solveStep.hasChangedNotes(), 
+					new ArrayList<SolverStrategy>(solveStep.getUsedStrategies()));
+			
+		}
+		
+	}
+	
+	/**
+	 * Initializes a new instance of the {@link HintEngine} class and starts computing the {@link SolvePath} 
+	 * of the game if it is not given.
+	 *
+	 * @param game The {@link SingleplayerGame} to give hints for.
+	 * @param solvePath The {@link SolvePath} of the game computed before, or <code>null</code> if it is not known.
+	 *
+	 * @throws IllegalArgumentException if the given game is <code>null</code>
+	 */
+	public HintEngine(SingleplayerGame game, SolvePath solvePath) throws IllegalArgumentException {
+		
+		if (game == null) {
+			throw new IllegalArgumentException("given game cannot be null.");
+		}
+		
+		this.game = game;
+		this.solver = new HumanSolver();
+		this.solveContext = new SolveContext();
+		this.solver.setSolveContext(this.solveContext);
+		this.dependencies = game.getSudoku().getDependencyManager();
+		this.incremental = StandardRulesetFactory.getInstance().isStandardRuleset(this.dependencies);
+		this.pendingChanges = new LinkedList<int[]>();
+		this.solvePath = solvePath;
+		
+		//copy the current values of the game
+		this.field = new FieldBuilder<DataCell>().build(game.getSudoku().getField().getStructure(), new DataCellBuilder());
+		for (GameCell cell : game.getSudoku().getField().getCells()) {
+			DataCell dataCell = this.field.getCell(cell.getIndex());
+			dataCell.setInitial(cell.isInitial());
+			dataCell.setValue(cell.getValue());
+		}
+		
+		//the thread is stopped if there are no changes for a while
+		this.executor = new ThreadPoolExecutor(1, 1, IDLE_TIMEOUT, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>());
+		this.executor.allowCoreThreadTimeOut(true);
+		
+		game.addOnChangeListener(this);
+		if (solvePath == null) {
+			this.executor.execute(new SolvePathTask());
+		}
+		
+		synchronized (this) {
+			//hints of boards without wrong values are taken from the path
+			if (!this.isSolvePathUsable()) {
+				this.scheduleHint();
+			}
+		}
+		
+	}
+	
+	/**
+	 * Registers the change of the game and starts computing the next hint.
+	 * @param event The event data.
+	 */
+	@Override
+	public void onGameChanged(GameChangedEvent event) {
+		
+		GameCell changedCell = event.getChangedCell();
+		
+		synchronized (this) {
+			
+			if (changedCell != null) {
+				this.pendingChanges.add(new int[] {changedCell.getIndex(), changedCell.getValue()});
+				//a removed value can open a step of the path again
+				if (!changedCell.isSet()) {
+					this.solvePathPosition = 0;
+				}
+			} else {
+				//all cells may have changed
+				for (GameCell cell : this.game.getSudoku().getField().getCells()) {
+					this.pendingChanges.add(new int[] {cell.getIndex(), cell.getValue()});
+				}
+				this.solvePathPosition = 0;
+			}
+			
+			//the changes are applied by the next hint computed by the solver
+			if (this.isSolvePathUsable()) {
+				if (this.hint != null) {
+					this.hint.cancel(false);
+					this.hint = null;
+				}
+			} else {
+				this.scheduleHint();
+			}
+			
+		}
+		
+	}
+	
+	/**
+	 * Returns the hint for the current values of the game. If all values set by the player are correct, the hint 
+	 * is taken from the {@link SolvePath}. Otherwise, or if the path is not known yet, the hint is computed by 
+	 * the solver and the method waits until it is known.
+	 *
+	 * @return Reference to a {@link HumanSolveStep} holding the cell whose value has been found, 
+	 * or <code>null</code> if no cell to solve was found or the engine was shut down.
+	 * @throws InterruptedException if the current thread was interrupted while waiting
+	 */
+	public HumanSolveStep getHint() throws InterruptedException {
+		
+		HumanSolveStep pathHint = this.getHintFromSolvePath();
+		if (pathHint != null) return pathHint;
+		
+		while (true) {
+			
+			Future<HumanSolveStep> currentHint;
+			synchronized (this) {
+				if (this.hint == null) {
+					this.scheduleHint();
+				}
+				currentHint = this.hint;
+			}
+			
+			if (currentHint == null) return null;
+			
+			try {
+				return currentHint.get();
+			} catch (CancellationException e) {
+				//the game changed, wait for the next hint
+			} catch (ExecutionException e) {
+				if (DebugHelper.ENABLED) DebugHelper.log(DebugHelper.PackageName.Solver, "computing the hint failed: %s", e.getCause());
+				return null;
+			}
+			
+		}
+		
+	}
+	
+	/**
+	 * Indicates whether the hint for the current values of the game is already known.
+	 * @return <code>true</code> if {@link HintEngine#getHint()} returns without waiting, <code>false</code> otherwise
+	 */
+	public synchronized boolean isHintReady() {
+		return this.isSolvePathUsable() || (this.hint != null && this.hint.isDone() && !this.hint.isCancelled());
+	}
+	
+	/**
+	 * Returns the {@link SolvePath} of the game, e.g. to save it together with the game.
+	 * @return the {@link SolvePath} of the game, <code>null</code> if it is not computed yet
+	 */
+	public synchronized SolvePath getSolvePath() {
+		return this.solvePath;
+	}
+	
+	/**
+	 * Stops listening to the game and stops computing hints, a running solver is stopped as well.
+	 */
+	public void shutdown() {
+		
+		this.game.removeOnChangeListener(this);
+		this.solveContext.cancel();
+		
+		synchronized (this) {
+			if (this.hint != null) {
+				this.hint.cancel(false);
+				this.hint = null;
+			}
+		}
+		
+		this.executor.shutdown();
+		
+	}
+	
+	/**
+	 * Indicates whether hints can be taken from the {@link SolvePath}, has to be called while holding the lock 
+	 * of the engine. The path is usable if it is known and all set values of the game are correct.
+	 * @return <code>true</code> if the path is usable, <code>false</code> otherwise
+	 */
+	private boolean isSolvePathUsable() {
+		return this.solvePath != null && !this.game.hasIncorrectCells();
+	}
+	
+	/**
+	 * Looks up the hint for the current values of the game in the {@link SolvePath}.
+	 * @return the hint, <code>null</code> if the path is not usable or has no open step
+	 */
+	private synchronized HumanSolveStep getHintFromSolvePath() {
+		
+		if (!this.isSolvePathUsable()) return null;
+		
+		//the steps before the position are set, unless a value was removed since
+		Field<GameCell> gameField = this.game.getSudoku().getField();
+		this.solvePathPosition = this.solvePath.getFirstOpenStep(gameField, this.solvePathPosition);
+		if (this.solvePathPosition == this.solvePath.getLength()) return null;
+		
+		int step = this.solvePathPosition;
+		return new HumanSolveStep(gameField.getCell(this.solvePath.getCell(step)), this.solvePath.getValue(step), false, 
+				this.solvePath.getUsedStrategies(step, this.solver.getSolveStrategies()));
+		
+	}
+	
+	/**
+	 * Replaces the current hint by a new one, has to be called while holding the lock of the engine.
+	 */
+	private void scheduleHint() {
+		
+		//a hint which is already computed keeps running, the next one is computed afterwards
+		if (this.hint != null) {
+			this.hint.cancel(false);
+		}
+		
+		this.hint = this.executor.isShutdown() ? null : this.executor.submit(new HintTask());
+		
+	}
+	
+	/**
+	 * Applies the pending changes of the game to the state, runs on the background thread.
+	 */
+	private void applyPendingChanges() {
+		
+		List<int[]> changes;
+		synchronized (this) {
+			changes = new ArrayList<int[]>(this.pendingChanges);
+			this.pendingChanges.clear();
+		}
+		
+		boolean rebuild = (this.state == null);
+		for (int[] change : changes) {
+			
+			DataCell cell = this.field.getCell(change[0]);
+			if (cell.getValue() == change[1]) continue;
+			
+			if (rebuild || !this.incremental || cell.isSet() || change[1] == DataCell.NOT_SET) {
+				//the previous value of the cell can be a candidate again
+				cell.setValue(change[1]);
+				rebuild = true;
+			} else {
+				//the state works on a copy of the field
+				cell.setValue(change[1]);
+				this.state.setCellValue(change[0], change[1]);
+				this.removeCandidates(this.state, change[0], change[1]);
+			}
+			
+		}
+		
+		if (rebuild) {
+			this.state = new SolverState(this.field.convert(), this.dependencies);
+		}
+		
+	}
+	
+	/**
+	 * Computes the steps to solve the game from its initial cells, runs on the background thread.
+	 * @return the steps to solve the game, ending early if the solver got stuck
+	 */
+	private SolvePath computeSolvePath() {
+		
+		Field<DataCell> pathField = new FieldBuilder<DataCell>().build(this.field.getStructure(), new DataCellBuilder());
+		for (GameCell cell : this.game.getSudoku().getField().getCells()) {
+			if (cell.isInitial()) {
+				pathField.getCell(cell.getIndex()).setInitial(true);
+				pathField.getCell(cell.getIndex()).setValue(cell.getSolution());
+			}
+		}
+		
+		SolverState pathState = new SolverState(pathField.convert(), this.dependencies);
+		List<SolverStrategy> solveStrategies = this.solver.getSolveStrategies();
+		
+		int cellCount = pathField.getCells().size();
+		short[] cells = new short[cellCount];
+		byte[] values = new byte[cellCount];
+		int[] strategies = new int[cellCount];
+		int length = 0;
+		
+		while (length < cellCount) {
+			
+			pathState.setLastSolveStep(null);
+			HumanSolveStep solveStep = this.solver.getCellToSolveNext(pathState);
+			if (solveStep == null || solveStep.getSolution() == DataCell.NOT_SET) break;
+			
+			int cellIndex = solveStep.getSolvedCell().getIndex();
+			cells[length] = (short) cellIndex;
+			values[length] = (byte) solveStep.getSolution();
+			for (SolverStrategy strategy : solveStep.getUsedStrategies()) {
+				int position = solveStrategies.indexOf(strategy);
+				if (position >= 0 && position < Integer.SIZE) {
+					strategies[length] |= 1 << position;
+				}
+			}
+			length++;
+			
+			if (this.incremental) {
+				pathState.setCellValue(cellIndex, solveStep.getSolution());
+				this.removeCandidates(pathState, cellIndex, solveStep.getSolution());
+			} else {
+				pathField.getCell(cellIndex).setValue(solveStep.getSolution());
+				pathState = new SolverState(pathField.convert(), this.dependencies);
+			}
+			
+		}
+		
+		return new SolvePath(Arrays.copyOf(cells, length), Arrays.copyOf(values, length), Arrays.copyOf(strategies, length));
+		
+	}
+	
+	/**
+	 * Removes the candidates of a cell whose value was set and the value from the candidates of its peers.
+	 * @param solverState the state holding the candidates
+	 * @param cellIndex index of the cell
+	 * @param value the value of the cell
+	 */
+	private void removeCandidates(SolverState solverState, int cellIndex, int value) {
+		
+		CandidateGrid candidates = solverState.getCandidates();
+		DependencyIndex index = this.dependencies.getDependencyIndex();
+		
+		candidates.removeAllCandidates(cellIndex);
+		for (int position = 0; position < index.getPeerCount(cellIndex); position++) {
+			candidates.removeCandidate(index.getPeer(cellIndex, position), value);
+		}
+		
+	}
+	
+}
@@ -65,6 +65,10 @@ import android.widget.Toast;
 
 /**
  * This class manages the notes attached to {@link Cell}s.
+ * <br>
+ * The notes are hashed with Zobrist keys which are updated with every added or removed note, so hashing 
+ * a {@link NoteManager} does not have to walk all notes.
+ * @see ZobristKeys#getNoteKey(int, int)
  */
 public class NoteManager implements Serializable {
 
@@ -75,6 +79,9 @@ public class NoteManager implements Serializable {
 	private final HashMap<Cell, List<Integer>> notes;
 	//private final HashMap<Cell, LinkedHashSet<Integer>> notes;
 	
+	//Zobrist hash of all notes
+	transient private long zobristHash;
+	
 	/**
 	 * Initializes a new instance of the {@link NoteManager} class.
 	 */
@@ -91,6 +98,16 @@ public class NoteManager implements Serializable {
 	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
 		in.defaultReadObject();
 		initializeListenerLists();
+		computeHash();
+	}
+	
+	private void computeHash() {
+		this.zobristHash = 0L;
+		for (Cell cell : this.notes.keySet()) {
+			for (int value : this.notes.get(cell)) {
+				this.zobristHash ^= ZobristKeys.getNoteKey(cell.getIndex(), value);
+			}
+		}
 	}
 	
 	/**
@@ -137,6 +154,7 @@ public class NoteManager implements Serializable {
 		if(currentNotes != null) {
 			if (!currentNotes.contains((Object) value)) {
 				if (currentNotes.add(value)) {
+					this.zobristHash ^= ZobristKeys.getNoteKey(c.getIndex(), value);
 					result = true;
 					onChange(new NoteManagerChangedEvent(this, c));
 				}
@@ -145,6 +163,7 @@ public class NoteManager implements Serializable {
 			currentNotes = new LinkedList<Integer>();
 			currentNotes.add(value);
 			this.notes.put(c, currentNotes);
+			this.zobristHash ^= ZobristKeys.getNoteKey(c.getIndex(), value);
 			onChange(new NoteManagerChangedEvent(this, c));
 			result = true;
 		}
@@ -173,6 +192,7 @@ public class NoteManager implements Serializable {
 		//LinkedHashSet<Integer> currentNotes = this.notes.get(c);
 		if(currentNotes != null) {
 			if (currentNotes.remove((Object) value)) {
+				this.zobristHash ^= ZobristKeys.getNoteKey(c.getIndex(), value);
 				result = true;
 				//if all notes of the cell were removed, delete item from hash map
 				if (currentNotes.isEmpty()) {
@@ -202,6 +222,9 @@ public class NoteManager implements Serializable {
 		boolean result = false;
 		List<Integer> currentNotes = this.notes.get(cell);
 		if (currentNotes != null) {
+			for (int value : currentNotes) {
+				this.zobristHash ^= ZobristKeys.getNoteKey(cell.getIndex(), value);
+			}
 			currentNotes.clear();
 			result = true;
 			// all notes of the cell were removed, delete item from hash map
@@ -281,18 +304,24 @@ public class NoteManager implements Serializable {
 		}
 	}
 	
+	/**
+	 * Returns the Zobrist hash of all notes. Managers holding the same notes have the same hash, regardless 
+	 * of the order the notes were added in.
+	 * @return the Zobrist hash of all notes
+	 */
+	public long getZobristHash() {
+		return this.zobristHash;
+	}
+	
 	@Override
 	public int hashCode() {
-		//it is recommended not to include transient fields into hashcode calculation
-		final int prime = 31;
-		int result = 1;
-		result = prime * result + this.notes.hashCode();
-		return result;
+		//the hash is derived from the notes only, it does not include the listeners
+		return ZobristKeys.toHashCode(this.zobristHash);
 	}
 
 	@Override
 	public boolean equals(Object obj) {
-		//it is recommended not to include transient fields into equality calculation
+		//equality is defined by the notes only, the listeners are not compared
 		if (this == obj)
 			return true;
 		if (obj == null)
@@ -300,6 +329,10 @@ public class NoteManager implements Serializable {
 		if (!(obj instanceof NoteManager))
 			return false;
 		NoteManager other = (NoteManager) obj;
+		//the transient hash is derived from the notes and recomputed by readObject, so it is a 
+		//cheap pre-check: different hashes cannot belong to equal notes
+		if (this.zobristHash != other.zobristHash)
+			return false;
 		return attributesEqual(this, other);
 	}
 
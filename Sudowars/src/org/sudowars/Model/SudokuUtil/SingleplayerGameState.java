@@ -63,6 +63,7 @@ public class SingleplayerGameState extends GameState implements Serializable {
 	private final boolean backToFirstError;
 	private final Field<DataCell> correctSovedField;
 	private final DeltaManager deltaManager;
+	private SolvePath solvePath;
 	
 	/**
 	 * Initializes a new instance of the {@link SingleplayerGameState} class.
@@ -124,6 +125,22 @@ public class SingleplayerGameState extends GameState implements Serializable {
 		return this.deltaManager;
 	}
 	
+	/**
+	 * Gets the steps to solve the game computed by the {@link HintEngine}.
+	 * @return Reference to the {@link SolvePath} of the game, or {@code null} if it was not computed yet.
+	 */
+	public SolvePath getSolvePath() {
+		return this.solvePath;
+	}
+	
+	/**
+	 * Sets the steps to solve the game, so they are saved together with the game.
+	 * @param solvePath Reference to the {@link SolvePath} of the game, or {@code null} if it is not known.
+	 */
+	public void setSolvePath(SolvePath solvePath) {
+		this.solvePath = solvePath;
+	}
+	
 	public boolean isCorrectMove(int cellIndex, int solution) {
 		if (correctSovedField.getCell(cellIndex).getValue() == solution) {
 			return true;
@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * Copyright (c) 2011 - 2012 Adrian Vielsack, Christof Urbaczek, Florian Rosenthal, Michael Hoff, Moritz Lüdecke, Philip Flohr.
+ * 
+ * This file is part of Sudowars.
+ * 
+ * Sudowars is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Sudowars is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Sudowars.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * 
+ * 
+ * Diese Datei ist Teil von Sudowars.
+ * 
+ * Sudowars ist Freie Software: Sie können es unter den Bedingungen
+ * der GNU General Public License, wie von der Free Software Foundation,
+ * Version 3 der Lizenz oder (nach Ihrer Option) jeder späteren
+ * veröffentlichten Version, weiterverbreiten und/oder modifizieren.
+ * 
+ * Sudowars wird in der Hoffnung, dass es nützlich sein wird, aber
+ * OHNE JEDE GEWÄHELEISTUNG, bereitgestellt; sogar ohne die implizite
+ * Gewährleistung der MARKTFÄHIGKEIT oder EIGNUNG FÜR EINEN BESTIMMTEN ZWECK.
+ * Siehe die GNU General Public License für weitere Details.
+ * 
+ * Sie sollten eine Kopie der GNU General Public License zusammen mit diesem
+ * Programm erhalten haben. Wenn nicht, siehe <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ * initial API and implementation:
+ * Adrian Vielsack
+ * Christof Urbaczek
+ * Florian Rosenthal
+ * Michael Hoff
+ * Moritz Lüdecke
+ * Philip Flohr 
+ ******************************************************************************/
+package org.sudowars.Model.SudokuUtil;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.sudowars.Model.Solver.HumanSolver;
+import org.sudowars.Model.Solver.SolverStrategy;
+import org.sudowars.Model.Sudoku.Field.Cell;
+import org.sudowars.Model.Sudoku.Field.Field;
+
+/**
+ * This class stores the steps a {@link HumanSolver} takes to solve a sudoku from its initial cells. Every step 
+ * consists of the solved cell, its value and the strategies used to find it, stored in arrays instead of 
+ * {@link org.sudowars.Model.Solver.HumanSolveStep}s to keep saved games small.
+ * <br>
+ * The first step whose cell is not set on a board is a valid hint for the board, as long as all set values 
+ * of the board are correct: all cells of the previous steps are set, so the step can be found the same way.
+ */
+public final class SolvePath implements Serializable {
+	
+	private static final long serialVersionUID = -3370531968824275407L;
+	
+	private final short[] cells;
+	private final byte[] values;
+	private final int[] strategies;
+	
+	/**
+	 * Initializes a new instance of the {@link SolvePath} class.
+	 * @param cells the indices of the solved cells
+	 * @param values the values of the solved cells
+	 * @param strategies the masks of the used strategies, bit <code>i</code> stands for the strategy at position 
+	 * 				<code>i</code> of {@link HumanSolver#getSolveStrategies()}
+	 * @throws IllegalArgumentException if one of the arrays is <code>null</code> or their lengths differ
+	 */
+	SolvePath(short[] cells, byte[] values, int[] strategies) throws IllegalArgumentException {
+		
+		if (cells == null || values == null || strategies == null 
+				|| cells.length != values.length || cells.length != strategies.length) {
+			throw new IllegalArgumentException("given steps are null or have different lengths.");
+		}
+		
+		this.cells = cells;
+		this.values = values;
+		this.strategies = strategies;
+		
+	}
+	
+	/**
+	 * Returns the number of steps.
+	 * @return the number of steps
+	 */
+	public int getLength() {
+		return this.cells.length;
+	}
+	
+	/**
+	 * Returns the index of the cell solved by a step.
+	 * @param step the number of the step
+	 * @return the index of the solved cell
+	 */
+	public int getCell(int step) {
+		return this.cells[step];
+	}
+	
+	/**
+	 * Returns the value of the cell solved by a step.
+	 * @param step the number of the step
+	 * @return the value of the solved cell
+	 */
+	public int getValue(int step) {
+		return this.values[step];
+	}
+	
+	/**
+	 * Returns the strategies used by a step.
+	 * @param step the number of the step
+	 * @param solveStrategies the strategies of the solver, as returned by {@link HumanSolver#getSolveStrategies()}
+	 * @return the strategies used by the step
+	 */
+	public List<SolverStrategy> getUsedStrategies(int step, List<SolverStrategy> solveStrategies) {
+		
+		List<SolverStrategy> result = new ArrayList<SolverStrategy>();
+		int position = 0;
+		for (SolverStrategy strategy : solveStrategies) {
+			if (position < Integer.SIZE && (this.strategies[step] & (1 << position)) != 0) {
+				result.add(strategy);
+			}
+			position++;
+		}
+		
+		return result;
+		
+	}
+	
+	/**
+	 * Returns the first step starting at the given one whose cell is not set on the given field.
+	 * @param field the field
+	 * @param firstStep the number of the step to start with
+	 * @return the number of the first step whose cell is not set, {@link SolvePath#getLength()} if all are set
+	 */
+	public int getFirstOpenStep(Field<? extends Cell> field, int firstStep) {
+		
+		int step = Math.max(firstStep, 0);
+		while (step < this.cells.length && field.getCell(this.cells[step]).isSet()) {
+			step++;
+		}
+		
+		return step;
+		
+	}
+	
+}
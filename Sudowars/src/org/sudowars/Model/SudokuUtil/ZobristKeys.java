@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (c) 2011 - 2012 Adrian Vielsack, Christof Urbaczek, Florian Rosenthal, Michael Hoff, Moritz Lüdecke, Philip Flohr.
+ * 
+ * This file is part of Sudowars.
+ * 
+ * Sudowars is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Sudowars is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Sudowars.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * 
+ * 
+ * Diese Datei ist Teil von Sudowars.
+ * 
+ * Sudowars ist Freie Software: Sie können es unter den Bedingungen
+ * der GNU General Public License, wie von der Free Software Foundation,
+ * Version 3 der Lizenz oder (nach Ihrer Option) jeder späteren
+ * veröffentlichten Version, weiterverbreiten und/oder modifizieren.
+ * 
+ * Sudowars wird in der Hoffnung, dass es nützlich sein wird, aber
+ * OHNE JEDE GEWÄHELEISTUNG, bereitgestellt; sogar ohne die implizite
+ * Gewährleistung der MARKTFÄHIGKEIT oder EIGNUNG FÜR EINEN BESTIMMTEN ZWECK.
+ * Siehe die GNU General Public License für weitere Details.
+ * 
+ * Sie sollten eine Kopie der GNU General Public License zusammen mit diesem
+ * Programm erhalten haben. Wenn nicht, siehe <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ * initial API and implementation:
+ * Adrian Vielsack
+ * Christof Urbaczek
+ * Florian Rosenthal
+ * Michael Hoff
+ * Moritz Lüdecke
+ * Philip Flohr 
+ ******************************************************************************/
+package org.sudowars.Model.SudokuUtil;
+
+/**
+ * This class provides the random keys for Zobrist hashing of cell values and notes. A state is hashed by 
+ * combining the keys of all its (cell, value) pairs with XOR, so the hash can be updated in O(1) whenever 
+ * a single value is set or removed: setting and removing a value both XOR its key.
+ * <br>
+ * The keys are derived from the cell index and the value by a mixing function instead of being stored in 
+ * a table, so they are the same in every instance and process and need no memory.
+ */
+public final class ZobristKeys {
+	
+	//distinct salts, so the value of a cell and a note with the same value get different keys
+	private static final long VALUE_SALT = 0x9E3779B97F4A7C15L;
+	private static final long NOTE_SALT = 0xC2B2AE3D27D4EB4FL;
+	
+	private ZobristKeys() {
+	}
+	
+	/**
+	 * Returns the key of a cell holding the given value.
+	 * @param cellIndex index of the cell
+	 * @param value the value of the cell
+	 * @return the key of the pair, <code>zero</code> if the value is not set
+	 */
+	public static long getValueKey(int cellIndex, int value) {
+		return (value <= 0) ? 0L : mix(VALUE_SALT, cellIndex, value);
+	}
+	
+	/**
+	 * Returns the key of a note or candidate of a cell.
+	 * @param cellIndex index of the cell
+	 * @param value the value of the note
+	 * @return the key of the note
+	 */
+	public static long getNoteKey(int cellIndex, int value) {
+		return mix(NOTE_SALT, cellIndex, value);
+	}
+	
+	/**
+	 * Returns the combined key of all notes of a cell held by the given mask, in which bit <code>value - 1</code>
+	 * is set for every note.
+	 * @param cellIndex index of the cell
+	 * @param mask mask of the notes
+	 * @return the combined key of the notes
+	 */
+	public static long getNoteMaskKey(int cellIndex, long mask) {
+		
+		long result = 0L;
+		for (long rest = mask; rest != 0; rest &= rest - 1) {
+			result ^= getNoteKey(cellIndex, Long.numberOfTrailingZeros(rest) + 1);
+		}
+		
+		return result;
+		
+	}
+	
+	/**
+	 * Folds a 64 bit hash into a hash code.
+	 * @param hash the 64 bit hash
+	 * @return the hash code
+	 */
+	public static int toHashCode(long hash) {
+		return (int) (hash ^ (hash >>> 32));
+	}
+	
+	private static long mix(long salt, int cellIndex, int value) {
+		
+		//finalizer of SplitMix64
+		long key = salt + (((long) cellIndex << 8) | (value & 0xFF)) * 0xBF58476D1CE4E5B9L;
+		key = (key ^ (key >>> 30)) * 0xBF58476D1CE4E5B9L;
+		key = (key ^ (key >>> 27)) * 0x94D049BB133111EBL;
+		return key ^ (key >>> 31);
+		
+	}
+	
+}
@@ -348,27 +348,30 @@ public class SudokuField extends View {
         canvas.scale(this.scaleFactor, this.scaleFactor);
         canvas.translate(this.convertX, convertY);
 		
-      //This is not a solution for all Blocks Problem, tough we only support 9x9 and 16x16 Sudokus, this one is valid
+      //This is not a solution for all Blocks Problem, tough we only support square Sudokus up to 36x36, this one is valid
   		
         
 		int height = this.game.getSudoku().getField().getStructure().getHeight(), width = this.game.getSudoku().getField().getStructure().getHeight();
 		int realHeight = height * squareSize;
 		int realWidth = width * squareSize;
 		
-	      //This is not a solution for all Blocks Problem, tough we only support 9x9 and 16x16 Sudokus, this one is valid
+	      //This is not a solution for all Blocks Problem, tough we only support square Sudokus up to 36x36, this one is valid
 		int blockSize = (int) Math.sqrt(height);
 		
 		if (this.showRedundant && (!this.fieldDisabled)) {
 			if (this.game instanceof SingleplayerGame) {
 				Iterator<GameCell> invalidCells = ((SingleplayerGame) this.game).getCellsContainingInvalidValues().iterator();
 				Cell invalidCell;
+				Cell selectedCell = null;
+				if (this.selectedFieldX != -1 && this.selectedFieldY != -1) {
+					selectedCell = this.game.getSudoku().getField().getCell(this.selectedFieldX, this.selectedFieldY);
+				}
 				
 				while (invalidCells.hasNext()) {
 					invalidCell = invalidCells.next();
-					DebugHelper.log(DebugHelper.PackageName.SudokuField, "Highlighting illegalValues " + invalidCell.getIndex());
-					if (this.selectedFieldX != -1 && this.selectedFieldY != -1){
-						if (((GameCell) this.game.getSudoku().getField().getCell(this.selectedFieldX, this.selectedFieldY)).equals(invalidCell))
-							activeCellInvalid = true;
+					if (DebugHelper.ENABLED) DebugHelper.log(DebugHelper.PackageName.SudokuField, "Highlighting illegalValues %d", invalidCell.getIndex());
+					if (selectedCell != null && selectedCell.equals(invalidCell)) {
+						activeCellInvalid = true;
 					}
 					int invalidx = invalidCell.getIndex() % width;
 					int invalidy = Math.round( invalidCell.getIndex() / height);
@@ -590,7 +593,7 @@ public class SudokuField extends View {
 		int action = event.getAction();
 		
 		if (this.game == null) {
-			DebugHelper.log(DebugHelper.PackageName.SudokuField, "Game is null!");
+			if (DebugHelper.ENABLED) DebugHelper.log(DebugHelper.PackageName.SudokuField, "Game is null!");
 			return true;
 		}
 		
@@ -613,7 +616,7 @@ public class SudokuField extends View {
 					this.lastY = event.getY();
 					
 					if (x < this.game.getSudoku().getField().getStructure().getWidth() && y < this.game.getSudoku().getField().getStructure().getHeight()){
-						DebugHelper.log(DebugHelper.PackageName.SudokuField, "X: " + x + " Y: " + y + " SF: " + this.scaleFactor + " " + this.convertX + " " + this.convertY);
+						if (DebugHelper.ENABLED) DebugHelper.log(DebugHelper.PackageName.SudokuField, "X: %s Y: %s SF: %s %s %s", x, y, this.scaleFactor, this.convertX, this.convertY);
 						if (this.game.getSudoku().getField().getStructure().isSlotUsed(x, y)) {
 							if (!this.fieldDisabled){
 								this.selectedFieldX = x;
@@ -634,7 +637,7 @@ public class SudokuField extends View {
 					this.convertY += (event.getY() - this.lastY) / this.scaleFactor;
 					
 					if (x < this.game.getSudoku().getField().getStructure().getWidth() && y < this.game.getSudoku().getField().getStructure().getHeight()){
-						DebugHelper.log(DebugHelper.PackageName.SudokuField, "X: " + x + " Y: " + y + " SF: " + this.scaleFactor + " " + this.convertX + " " + this.convertY);
+						if (DebugHelper.ENABLED) DebugHelper.log(DebugHelper.PackageName.SudokuField, "X: %s Y: %s SF: %s %s %s", x, y, this.scaleFactor, this.convertX, this.convertY);
 						if (this.game.getSudoku().getField().getStructure().isSlotUsed(x, y)) {
 							/*if (!this.fieldDisabled){
 								this.selectedFieldX = x;
@@ -663,7 +666,7 @@ public class SudokuField extends View {
 			if (!this.scaleGestureDetector.isInProgress()) {
 			
 				if (x < this.game.getSudoku().getField().getStructure().getWidth() && y < this.game.getSudoku().getField().getStructure().getHeight()){
-					DebugHelper.log(DebugHelper.PackageName.SudokuField, "X: " + x + " Y: " + y + " SF: " + this.scaleFactor + " " + this.convertX + " " + this.convertY);
+					if (DebugHelper.ENABLED) DebugHelper.log(DebugHelper.PackageName.SudokuField, "X: %s Y: %s SF: %s %s %s", x, y, this.scaleFactor, this.convertX, this.convertY);
 					if (this.game.getSudoku().getField().getStructure().isSlotUsed(x, y) && !cursorMoved) {
 						/*if (!this.fieldDisabled){
 							this.selectedFieldX = x;